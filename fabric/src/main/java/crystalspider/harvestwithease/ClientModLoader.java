@@ -0,0 +1,28 @@
+package crystalspider.harvestwithease;
+
+import crystalspider.harvestwithease.client.ConfigSyncReceiver;
+import crystalspider.harvestwithease.client.HarvestEffectsRenderer;
+import crystalspider.harvestwithease.client.HarvestPredictor;
+import crystalspider.harvestwithease.handler.UseBlockHandler;
+import crystalspider.harvestwithease.network.ConfigSyncPacket;
+import crystalspider.harvestwithease.network.HarvestAckPacket;
+import crystalspider.harvestwithease.network.HarvestEffectsPacket;
+import net.fabricmc.api.ClientModInitializer;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
+
+/**
+ * Client mod loader.
+ */
+public class ClientModLoader implements ClientModInitializer {
+  @Override
+  public void onInitializeClient() {
+    ClientPlayNetworking.registerGlobalReceiver(HarvestEffectsPacket.ID, HarvestEffectsRenderer::handle);
+    UseBlockHandler.setPredictor(HarvestPredictor::predict);
+    ClientPlayNetworking.registerGlobalReceiver(HarvestAckPacket.ID, HarvestPredictor::handle);
+    ClientTickEvents.END_CLIENT_TICK.register(HarvestPredictor::tick);
+    ClientPlayNetworking.registerGlobalReceiver(ConfigSyncPacket.ID, ConfigSyncReceiver::handle);
+    ClientPlayConnectionEvents.DISCONNECT.register(ConfigSyncReceiver::reset);
+  }
+}
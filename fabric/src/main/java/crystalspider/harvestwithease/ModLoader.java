@@ -2,11 +2,25 @@ package crystalspider.harvestwithease;
 
 import crystalspider.harvestwithease.config.ModConfig;
 import crystalspider.harvestwithease.handler.PlayerBlockBreakHandler;
+import crystalspider.harvestwithease.handler.ReloadHandler;
+import crystalspider.harvestwithease.handler.ServerPlayConnectionHandler;
+import crystalspider.harvestwithease.handler.ServerTickHandler;
+import crystalspider.harvestwithease.handler.ServerWorldHandler;
+import crystalspider.harvestwithease.handler.StorageCacheHandler;
 import crystalspider.harvestwithease.handler.UseBlockHandler;
+import crystalspider.harvestwithease.network.HarvestPredictionPacket;
 import fuzs.forgeconfigapiport.api.config.v3.ForgeConfigRegistry;
+import fuzs.forgeconfigapiport.api.config.v3.ModConfigEvents;
 import net.fabricmc.api.ModInitializer;
+import net.fabricmc.fabric.api.event.lifecycle.v1.CommonLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerBlockEntityEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
 import net.fabricmc.fabric.api.event.player.PlayerBlockBreakEvents;
 import net.fabricmc.fabric.api.event.player.UseBlockCallback;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
 import net.neoforged.fml.config.ModConfig.Type;
 
 /**
@@ -20,8 +34,20 @@ public class ModLoader implements ModInitializer {
 
   @Override
   public void onInitialize() {
+    ModConfigEvents.loading(MOD_ID).register(ReloadHandler::handle);
+    ModConfigEvents.reloading(MOD_ID).register(ReloadHandler::handle);
     ForgeConfigRegistry.INSTANCE.register(MOD_ID, Type.COMMON, ModConfig.SPEC);
+    CommonLifecycleEvents.TAGS_LOADED.register(ReloadHandler::handle);
     UseBlockCallback.EVENT.register(UseBlockHandler::handle);
     PlayerBlockBreakEvents.AFTER.register(PlayerBlockBreakHandler::handle);
+    ServerTickEvents.END_WORLD_TICK.register(ServerWorldHandler::handle);
+    ServerTickEvents.END_SERVER_TICK.register(ServerTickHandler::handle);
+    ServerWorldEvents.UNLOAD.register(ServerWorldHandler::handle);
+    ServerBlockEntityEvents.BLOCK_ENTITY_LOAD.register(StorageCacheHandler::handle);
+    ServerBlockEntityEvents.BLOCK_ENTITY_UNLOAD.register(StorageCacheHandler::handle);
+    ServerChunkEvents.CHUNK_UNLOAD.register(StorageCacheHandler::handle);
+    ServerPlayNetworking.registerGlobalReceiver(HarvestPredictionPacket.ID, HarvestPredictionPacket::handle);
+    ServerPlayConnectionEvents.JOIN.register(ServerPlayConnectionHandler::handle);
+    ServerPlayConnectionEvents.DISCONNECT.register(ServerPlayConnectionHandler::handle);
   }
 }
@@ -0,0 +1,25 @@
+package crystalspider.harvestwithease.api;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.state.property.IntProperty;
+
+/**
+ * Immutable classification of a {@link Block} that has an age, shared by all of its {@link BlockState states}.
+ *
+ * @param block {@link Block} being classified.
+ * @param crop whether {@link #block} is a crop that can be harvested.
+ * @param age age {@link IntProperty} of {@link #block}.
+ * @param maxAge highest value {@link #age} can have.
+ */
+public record CropProfile(Block block, boolean crop, IntProperty age, int maxAge) {
+  /**
+   * Checks whether the given {@link BlockState} has reached {@link #maxAge}.
+   *
+   * @param blockState
+   * @return whether the given {@link BlockState} has reached {@link #maxAge}.
+   */
+  public boolean isMature(BlockState blockState) {
+    return blockState.get(age) >= maxAge;
+  }
+}
@@ -0,0 +1,148 @@
+package crystalspider.harvestwithease.api;
+
+import crystalspider.harvestwithease.config.ModConfig;
+import net.minecraft.block.*;
+import net.minecraft.registry.Registries;
+import net.minecraft.state.property.IntProperty;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static crystalspider.harvestwithease.ModLoader.MOD_ID;
+
+/**
+ * Lookup table from each registered {@link BlockState} to its {@link CropProfile}.
+ * <p>
+ * Every {@link Block} that has an integer age property gets a single {@link CropProfile}, shared by all of its states.
+ * Crops without an integer age property can never be harvested, so they are left out and configured ones are reported with a single warning each time the table is built.
+ * <p>
+ * The table is indexed by {@link Block#getRawIdFromState(BlockState) state raw id}, so that a lookup never allocates.
+ * It's built lazily on first access and discarded with {@link #invalidate()} whenever the configuration or the tags are (re)loaded.
+ */
+public final class CropTable {
+  /**
+   * Logger.
+   */
+  private static final Logger LOGGER = LoggerFactory.getLogger(MOD_ID);
+
+  /**
+   * {@link CropProfile Profiles} indexed by {@link Block#getRawIdFromState(BlockState) state raw id}, {@code null} entries are states of blocks that have no age.
+   * <p>
+   * {@code null} when the table needs to be (re)built.
+   */
+  private static volatile CropProfile[] profiles = null;
+
+  private CropTable() {
+  }
+
+  /**
+   * Returns the {@link CropProfile} of the given {@link BlockState}.
+   *
+   * @param blockState
+   * @return the {@link CropProfile} of the given {@link BlockState} or {@code null} if it has no age.
+   */
+  @Nullable
+  public static CropProfile get(BlockState blockState) {
+    return get(snapshot(), blockState);
+  }
+
+  /**
+   * Returns the {@link CropProfile} of the given {@link BlockState} from the given {@link #snapshot() snapshot} of the table.
+   * <p>
+   * Never builds the table, so it's safe to call off the main threads.
+   *
+   * @param table {@link #snapshot() snapshot} of the table.
+   * @param blockState
+   * @return the {@link CropProfile} of the given {@link BlockState} or {@code null} if it has no age.
+   */
+  @Nullable
+  public static CropProfile get(CropProfile[] table, BlockState blockState) {
+    int id = Block.getRawIdFromState(blockState);
+    return id >= 0 && id < table.length ? table[id] : null;
+  }
+
+  /**
+   * Returns the {@link CropProfile} of the given {@link Block}.
+   *
+   * @param block
+   * @return the {@link CropProfile} of the given {@link Block} or {@code null} if it has no age.
+   */
+  @Nullable
+  public static CropProfile get(Block block) {
+    return get(block.getDefaultState());
+  }
+
+  /**
+   * Returns the current table, building it first if needed.
+   * <p>
+   * Must not be called off the main threads, since building the table reads the configuration and the registries. The returned table must never be modified.
+   *
+   * @return the {@link CropProfile profiles} indexed by {@link Block#getRawIdFromState(BlockState) state id}.
+   */
+  public static CropProfile[] snapshot() {
+    CropProfile[] table = profiles;
+    return table != null ? table : build();
+  }
+
+  /**
+   * Discards the current table, it will be rebuilt on next access.
+   */
+  public static void invalidate() {
+    profiles = null;
+  }
+
+  /**
+   * Builds and publishes the table, unless another thread already did.
+   *
+   * @return the built table.
+   */
+  private static synchronized CropProfile[] build() {
+    CropProfile[] table = profiles;
+    if (table == null) {
+      Set<String> crops = ModConfig.getCompiled().crops();
+      Set<String> accepted = new HashSet<>();
+      Map<Block, CropProfile> byBlock = new IdentityHashMap<>();
+      table = new CropProfile[Block.STATE_IDS.size()];
+      for (BlockState blockState : Block.STATE_IDS) {
+        int id = Block.getRawIdFromState(blockState);
+        if (id >= 0 && id < table.length) {
+          table[id] = byBlock.computeIfAbsent(blockState.getBlock(), block -> classify(block, crops, accepted));
+        }
+      }
+      List<String> rejected = crops.stream().filter(crop -> !accepted.contains(crop)).sorted().toList();
+      if (!rejected.isEmpty()) {
+        LOGGER.warn("Ignoring crops " + rejected + " from the configuration of " + MOD_ID + ": either they don't exist or they have no integer \"age\" property, so they can never be harvested.");
+      }
+      profiles = table;
+    }
+    return table;
+  }
+
+  /**
+   * Computes the {@link CropProfile} of the given {@link Block}.
+   *
+   * @param block
+   * @param crops additional crop IDs from the configuration.
+   * @param accepted additional crop IDs from the configuration that turned out to be valid crops, filled by this method.
+   * @return the {@link CropProfile} of the given {@link Block} or {@code null} if it has no age.
+   */
+  @Nullable
+  private static CropProfile classify(Block block, Set<String> crops, Set<String> accepted) {
+    if (block.getStateManager().getProperty("age") instanceof IntProperty age) {
+      String key = Registries.BLOCK.getId(block).toString();
+      boolean configured = crops.contains(key);
+      if (configured) {
+        accepted.add(key);
+      }
+      return new CropProfile(block, block instanceof CropBlock || block instanceof NetherWartBlock || block instanceof CocoaBlock || block instanceof PitcherCropBlock || configured, age, Collections.max(age.getValues()));
+    }
+    return null;
+  }
+}
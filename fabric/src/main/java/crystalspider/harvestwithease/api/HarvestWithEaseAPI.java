@@ -1,36 +1,30 @@
 package crystalspider.harvestwithease.api;
 
 import crystalspider.harvestwithease.config.ModConfig;
-import net.minecraft.block.*;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.item.Item;
 import net.minecraft.item.ToolItem;
 import net.minecraft.item.ToolMaterial;
 import net.minecraft.item.ToolMaterials;
 import net.minecraft.registry.Registries;
-import net.minecraft.registry.RegistryKey;
 import net.minecraft.registry.tag.BlockTags;
 import net.minecraft.state.property.IntProperty;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.Optional;
-import java.util.stream.Stream;
-
-import static crystalspider.harvestwithease.ModLoader.MOD_ID;
+import java.util.Set;
 
 /**
  * Utility class that serves as an API for mods interfacing with Harvest With Ease mod.
  */
 public final class HarvestWithEaseAPI {
-  /**
-   * Logger.
-   */
-  private static final Logger LOGGER = LoggerFactory.getLogger(MOD_ID);
-
   private HarvestWithEaseAPI() {
   }
 
@@ -41,7 +35,54 @@ public final class HarvestWithEaseAPI {
    * @return whether the given block is a valid breakable crop.
    */
   public static boolean isCrop(Block block) {
-    return block instanceof CropBlock || block instanceof NetherWartBlock || block instanceof CocoaBlock || block instanceof PitcherCropBlock || ModConfig.getCrops().contains(getKey(block));
+    return isCrop(block.getDefaultState());
+  }
+
+  /**
+   * Checks whether the given blockState is a crop that can be broken and, optionally, drop xp.
+   *
+   * @param blockState
+   * @return whether the given blockState is a valid breakable crop.
+   */
+  public static boolean isCrop(BlockState blockState) {
+    return probe(blockState) != null;
+  }
+
+  /**
+   * Probes the given blockState for right-click harvesting, without ever throwing.
+   * <p>
+   * The returned {@link CropProfile} is immutable and shared by all the states of the same crop, so probing never allocates.
+   *
+   * @param blockState
+   * @return the {@link CropProfile} of the given blockState if it's a crop that can be harvested, {@code null} otherwise.
+   */
+  @Nullable
+  public static CropProfile probe(BlockState blockState) {
+    CropProfile profile = CropTable.get(blockState);
+    return profile != null && profile.crop() ? profile : null;
+  }
+
+  /**
+   * Returns the age integer property of the given block.
+   *
+   * @param block
+   * @return the age property of the given block or {@code null} if it has none.
+   */
+  @Nullable
+  public static IntProperty getAge(Block block) {
+    CropProfile profile = CropTable.get(block);
+    return profile != null ? profile.age() : null;
+  }
+
+  /**
+   * Returns the maximum value the age integer property of the given block can have.
+   *
+   * @param block
+   * @return the maximum age of the given block or {@code -1} if it has no age.
+   */
+  public static int getMaxAge(Block block) {
+    CropProfile profile = CropTable.get(block);
+    return profile != null ? profile.maxAge() : -1;
   }
 
   /**
@@ -54,6 +95,10 @@ public final class HarvestWithEaseAPI {
    * @throws ClassCastException if the age property is not an {@link IntProperty}.
    */
   public static IntProperty getAge(BlockState blockState) throws NullPointerException, NoSuchElementException, ClassCastException {
+    CropProfile profile = CropTable.get(blockState);
+    if (profile != null) {
+      return profile.age();
+    }
     return (IntProperty) blockState.getProperties().stream().filter(property -> property.getName().equals("age")).findFirst().orElseThrow();
   }
 
@@ -65,6 +110,10 @@ public final class HarvestWithEaseAPI {
    * @return whether the given blockstate is a mature crop.
    */
   public static boolean isMature(BlockState blockState, IntProperty age) {
+    CropProfile profile = CropTable.get(blockState);
+    if (profile != null && profile.age() == age) {
+      return profile.isMature(blockState);
+    }
     return blockState.getOrEmpty(age).orElse(0) >= Collections.max(age.getValues());
   }
 
@@ -78,6 +127,10 @@ public final class HarvestWithEaseAPI {
    * @throws ClassCastException if the age property is not an {@link IntProperty}.
    */
   public static boolean isMature(BlockState blockState) throws NullPointerException, NoSuchElementException, ClassCastException {
+    CropProfile profile = CropTable.get(blockState);
+    if (profile != null) {
+      return profile.isMature(blockState);
+    }
     return isMature(blockState, getAge(blockState));
   }
 
@@ -100,11 +153,45 @@ public final class HarvestWithEaseAPI {
    * @return whether the given {@link ToolItem tool} is allowed to multi-harvest.
    */
   public static boolean isTierForMultiHarvest(ToolItem tool) {
-    ToolMaterial toolTier = tool.getMaterial();
-    String configTier = ModConfig.getMultiHarvestStartingTier();
+    return isTierForMultiHarvest(tool.getMaterial(), ModConfig.getCompiled().multiHarvestStartingTier());
+  }
+
+  /**
+   * Checks whether the given {@link ToolMaterial} is high enough for multi-harvest, given the starting tier reference.
+   *
+   * @param toolTier
+   * @param configTier reference to the tier starting from which multi-harvest is allowed.
+   * @return whether the given {@link ToolMaterial} is allowed to multi-harvest.
+   */
+  public static boolean isTierForMultiHarvest(ToolMaterial toolTier, String configTier) {
     return toolTier.getMiningLevel() >= getTierLevel(configTier);
   }
 
+  /**
+   * Returns the multi-harvest radius for the given {@link ToolMaterial}, that is the distance from the center of the harvest area to its edges.
+   *
+   * @param tier
+   * @return the multi-harvest radius or {@code -1} if the tool material cannot multi-harvest.
+   */
+  public static int getMultiHarvestRadius(ToolMaterial tier) {
+    return ModConfig.getCompiled().getMultiHarvestRadius(tier);
+  }
+
+  /**
+   * Returns all the known {@link ToolMaterial tool materials}: Vanilla {@link ToolMaterials} first, followed by the materials of any other registered {@link ToolItem}.
+   *
+   * @return all the known {@link ToolMaterial tool materials}.
+   */
+  public static Set<ToolMaterial> getToolMaterials() {
+    Set<ToolMaterial> materials = new LinkedHashSet<>(Arrays.asList(ToolMaterials.values()));
+    for (Item item : Registries.ITEM) {
+      if (item instanceof ToolItem tool) {
+        materials.add(tool.getMaterial());
+      }
+    }
+    return materials;
+  }
+
   /**
    * Checks if the given tier string reference is in the given list of tiers.
    *
@@ -144,14 +231,14 @@ public final class HarvestWithEaseAPI {
    * <p>
    * If {@code tierRef} is {@code "none"} then the level is {@code -1}.
    * <p>
-   * If the tier is not in the {@link ToolMaterials} then the level is {@code 0} (same as Vanilla wood tier).
+   * If the tier is not in the {@link #getToolMaterials() known tool materials} then the level is {@code 0} (same as Vanilla wood tier).
    *
    * @param tierRef
    * @return tier level.
    */
   public static int getTierLevel(String tierRef) {
     try {
-      return tierRef.equalsIgnoreCase("none") ? -1 : getTierLevel(Stream.of(ToolMaterials.values()).filter(tier -> matchesTier(tierRef, tier)).findFirst().orElseThrow());
+      return tierRef.equalsIgnoreCase("none") ? -1 : getTierLevel(getToolMaterials().stream().filter(tier -> matchesTier(tierRef, tier)).findFirst().orElseThrow());
     } catch (NoSuchElementException e) {
       return 0;
     }
@@ -167,19 +254,4 @@ public final class HarvestWithEaseAPI {
   public static boolean matchesTier(String tierRef, ToolMaterial tier) {
     return tier.toString().equalsIgnoreCase(tierRef);
   }
-
-  /**
-   * Returns the in-game ID of the block passed as parameter.
-   *
-   * @param block
-   * @return in-game ID of the given block.
-   */
-  private static String getKey(Block block) {
-    Optional<RegistryKey<Block>> key = Registries.BLOCK.getKey(block);
-    if (key.isPresent()) {
-      return key.get().getValue().toString();
-    }
-    LOGGER.debug("Couldn't get key for block [" + block + "].");
-    return "";
-  }
 }
@@ -0,0 +1,16 @@
+package crystalspider.harvestwithease.api;
+
+import net.minecraft.item.Item;
+import net.minecraft.item.ToolItem;
+import net.minecraft.item.ToolMaterial;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Immutable classification of an {@link Item} as a harvesting tool.
+ *
+ * @param item {@link Item} being classified.
+ * @param hoe whether {@link #item} is a hoe.
+ * @param tier {@link ToolMaterial} of {@link #item}, {@code null} if it's not a {@link ToolItem}.
+ * @param radius multi-harvest radius granted by {@link #item}, {@code -1} if it cannot multi-harvest.
+ */
+public record ToolProfile(Item item, boolean hoe, @Nullable ToolMaterial tier, int radius) {}
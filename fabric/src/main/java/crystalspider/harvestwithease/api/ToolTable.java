@@ -0,0 +1,85 @@
+package crystalspider.harvestwithease.api;
+
+import crystalspider.harvestwithease.config.CompiledConfig;
+import net.minecraft.item.HoeItem;
+import net.minecraft.item.Item;
+import net.minecraft.item.ToolItem;
+import net.minecraft.item.ToolMaterial;
+import net.minecraft.registry.Registries;
+
+/**
+ * Lookup table from each registered {@link Item} to its {@link ToolProfile}.
+ * <p>
+ * The table is indexed by {@link Item#getRawId(Item) item raw id}, so that a lookup never allocates.
+ * It's bound to the {@link CompiledConfig} snapshot it was built from and gets rebuilt when a different snapshot is used, which happens after every configuration or tag reload.
+ */
+public final class ToolTable {
+  /**
+   * Current table.
+   * <p>
+   * {@code null} until first built.
+   */
+  private static volatile Table table = null;
+
+  private ToolTable() {
+  }
+
+  /**
+   * Returns the {@link ToolProfile} of the given {@link Item}, according to the given {@link CompiledConfig} snapshot.
+   *
+   * @param config {@link CompiledConfig} snapshot.
+   * @param item
+   * @return the {@link ToolProfile} of the given {@link Item}.
+   */
+  public static ToolProfile get(CompiledConfig config, Item item) {
+    Table current = table;
+    if (current == null || current.config() != config) {
+      current = build(config);
+    }
+    int id = Item.getRawId(item);
+    return id >= 0 && id < current.profiles().length && current.profiles()[id] != null ? current.profiles()[id] : classify(config, item);
+  }
+
+  /**
+   * Builds and publishes the table for the given {@link CompiledConfig} snapshot, unless another thread already did.
+   *
+   * @param config {@link CompiledConfig} snapshot.
+   * @return the built table.
+   */
+  private static synchronized Table build(CompiledConfig config) {
+    Table current = table;
+    if (current == null || current.config() != config) {
+      ToolProfile[] profiles = new ToolProfile[Registries.ITEM.size()];
+      for (Item item : Registries.ITEM) {
+        int id = Item.getRawId(item);
+        if (id >= 0 && id < profiles.length) {
+          profiles[id] = classify(config, item);
+        }
+      }
+      current = new Table(config, profiles);
+      table = current;
+    }
+    return current;
+  }
+
+  /**
+   * Computes the {@link ToolProfile} of the given {@link Item}.
+   *
+   * @param config {@link CompiledConfig} snapshot.
+   * @param item
+   * @return the {@link ToolProfile} of the given {@link Item}.
+   */
+  private static ToolProfile classify(CompiledConfig config, Item item) {
+    boolean hoe = item instanceof HoeItem;
+    ToolMaterial tier = item instanceof ToolItem toolItem ? toolItem.getMaterial() : null;
+    return new ToolProfile(item, hoe, tier, hoe && tier != null ? config.getMultiHarvestRadius(tier) : -1);
+  }
+
+  /**
+   * {@link ToolProfile Profiles} indexed by {@link Item#getRawId(Item) item raw id}, together with the {@link CompiledConfig} snapshot they were computed with.
+   *
+   * @param config {@link CompiledConfig} snapshot.
+   * @param profiles {@link ToolProfile profiles}.
+   */
+  private record Table(CompiledConfig config, ToolProfile[] profiles) {}
+}
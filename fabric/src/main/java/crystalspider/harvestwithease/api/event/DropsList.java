@@ -0,0 +1,147 @@
+package crystalspider.harvestwithease.api.event;
+
+import net.minecraft.item.ItemStack;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Copy-on-write view of a list of default drops.
+ * <p>
+ * Nothing is copied until the list is accessed: stacks are copied one by one the first time they are read, so that listeners can freely
+ * change them in place, and the list itself is copied the first time it is read or changed.
+ * Stacks never handed out are still the default ones, which makes {@link #hasChanged()} skip them without any comparison.
+ */
+final class DropsList extends AbstractList<ItemStack> {
+  /**
+   * Default drops, never handed out.
+   */
+  private final List<ItemStack> defaults;
+  /**
+   * Current drops, {@code null} until first accessed.
+   * Holds the default stacks that were never read and the copies or new stacks of all the others.
+   */
+  private List<ItemStack> stacks = null;
+  /**
+   * Whether stacks have been added, removed or replaced.
+   */
+  private boolean structurallyModified = false;
+
+  /**
+   * @param defaults {@link #defaults}.
+   */
+  DropsList(List<ItemStack> defaults) {
+    this.defaults = defaults;
+  }
+
+  @Override
+  public ItemStack get(int index) {
+    ItemStack stack = stacks().get(index);
+    ItemStack detached = detach(stack);
+    if (detached != stack) {
+      stacks.set(index, detached);
+    }
+    return detached;
+  }
+
+  @Override
+  public ItemStack set(int index, ItemStack element) {
+    structurallyModified = true;
+    return detach(stacks().set(index, element));
+  }
+
+  @Override
+  public void add(int index, ItemStack element) {
+    structurallyModified = true;
+    stacks().add(index, element);
+    modCount++;
+  }
+
+  @Override
+  public ItemStack remove(int index) {
+    structurallyModified = true;
+    modCount++;
+    return detach(stacks().remove(index));
+  }
+
+  @Override
+  public int size() {
+    return stacks == null ? defaults.size() : stacks.size();
+  }
+
+  /**
+   * Whether the drops changed from their default value.
+   *
+   * @return whether the drops changed from their default value.
+   */
+  boolean hasChanged() {
+    if (stacks == null) {
+      return false;
+    }
+    if (!structurallyModified) {
+      for (int c = 0; c < stacks.size(); c++) {
+        if (stacks.get(c) != defaults.get(c) && !ItemStack.areEqual(defaults.get(c), stacks.get(c))) {
+          return true;
+        }
+      }
+      return false;
+    }
+    if (defaults.size() == stacks.size()) {
+      for (int c = 0; c < defaults.size(); c++) {
+        if (!ItemStack.areEqual(defaults.get(c), stacks.get(c))) {
+          return true;
+        }
+      }
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Returns the current drops without copying the stacks that were never read.
+   * Meant for when no listener is going to see the drops anymore.
+   *
+   * @return the current drops.
+   */
+  List<ItemStack> result() {
+    return stacks == null ? defaults : stacks;
+  }
+
+  /**
+   * Returns {@link #stacks}, copying the default list on first access.
+   *
+   * @return {@link #stacks}.
+   */
+  private List<ItemStack> stacks() {
+    if (stacks == null) {
+      stacks = new ArrayList<>(defaults);
+    }
+    return stacks;
+  }
+
+  /**
+   * Returns a stack that is safe to hand out, copying it if it is one of the default ones.
+   *
+   * @param stack
+   * @return the given stack or its copy.
+   */
+  private ItemStack detach(ItemStack stack) {
+    return isDefault(stack) ? stack.copy() : stack;
+  }
+
+  /**
+   * Whether the given stack is one of the default ones.
+   *
+   * @param stack
+   * @return whether the given stack is one of the default ones.
+   */
+  private boolean isDefault(ItemStack stack) {
+    for (ItemStack defaultStack : defaults) {
+      if (defaultStack == stack) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
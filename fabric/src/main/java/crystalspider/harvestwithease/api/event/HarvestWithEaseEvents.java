@@ -5,6 +5,7 @@ import net.fabricmc.fabric.api.event.EventFactory;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.server.world.ServerWorld;
@@ -15,8 +16,10 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
 import net.minecraft.world.World;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static crystalspider.harvestwithease.ModLoader.MOD_ID;
 
@@ -35,7 +38,7 @@ public final class HarvestWithEaseEvents {
 
   public static final Event<HarvestCheck> HARVEST_CHECK = EventFactory.createWithPhases(
     HarvestCheck.class,
-    (listeners) -> (world, crop, pos, player, hand, first, event) -> {
+    (listeners) -> listeners.length == 0 ? NoListeners.HARVEST_CHECK : (world, crop, pos, player, hand, first, event) -> {
       for (HarvestCheck listener : listeners) {
         event.setCanHarvest(listener.check(world, crop, pos, player, hand, first, event));
         if (event.isCanceled()) {
@@ -51,7 +54,7 @@ public final class HarvestWithEaseEvents {
 
   public static final Event<BeforeHarvest> BEFORE_HARVEST = EventFactory.createWithPhases(
     BeforeHarvest.class,
-    (listeners) -> (world, crop, pos, face, result, player, hand, first) -> {
+    (listeners) -> listeners.length == 0 ? NoListeners.BEFORE_HARVEST : (world, crop, pos, face, result, player, hand, first) -> {
       for (BeforeHarvest listener : listeners) {
         listener.beforeHarvest(world, crop, pos, face, result, player, hand, first);
       }
@@ -63,7 +66,7 @@ public final class HarvestWithEaseEvents {
 
   public static final Event<HarvestDrops> HARVEST_DROPS = EventFactory.createWithPhases(
     HarvestDrops.class,
-    (listeners) -> (world, crop, pos, face, result, player, hand, first, event) -> {
+    (listeners) -> listeners.length == 0 ? NoListeners.HARVEST_DROPS : (world, crop, pos, face, result, player, hand, first, event) -> {
       for (HarvestDrops listener : listeners) {
         event.setDrops(listener.getDrops(world, crop, pos, face, result, player, hand, first, event));
         if (event.isCanceled()) {
@@ -79,7 +82,7 @@ public final class HarvestWithEaseEvents {
 
   public static final Event<AfterHarvest> AFTER_HARVEST = EventFactory.createWithPhases(
     AfterHarvest.class,
-    (listeners) -> (world, crop, pos, face, result, player, hand, first) -> {
+    (listeners) -> listeners.length == 0 ? NoListeners.AFTER_HARVEST : (world, crop, pos, face, result, player, hand, first) -> {
       for (AfterHarvest listener : listeners) {
         listener.afterHarvest(world, crop, pos, face, result, player, hand, first);
       }
@@ -89,9 +92,63 @@ public final class HarvestWithEaseEvents {
     DEFERRED_PHASE
   );
 
+  public static final Event<AreaHarvestPre> AREA_HARVEST_PRE = EventFactory.createWithPhases(
+    AreaHarvestPre.class,
+    (listeners) -> listeners.length == 0 ? NoListeners.AREA_HARVEST_PRE : (world, crop, pos, player, hand, event) -> {
+      for (AreaHarvestPre listener : listeners) {
+        if (!listener.beforeAreaHarvest(world, crop, pos, player, hand, event)) {
+          return false;
+        }
+      }
+      return true;
+    },
+    PRIORITY_PHASE,
+    Event.DEFAULT_PHASE,
+    DEFERRED_PHASE
+  );
+
+  public static final Event<AreaHarvestDrops> AREA_HARVEST_DROPS = EventFactory.createWithPhases(
+    AreaHarvestDrops.class,
+    (listeners) -> listeners.length == 0 ? NoListeners.AREA_HARVEST_DROPS : (world, crop, pos, positions, player, hand, event) -> {
+      for (AreaHarvestDrops listener : listeners) {
+        event.setDrops(listener.getAreaDrops(world, crop, pos, positions, player, hand, event));
+        if (event.isCanceled()) {
+          return event.getDrops();
+        }
+      }
+      return event.getDrops();
+    },
+    PRIORITY_PHASE,
+    Event.DEFAULT_PHASE,
+    DEFERRED_PHASE
+  );
+
+  public static final Event<AreaHarvestPost> AREA_HARVEST_POST = EventFactory.createWithPhases(
+    AreaHarvestPost.class,
+    (listeners) -> listeners.length == 0 ? NoListeners.AREA_HARVEST_POST : (world, crop, pos, positions, player, hand) -> {
+      for (AreaHarvestPost listener : listeners) {
+        listener.afterAreaHarvest(world, crop, pos, positions, player, hand);
+      }
+    },
+    PRIORITY_PHASE,
+    Event.DEFAULT_PHASE,
+    DEFERRED_PHASE
+  );
+
   private HarvestWithEaseEvents() {
   }
 
+  /**
+   * Whether the given Harvest With Ease event has at least one listener.
+   * Lets callers skip building the arguments of events nobody observes.
+   *
+   * @param event
+   * @return whether the given event has at least one listener.
+   */
+  public static boolean hasListeners(Event<?> event) {
+    return !NoListeners.INVOKERS.contains(event.invoker());
+  }
+
   @FunctionalInterface
   public interface HarvestCheck {
     /**
@@ -162,6 +219,81 @@ public final class HarvestWithEaseEvents {
     void afterHarvest(ServerWorld world, BlockState crop, BlockPos pos, Direction face, BlockHitResult result, ServerPlayerEntity player, Hand hand, boolean first);
   }
 
+  /**
+   * Area events are fired once for a whole multi-harvest, on top of the per-crop events fired for each of its crops,
+   * unless a listener of this event {@link AreaHarvestPreEvent#skipCropEvents() skips them} so that the area is only accounted for once.
+   */
+  @FunctionalInterface
+  public interface AreaHarvestPre {
+    /**
+     * Event fired before a multi-harvest, before even the right-clicked crop is harvested.
+     *
+     * @param world {@link World} of the interaction.
+     * @param crop {@link BlockState} of the right-clicked crop.
+     * @param pos {@link BlockPos} of the right-clicked crop, at the center of the harvest area.
+     * @param player {@link ServerPlayerEntity} harvesting the crops.
+     * @param hand {@link Hand} used to harvest.
+     * @param event {@link AreaHarvestPreEvent}.
+     * @return whether to harvest the area, {@code false} to restrict the harvest to the right-clicked crop.
+     */
+    boolean beforeAreaHarvest(ServerWorld world, BlockState crop, BlockPos pos, ServerPlayerEntity player, Hand hand, AreaHarvestPreEvent event);
+  }
+
+  @FunctionalInterface
+  public interface AreaHarvestDrops {
+    /**
+     * Event fired with the aggregated drops of a multi-harvest, right before they are dropped.
+     * In batch mode the aggregated drops are dropped at the right-clicked crop.
+     * Otherwise the final {@link HarvestDrops drops} of each crop are held back until this event has fired, then each crop drops its own
+     * if listeners left the aggregated drops unchanged, while changed aggregated drops are dropped at the right-clicked crop instead.
+     * Canceling the event drops nothing.
+     *
+     * @param world {@link World} of the interaction.
+     * @param crop {@link BlockState} of the right-clicked crop.
+     * @param pos {@link BlockPos} of the right-clicked crop, at the center of the harvest area.
+     * @param positions unmodifiable list of the {@link BlockPos positions} of the harvested crops, the right-clicked one first.
+     * @param player {@link ServerPlayerEntity} harvesting the crops.
+     * @param hand {@link Hand} used to harvest.
+     * @param event {@link AreaHarvestDropsEvent}.
+     * @return this list of drops to drop.
+     */
+    List<ItemStack> getAreaDrops(ServerWorld world, BlockState crop, BlockPos pos, List<BlockPos> positions, ServerPlayerEntity player, Hand hand, AreaHarvestDropsEvent event);
+  }
+
+  @FunctionalInterface
+  public interface AreaHarvestPost {
+    /**
+     * Event fired after a multi-harvest is complete, once all its side effects have been applied.
+     *
+     * @param world {@link World} of the interaction.
+     * @param crop {@link BlockState} of the right-clicked crop.
+     * @param pos {@link BlockPos} of the right-clicked crop, at the center of the harvest area.
+     * @param positions unmodifiable list of the {@link BlockPos positions} of the harvested crops, the right-clicked one first.
+     * @param player {@link ServerPlayerEntity} harvesting the crops.
+     * @param hand {@link Hand} used to harvest.
+     */
+    void afterAreaHarvest(ServerWorld world, BlockState crop, BlockPos pos, List<BlockPos> positions, ServerPlayerEntity player, Hand hand);
+  }
+
+  /**
+   * Invokers of the events without listeners, returning the same values as an invoker with no listeners to loop through.
+   * Held in a separate class so that they exist before the events are created.
+   */
+  private static final class NoListeners {
+    private static final HarvestCheck HARVEST_CHECK = (world, crop, pos, player, hand, first, event) -> event.canHarvest();
+    private static final BeforeHarvest BEFORE_HARVEST = (world, crop, pos, face, result, player, hand, first) -> {};
+    private static final HarvestDrops HARVEST_DROPS = (world, crop, pos, face, result, player, hand, first, event) -> event.getDrops();
+    private static final AfterHarvest AFTER_HARVEST = (world, crop, pos, face, result, player, hand, first) -> {};
+    private static final AreaHarvestPre AREA_HARVEST_PRE = (world, crop, pos, player, hand, event) -> true;
+    private static final AreaHarvestDrops AREA_HARVEST_DROPS = (world, crop, pos, positions, player, hand, event) -> event.getDrops();
+    private static final AreaHarvestPost AREA_HARVEST_POST = (world, crop, pos, positions, player, hand) -> {};
+
+    /**
+     * All the invokers above.
+     */
+    private static final Set<Object> INVOKERS = Set.of(HARVEST_CHECK, BEFORE_HARVEST, HARVEST_DROPS, AFTER_HARVEST, AREA_HARVEST_PRE, AREA_HARVEST_DROPS, AREA_HARVEST_POST);
+  }
+
   /**
    * Base class for Harvest With Ease mod events.
    */
@@ -238,8 +370,15 @@ public final class HarvestWithEaseEvents {
    * Event fired when calculating the drops resulting from right-click harvesting.
    */
   public static class HarvestDropsEvent extends HarvestWithEaseEvent {
+    /**
+     * Seed {@link Item} of each crop {@link Block}, resolved the first time a crop of that type is harvested.
+     */
+    private static final Map<Block, Item> SEEDS = new ConcurrentHashMap<>();
+
     /**
      * List of drops.
+     * <p>
+     * Starts as a view of the default drops: stacks are copied the first time they are read and the list the first time it is read or changed.
      */
     private List<ItemStack> drops;
 
@@ -256,8 +395,8 @@ public final class HarvestWithEaseEvents {
      * @param hand {@link Hand} used to harvest.
      */
     public HarvestDropsEvent(ServerWorld world, BlockState crop, BlockPos pos, ServerPlayerEntity player, Hand hand) {
-      defaultDrops = initDrops(world, crop, pos, player, hand);
-      drops = new ArrayList<>(defaultDrops.stream().map(ItemStack::copy).toList());
+      defaultDrops = getDefaultDrops(world, crop, pos, player, hand);
+      drops = new DropsList(defaultDrops);
     }
 
     /**
@@ -266,6 +405,9 @@ public final class HarvestWithEaseEvents {
      * @return whether the list of drops changed from its default value.
      */
     public boolean haveDropsChanged() {
+      if (drops instanceof DropsList view) {
+        return view.hasChanged();
+      }
       if (defaultDrops.size() == drops.size()) {
         for (int c = 0; c < defaultDrops.size(); c++) {
           if (!ItemStack.areEqual(defaultDrops.get(c), drops.get(c))) {
@@ -286,28 +428,177 @@ public final class HarvestWithEaseEvents {
       return drops;
     }
 
+    /**
+     * Returns the final list of drops, once all listeners have been called.
+     * <p>
+     * Unlike {@link #getDrops()}, this does not copy the stacks no listener has touched, so the returned list must not be changed.
+     *
+     * @return the final list of drops.
+     */
+    public List<ItemStack> getFinalDrops() {
+      return drops instanceof DropsList view ? view.result() : drops;
+    }
+
     @Override
     public boolean isCancelable() {
       return true;
     }
 
     /**
-     * Initializes the drops list.
+     * Returns the default drops of a crop harvest, the same this event starts with.
      *
+     * @param world {@link World} of the interaction.
+     * @param crop {@link BlockState} of the crop being harvested.
+     * @param pos {@link BlockPos} of the crop being harvested.
+     * @param player {@link ServerPlayerEntity} trying to harvest the crop.
+     * @param hand {@link Hand} used to harvest.
      * @return the list of drops a player would get by breaking the crop, with one seed removed.
      */
-    private List<ItemStack> initDrops(ServerWorld world, BlockState crop, BlockPos pos, ServerPlayerEntity player, Hand hand) {
+    public static List<ItemStack> getDefaultDrops(ServerWorld world, BlockState crop, BlockPos pos, ServerPlayerEntity player, Hand hand) {
       List<ItemStack> drops = Block.getDroppedStacks(crop, world, pos, crop.hasBlockEntity() ? world.getBlockEntity(pos) : null, player, player.getStackInHand(hand));
-      boolean seedRemoved = false;
-      for (ItemStack stack : drops) {
-        if (!seedRemoved && stack.isOf(crop.getBlock().getPickStack(world, pos, crop).getItem())) {
-          stack.decrement(1);
-          seedRemoved = true;
+      if (!drops.isEmpty()) {
+        Item seed = getSeed(world, crop, pos);
+        for (ItemStack stack : drops) {
+          if (stack.isOf(seed)) {
+            stack.decrement(1);
+            break;
+          }
+        }
+      }
+      return drops;
+    }
+
+    /**
+     * Returns the seed {@link Item} of the given crop, resolving it only the first time a crop of its type is harvested.
+     *
+     * @param world {@link World} of the interaction.
+     * @param crop {@link BlockState} of the crop being harvested.
+     * @param pos {@link BlockPos} of the crop being harvested.
+     * @return the seed {@link Item} of the crop.
+     */
+    private static Item getSeed(ServerWorld world, BlockState crop, BlockPos pos) {
+      Item seed = SEEDS.get(crop.getBlock());
+      if (seed == null) {
+        seed = crop.getBlock().getPickStack(world, pos, crop).getItem();
+        SEEDS.put(crop.getBlock(), seed);
+      }
+      return seed;
+    }
+
+    /**
+     * Sets this {@link #drops}.
+     * Sets only if the given list is not {@code null}.
+     *
+     * @param drops
+     */
+    private void setDrops(List<ItemStack> drops) {
+      if (drops != null) {
+        this.drops = drops;
+      }
+    }
+  }
+
+  /**
+   * Event fired before a multi-harvest.
+   */
+  public static class AreaHarvestPreEvent extends HarvestWithEaseEvent {
+    /**
+     * Whether the per-crop {@link HarvestWithEaseEvents#BEFORE_HARVEST}, {@link HarvestWithEaseEvents#HARVEST_DROPS} and {@link HarvestWithEaseEvents#AFTER_HARVEST} events are fired for the crops of this multi-harvest.
+     */
+    private boolean cropEvents = true;
+
+    /**
+     * Returns this {@link #cropEvents}.
+     *
+     * @return this {@link #cropEvents}.
+     */
+    public boolean haveCropEvents() {
+      return cropEvents;
+    }
+
+    /**
+     * Skips the per-crop events for all the crops of this multi-harvest, the right-clicked one included, for all their listeners.
+     * Crops then drop their default drops, which the {@link HarvestWithEaseEvents#AREA_HARVEST_DROPS} event can still change.
+     */
+    public void skipCropEvents() {
+      this.cropEvents = false;
+    }
+
+    @Override
+    public boolean isCancelable() {
+      return false;
+    }
+  }
+
+  /**
+   * Event fired with the aggregated drops of a batch multi-harvest.
+   */
+  public static class AreaHarvestDropsEvent extends HarvestWithEaseEvent {
+    /**
+     * Aggregated drops of all harvested crops, merged into as few stacks as possible.
+     * <p>
+     * Starts as a view of the initial drops: stacks are copied the first time they are read and the list the first time it is read or changed.
+     */
+    private List<ItemStack> drops;
+
+    /**
+     * Reference to the initial drops.
+     */
+    private final List<ItemStack> initialDrops;
+
+    /**
+     * @param drops initial {@link #drops}.
+     */
+    public AreaHarvestDropsEvent(List<ItemStack> drops) {
+      this.initialDrops = drops;
+      this.drops = new DropsList(drops);
+    }
+
+    /**
+     * Returns whether the list of drops changed from its initial value.
+     *
+     * @return whether the list of drops changed from its initial value.
+     */
+    public boolean haveDropsChanged() {
+      if (drops instanceof DropsList view) {
+        return view.hasChanged();
+      }
+      if (initialDrops.size() == drops.size()) {
+        for (int c = 0; c < initialDrops.size(); c++) {
+          if (!ItemStack.areEqual(initialDrops.get(c), drops.get(c))) {
+            return true;
+          }
         }
+        return false;
       }
+      return true;
+    }
+
+    /**
+     * Returns this {@link #drops}.
+     *
+     * @return this {@link #drops}.
+     */
+    public List<ItemStack> getDrops() {
       return drops;
     }
 
+    /**
+     * Returns the final list of drops, once all listeners have been called.
+     * <p>
+     * Unlike {@link #getDrops()}, this does not copy the stacks no listener has touched, so the returned list must not be changed.
+     *
+     * @return the final list of drops.
+     */
+    public List<ItemStack> getFinalDrops() {
+      return drops instanceof DropsList view ? view.result() : drops;
+    }
+
+    @Override
+    public boolean isCancelable() {
+      return true;
+    }
+
     /**
      * Sets this {@link #drops}.
      * Sets only if the given list is not {@code null}.
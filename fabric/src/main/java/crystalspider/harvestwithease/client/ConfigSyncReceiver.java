@@ -0,0 +1,83 @@
+package crystalspider.harvestwithease.client;
+
+import crystalspider.harvestwithease.api.CropTable;
+import crystalspider.harvestwithease.config.ModConfig;
+import crystalspider.harvestwithease.config.SyncedConfig;
+import crystalspider.harvestwithease.network.ConfigSyncPacket;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
+import net.fabricmc.fabric.api.networking.v1.PacketSender;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.network.ClientPlayNetworkHandler;
+import net.minecraft.network.PacketByteBuf;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static crystalspider.harvestwithease.ModLoader.MOD_ID;
+
+/**
+ * Applies the {@link SyncedConfig harvest configuration} synced by the server, so that the client decides what to harvest the same way the server does.
+ * <p>
+ * Only ever accessed from the client thread.
+ */
+@Environment(EnvType.CLIENT)
+public final class ConfigSyncReceiver {
+  /**
+   * Logger.
+   */
+  private static final Logger LOGGER = LoggerFactory.getLogger(MOD_ID);
+
+  private ConfigSyncReceiver() {
+  }
+
+  /**
+   * Handles the {@link ConfigSyncPacket} received through {@link ClientPlayNetworking}.
+   * Reads the packet right away and applies the synced values on the client thread.
+   *
+   * @param client {@link MinecraftClient}.
+   * @param handler {@link ClientPlayNetworkHandler} that received the packet.
+   * @param buffer {@link PacketByteBuf} of the packet.
+   * @param responseSender {@link PacketSender}.
+   */
+  public static void handle(MinecraftClient client, ClientPlayNetworkHandler handler, PacketByteBuf buffer, PacketSender responseSender) {
+    ConfigSyncPacket packet = ConfigSyncPacket.read(buffer);
+    client.execute(() -> receive(packet.hash(), packet.config()));
+  }
+
+  /**
+   * Handles the {@link ClientPlayConnectionEvents#DISCONNECT} event.
+   * Goes back to the local configuration values.
+   *
+   * @param handler {@link ClientPlayNetworkHandler} of the closed connection.
+   * @param client {@link MinecraftClient}.
+   */
+  public static void reset(ClientPlayNetworkHandler handler, MinecraftClient client) {
+    client.execute(() -> {
+      if (ModConfig.getSynced() != null) {
+        ModConfig.sync(null);
+        CropTable.invalidate();
+      }
+    });
+  }
+
+  /**
+   * Applies the given synced values, unless they are the ones already in use.
+   * Values whose {@link SyncedConfig#hash() version hash} does not match the server one were read with a different format and are ignored.
+   *
+   * @param hash {@link SyncedConfig#hash() version hash} of the values, as computed by the server.
+   * @param config synced {@link SyncedConfig values}.
+   */
+  private static void receive(int hash, SyncedConfig config) {
+    if (config.hash() != hash) {
+      LOGGER.warn("Ignoring the configuration of " + MOD_ID + " synced by the server: its version hash does not match, the server is likely running a different version of the mod.");
+      return;
+    }
+    SyncedConfig current = ModConfig.getSynced();
+    if (current == null || current.hash() != hash) {
+      ModConfig.sync(config);
+      CropTable.invalidate();
+    }
+  }
+}
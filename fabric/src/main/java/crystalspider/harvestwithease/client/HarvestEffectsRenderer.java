@@ -0,0 +1,66 @@
+package crystalspider.harvestwithease.client;
+
+import crystalspider.harvestwithease.config.ModConfig;
+import crystalspider.harvestwithease.network.HarvestEffectsPacket;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
+import net.fabricmc.fabric.api.networking.v1.PacketSender;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.network.ClientPlayNetworkHandler;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.sound.BlockSoundGroup;
+import net.minecraft.sound.SoundCategory;
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * Renders the break effects of the tall crop blocks broken by multi-harvests, as sent in batches by the server.
+ */
+@Environment(EnvType.CLIENT)
+public final class HarvestEffectsRenderer {
+  private HarvestEffectsRenderer() {
+  }
+
+  /**
+   * Handles the {@link HarvestEffectsPacket} received through {@link ClientPlayNetworking}.
+   * Reads the packet right away and renders its break effects on the client thread.
+   *
+   * @param client {@link MinecraftClient}.
+   * @param handler {@link ClientPlayNetworkHandler} that received the packet.
+   * @param buffer {@link PacketByteBuf} of the packet.
+   * @param responseSender {@link PacketSender}.
+   */
+  public static void handle(MinecraftClient client, ClientPlayNetworkHandler handler, PacketByteBuf buffer, PacketSender responseSender) {
+    HarvestEffectsPacket packet = HarvestEffectsPacket.read(buffer);
+    client.execute(() -> render(client.world, packet.positions(), packet.states()));
+  }
+
+  /**
+   * Renders the break effects of the given blocks.
+   * The break sound is played once for the whole batch, while break particles are shown for at most {@link ModConfig#getHarvestParticles()} blocks, evenly spread across the batch.
+   *
+   * @param world current {@link ClientWorld}, if any.
+   * @param positions {@link BlockPos#asLong() packed positions} of the broken blocks.
+   * @param states {@link Block#getRawIdFromState(BlockState) raw ids} of the states of the broken blocks, by index of their position.
+   */
+  private static void render(ClientWorld world, long[] positions, int[] states) {
+    if (world == null || positions.length == 0) {
+      return;
+    }
+    BlockState first = Block.getStateFromRawId(states[0]);
+    if (!first.isAir()) {
+      BlockSoundGroup soundGroup = first.getSoundGroup();
+      world.playSound(BlockPos.fromLong(positions[0]), soundGroup.getBreakSound(), SoundCategory.BLOCKS, (soundGroup.getVolume() + 1.0F) / 2.0F, soundGroup.getPitch() * 0.8F, false);
+    }
+    int cap = ModConfig.getCompiled().harvestParticles();
+    if (cap > 0) {
+      double step = Math.max(1, (double) positions.length / cap);
+      for (double c = 0; c < positions.length; c += step) {
+        world.addBlockBreakParticles(BlockPos.fromLong(positions[(int) c]), Block.getStateFromRawId(states[(int) c]));
+      }
+    }
+  }
+}
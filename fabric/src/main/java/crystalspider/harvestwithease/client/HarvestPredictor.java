@@ -0,0 +1,202 @@
+package crystalspider.harvestwithease.client;
+
+import crystalspider.harvestwithease.handler.PredictedChange;
+import crystalspider.harvestwithease.handler.UseBlockHandler;
+import crystalspider.harvestwithease.network.HarvestAckPacket;
+import crystalspider.harvestwithease.network.HarvestPredictionPacket;
+import it.unimi.dsi.fastutil.ints.Int2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.longs.LongSets;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
+import net.fabricmc.fabric.api.networking.v1.PacketSender;
+import net.minecraft.block.Block;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.network.ClientPlayNetworkHandler;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.util.Hand;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Shows harvests right away on the client, before the server performs them, and rolls back what the server did not actually harvest.
+ * <p>
+ * Each prediction gets a sequence number, announced to the server right before the interaction it stands for.
+ * Predicted changes are applied once the interaction is sent, outside of the vanilla block prediction, so that only the server acknowledgement settles them:
+ * changes of crops the server did not harvest are reverted, unless the server changed the block in the meantime.
+ * Predictions the server never acknowledges are rolled back after {@link #TIMEOUT} ticks.
+ * <p>
+ * Only ever accessed from the client thread.
+ */
+@Environment(EnvType.CLIENT)
+public final class HarvestPredictor {
+  /**
+   * Ticks after which predictions the server did not acknowledge are rolled back.
+   */
+  private static final long TIMEOUT = 100;
+  /**
+   * Flags used to set predicted and rolled back block states, same as the vanilla block prediction.
+   */
+  private static final int FLAGS = Block.NOTIFY_ALL | Block.REDRAW_ON_MAIN_THREAD;
+
+  /**
+   * Pending predictions by sequence number.
+   */
+  private static final Int2ObjectMap<Prediction> PREDICTIONS = new Int2ObjectLinkedOpenHashMap<>();
+
+  /**
+   * Last sequence number used.
+   */
+  private static int sequence = 0;
+
+  private HarvestPredictor() {
+  }
+
+  /**
+   * Whether the server can acknowledge predictions, that is whether it has this mod.
+   *
+   * @return whether to predict harvests.
+   */
+  private static boolean isAvailable() {
+    return MinecraftClient.getInstance().getNetworkHandler() != null && ClientPlayNetworking.canSend(HarvestPredictionPacket.ID);
+  }
+
+  /**
+   * Announces a prediction to the server and applies it as soon as the interaction it stands for is sent.
+   * Nothing is predicted, not even computed, if the server does not have this mod.
+   * <p>
+   * Registered as the {@link UseBlockHandler.Predictor} by the client mod loader.
+   *
+   * @param world client {@link World}.
+   * @param pos {@link BlockPos} of the right-clicked crop.
+   * @param hand {@link Hand} used to harvest.
+   * @param prediction computes the {@link PredictedChange predicted changes}.
+   */
+  public static void predict(World world, BlockPos pos, Hand hand, Supplier<List<PredictedChange>> prediction) {
+    if (!isAvailable()) {
+      return;
+    }
+    List<PredictedChange> changes = prediction.get();
+    sequence = (sequence + 1) & Integer.MAX_VALUE;
+    PREDICTIONS.put(sequence, new Prediction(world, changes, world.getTime() + TIMEOUT));
+    ClientPlayNetworking.send(HarvestPredictionPacket.ID, HarvestPredictionPacket.write(sequence, pos, hand));
+    MinecraftClient.getInstance().send(() -> {
+      if (MinecraftClient.getInstance().world == world) {
+        for (PredictedChange change : changes) {
+          if (world.getBlockState(change.pos()) == change.original()) {
+            world.setBlockState(change.pos(), change.predicted(), FLAGS);
+          }
+        }
+      }
+    });
+  }
+
+  /**
+   * Handles the {@link HarvestAckPacket} received through {@link ClientPlayNetworking}.
+   * Reads the packet right away and settles the prediction it acknowledges on the client thread.
+   *
+   * @param client {@link MinecraftClient}.
+   * @param handler {@link ClientPlayNetworkHandler} that received the packet.
+   * @param buffer {@link PacketByteBuf} of the packet.
+   * @param responseSender {@link PacketSender}.
+   */
+  public static void handle(MinecraftClient client, ClientPlayNetworkHandler handler, PacketByteBuf buffer, PacketSender responseSender) {
+    HarvestAckPacket packet = HarvestAckPacket.read(buffer);
+    client.execute(() -> acknowledge(packet.sequence(), packet.done(), packet.harvested()));
+  }
+
+  /**
+   * Rolls back the predictions the server did not acknowledge in time and forgets the ones of other worlds.
+   *
+   * @param client {@link MinecraftClient} that just ticked.
+   */
+  public static void tick(MinecraftClient client) {
+    if (PREDICTIONS.isEmpty()) {
+      return;
+    }
+    World world = client.world;
+    for (Iterator<Prediction> iterator = PREDICTIONS.values().iterator(); iterator.hasNext(); ) {
+      Prediction prediction = iterator.next();
+      if (prediction.world != world) {
+        iterator.remove();
+      } else if (!prediction.accepted && world.getTime() >= prediction.expiresAt) {
+        rollback(prediction, LongSets.EMPTY_SET);
+        iterator.remove();
+      }
+    }
+  }
+
+  /**
+   * Settles the prediction with the given sequence number.
+   *
+   * @param sequence sequence number of the prediction.
+   * @param done whether the harvest is over, otherwise it just started and is going to be acknowledged again.
+   * @param harvested {@link BlockPos#asLong() packed positions} of the harvested crops.
+   */
+  private static void acknowledge(int sequence, boolean done, long[] harvested) {
+    Prediction prediction = done ? PREDICTIONS.remove(sequence) : PREDICTIONS.get(sequence);
+    if (prediction != null) {
+      if (done) {
+        rollback(prediction, new LongOpenHashSet(harvested));
+      } else {
+        prediction.accepted = true;
+      }
+    }
+  }
+
+  /**
+   * Reverts the changes of the crops that were not harvested, unless the server changed the block in the meantime.
+   *
+   * @param prediction {@link Prediction} to roll back.
+   * @param harvested {@link BlockPos#asLong() packed positions} of the harvested crops.
+   */
+  private static void rollback(Prediction prediction, LongSet harvested) {
+    if (MinecraftClient.getInstance().world == prediction.world) {
+      for (PredictedChange change : prediction.changes) {
+        if (!harvested.contains(change.crop().asLong()) && prediction.world.getBlockState(change.pos()) == change.predicted()) {
+          prediction.world.setBlockState(change.pos(), change.original(), FLAGS);
+        }
+      }
+    }
+  }
+
+  /**
+   * Pending prediction.
+   */
+  private static final class Prediction {
+    /**
+     * {@link World} of the prediction.
+     */
+    private final World world;
+    /**
+     * {@link PredictedChange Predicted changes}.
+     */
+    private final List<PredictedChange> changes;
+    /**
+     * World time after which the prediction is rolled back, unless {@link #accepted}.
+     */
+    private final long expiresAt;
+    /**
+     * Whether the server started the harvest and is going to acknowledge it again once done.
+     */
+    private boolean accepted = false;
+
+    /**
+     * @param world {@link #world}.
+     * @param changes {@link #changes}.
+     * @param expiresAt {@link #expiresAt}.
+     */
+    private Prediction(World world, List<PredictedChange> changes, long expiresAt) {
+      this.world = world;
+      this.changes = changes;
+      this.expiresAt = expiresAt;
+    }
+  }
+}
@@ -0,0 +1,20 @@
+package crystalspider.harvestwithease.config;
+
+/**
+ * Multi-harvest area shape.
+ */
+public enum AreaShape {
+  /**
+   * Square centered on the right-clicked crop, sized by tool tier.
+   */
+  SQUARE,
+  /**
+   * Connected field of mature crops of the same kind as the right-clicked one, up to a cap.
+   */
+  FIELD;
+
+  @Override
+  public String toString() {
+    return name().toLowerCase();
+  }
+}
@@ -0,0 +1,15 @@
+package crystalspider.harvestwithease.handler;
+
+import crystalspider.harvestwithease.api.event.HarvestWithEaseEvents;
+import net.minecraft.item.ItemStack;
+
+import java.util.List;
+
+/**
+ * Drops resulting from harvesting a crop.
+ *
+ * @param stacks {@link ItemStack stacks} to drop.
+ * @param custom whether {@link HarvestWithEaseEvents#HARVEST_DROPS} listeners have changed the drops to drop.
+ */
+record CropDrops(List<ItemStack> stacks, boolean custom) {
+}
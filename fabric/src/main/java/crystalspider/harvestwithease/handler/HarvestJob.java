@@ -0,0 +1,388 @@
+package crystalspider.harvestwithease.handler;
+
+import crystalspider.harvestwithease.api.CropProfile;
+import crystalspider.harvestwithease.api.event.HarvestWithEaseEvents;
+import crystalspider.harvestwithease.config.AreaShape;
+import crystalspider.harvestwithease.config.CompiledConfig;
+import crystalspider.harvestwithease.util.AreaScanner;
+import crystalspider.harvestwithease.util.BlockUpdateBatch;
+import crystalspider.harvestwithease.util.CropDiscovery;
+import crystalspider.harvestwithease.util.DropsDelivery;
+import crystalspider.harvestwithease.util.PredictionAcks;
+import net.minecraft.block.BlockState;
+import net.minecraft.item.ItemStack;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.state.property.IntProperty;
+import net.minecraft.util.Hand;
+import net.minecraft.util.hit.BlockHitResult;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Multi-harvest of the area around a right-clicked crop, either a square or, in {@link AreaShape#FIELD field} shape, the field of crops connected to it.
+ * <p>
+ * The right-clicked crop is harvested as soon as the job is created, the rest of the area is harvested either {@link #runAll() all at once}
+ * or {@link #run(int) a few positions at a time} by the {@link HarvestScheduler}, in which case crops are visited in spiral order (breadth first for fields) starting from the right-clicked one.
+ * Square areas harvested a few positions at a time are first {@link CropDiscovery discovered} off the server thread, so that each tick only goes through mature crops.
+ * Either way the same crops are harvested and, in {@link CompiledConfig#batchHarvest() batch mode}, their side effects are applied once when the job {@link #finish() finishes}.
+ * Outside batch mode, the drops of the crops are held back until the job finishes while the {@link HarvestWithEaseEvents#AREA_HARVEST_DROPS} event has listeners.
+ * Jobs run over several ticks stop as soon as the player no longer holds the {@link #tool} they started with, so that the whole area is harvested with, and damages, that very tool.
+ * <p>
+ * {@link HarvestWithEaseEvents#AREA_HARVEST_PRE Area events} are fired once for the whole job, on top of the per-crop events unless {@link HarvestWithEaseEvents.AreaHarvestPreEvent#skipCropEvents() skipped}.
+ */
+final class HarvestJob {
+  /**
+   * {@link CompiledConfig} snapshot to use for the whole harvest.
+   */
+  final CompiledConfig config;
+  /**
+   * {@link ServerWorld world}.
+   */
+  final ServerWorld world;
+  /**
+   * {@link ServerPlayerEntity player} harvesting the crops.
+   */
+  final ServerPlayerEntity player;
+  /**
+   * {@link BlockState} of the right-clicked crop.
+   */
+  private final BlockState blockState;
+  /**
+   * {@link BlockPos} of the right-clicked crop.
+   */
+  private final BlockPos blockPos;
+  /**
+   * Multi-harvest radius.
+   */
+  private final int radius;
+  /**
+   * Clicked {@link Direction face} of the right-clicked crop.
+   */
+  private final Direction face;
+  /**
+   * {@link Hand hand} used to harvest.
+   */
+  private final Hand hand;
+  /**
+   * Whether to fire the per-crop events for the crops of the area, {@code false} if {@link HarvestWithEaseEvents.AreaHarvestPreEvent#skipCropEvents() skipped}.
+   */
+  private final boolean cropEvents;
+  /**
+   * {@link ItemStack} held in the {@link #hand} when the job was submitted, the only one harvesting the area and taking the damage.
+   */
+  private final ItemStack tool;
+  /**
+   * Sequence number of the client prediction of this harvest, {@link PredictionAcks#NONE} if none.
+   */
+  private final int sequence;
+  /**
+   * Base {@link BlockPos} of the right-clicked crop, where batched side effects are applied.
+   */
+  private final BlockPos basePos;
+  /**
+   * {@link BlockState} at {@link #basePos} before harvesting.
+   */
+  private final BlockState baseState;
+  /**
+   * {@link BlockUpdateBatch} coalescing the updates of the crops harvested in the area.
+   */
+  private final BlockUpdateBatch updates;
+  /**
+   * Merged drops of all harvested crops, {@code null} when not in {@link CompiledConfig#batchHarvest() batch mode}.
+   */
+  @Nullable
+  private final List<ItemStack> drops;
+  /**
+   * Drops of each harvested crop, held back until the {@link HarvestWithEaseEvents#AREA_HARVEST_DROPS} event has fired,
+   * {@code null} in {@link CompiledConfig#batchHarvest() batch mode} or when nothing listens to the event.
+   */
+  @Nullable
+  private final List<HeldDrops> held;
+  /**
+   * {@link DropsDelivery.NearbyItems} of the area, {@code null} for {@link AreaShape#FIELD fields} whose bounds are not known in advance.
+   */
+  @Nullable
+  private final DropsDelivery.NearbyItems nearby;
+  /**
+   * {@link BlockPos Positions} of the harvested crops, the right-clicked one first.
+   */
+  private final List<BlockPos> positions = new ArrayList<>();
+  /**
+   * {@link AreaScanner.Scan Scan} of the area, created when {@link #prepare() preparing} the job or on the first {@link #run(int) run}.
+   */
+  @Nullable
+  private AreaScanner.Scan scan = null;
+  /**
+   * Amount of crops harvested in {@link CompiledConfig#batchHarvest() batch mode}.
+   */
+  private int harvested = 0;
+  /**
+   * Whether the job was {@link #cancel() cancelled}.
+   */
+  private boolean cancelled = false;
+
+  /**
+   * Creates the job and harvests the right-clicked crop.
+   * The rest of the area is skipped if an {@link HarvestWithEaseEvents#AREA_HARVEST_PRE} listener says so, and so are the per-crop events of the whole area if a listener {@link HarvestWithEaseEvents.AreaHarvestPreEvent#skipCropEvents() skips them}.
+   *
+   * @param config {@link #config}.
+   * @param world {@link #world}.
+   * @param age {@link IntProperty age} of the right-clicked crop.
+   * @param blockState {@link #blockState}.
+   * @param blockPos {@link #blockPos}.
+   * @param radius {@link #radius}.
+   * @param face {@link #face}.
+   * @param hitResult {@link BlockHitResult} of the right-click.
+   * @param player {@link #player}.
+   * @param hand {@link #hand}.
+   * @param sequence {@link #sequence}.
+   */
+  HarvestJob(CompiledConfig config, ServerWorld world, IntProperty age, BlockState blockState, BlockPos blockPos, int radius, Direction face, BlockHitResult hitResult, ServerPlayerEntity player, Hand hand, int sequence) {
+    this.config = config;
+    this.world = world;
+    this.player = player;
+    this.blockState = blockState;
+    this.blockPos = blockPos;
+    this.radius = radius;
+    this.face = face;
+    this.hand = hand;
+    this.tool = player.getStackInHand(hand);
+    this.sequence = sequence;
+    this.basePos = UseBlockHandler.getBasePos(world, blockState.getBlock(), blockPos);
+    this.baseState = world.getBlockState(basePos);
+    this.updates = new BlockUpdateBatch(world);
+    this.nearby = config.areaShape() == AreaShape.FIELD ? null : new DropsDelivery.NearbyItems(world, blockPos, radius);
+    if (HarvestWithEaseEvents.hasListeners(HarvestWithEaseEvents.AREA_HARVEST_PRE)) {
+      HarvestWithEaseEvents.AreaHarvestPreEvent pre = new HarvestWithEaseEvents.AreaHarvestPreEvent();
+      this.cancelled = !HarvestWithEaseEvents.AREA_HARVEST_PRE.invoker().beforeAreaHarvest(world, blockState, blockPos, player, hand, pre);
+      this.cropEvents = pre.haveCropEvents();
+    } else {
+      this.cropEvents = true;
+    }
+    if (config.batchHarvest()) {
+      this.drops = new ArrayList<>();
+      this.held = null;
+      harvestInBatch(age, blockState, blockPos, hitResult, null);
+    } else {
+      this.drops = null;
+      this.held = HarvestWithEaseEvents.hasListeners(HarvestWithEaseEvents.AREA_HARVEST_DROPS) ? new ArrayList<>() : null;
+      UseBlockHandler.harvest(config, world, age, blockState, blockPos, face, hitResult, player, hand, cropEvents, null, held, nearby);
+    }
+    positions.add(blockPos);
+  }
+
+  /**
+   * Returns the amount of positions in the area, the right-clicked crop excluded.
+   * <p>
+   * The positions of a {@link AreaShape#FIELD field} are not known in advance, the amount of crops it can hold is returned instead.
+   *
+   * @return the amount of positions left to scan before any {@link #run(int) run}.
+   */
+  long size() {
+    if (config.areaShape() == AreaShape.FIELD) {
+      return config.fieldHarvestCap() - 1;
+    }
+    long side = 2L * radius + 1;
+    return side * side - 1;
+  }
+
+  /**
+   * Harvests the whole area at once.
+   */
+  void runAll() {
+    if (cancelled) {
+      return;
+    }
+    try {
+      if (config.areaShape() == AreaShape.FIELD) {
+        createScan().scan(Integer.MAX_VALUE, this::visit);
+      } else {
+        AreaScanner.scan(world, blockPos, radius, this::visit);
+      }
+    } finally {
+      updates.flush();
+    }
+  }
+
+  /**
+   * Prepares the job to be {@link #run(int) run} over the next ticks, starting the discovery of the crops of square areas.
+   */
+  void prepare() {
+    if (!cancelled && scan == null) {
+      scan = createScan();
+    }
+  }
+
+  /**
+   * Whether this job can make progress right now, rather than waiting for its {@link CropDiscovery discovery} to complete.
+   *
+   * @return whether this job is ready to {@link #run(int) run}.
+   */
+  boolean isReady() {
+    return scan == null || scan.isReady() || isDone();
+  }
+
+  /**
+   * Harvests the next positions of the area in spiral order, or breadth first for {@link AreaShape#FIELD fields}.
+   * <p>
+   * Square areas only go through the positions where mature crops were discovered.
+   *
+   * @param budget maximum amount of positions to go through.
+   * @return the amount of positions gone through.
+   */
+  int run(int budget) {
+    if (!canContinue()) {
+      return 0;
+    }
+    if (scan == null) {
+      scan = createScan();
+    }
+    try {
+      return scan.scan(budget, this::visit);
+    } finally {
+      updates.flush();
+    }
+  }
+
+  /**
+   * Creates a new {@link AreaScanner.Scan scan} of the area, according to the {@link CompiledConfig#areaShape() area shape}.
+   * <p>
+   * Fields are flood filled on the server thread, since where the fill goes next depends on the crops it finds.
+   *
+   * @return new {@link AreaScanner.Scan}.
+   */
+  private AreaScanner.Scan createScan() {
+    if (config.areaShape() == AreaShape.FIELD) {
+      return new AreaScanner.Field(world, blockPos, blockState.getBlock(), config.fieldHarvestCap() - 1, config.fieldVerticalRange());
+    }
+    return new AreaScanner.Candidates(world, blockPos, radius);
+  }
+
+  /**
+   * Whether this job has nothing left to harvest.
+   *
+   * @return whether this job is done.
+   */
+  boolean isDone() {
+    return !canContinue() || (scan != null && !scan.hasNext());
+  }
+
+  /**
+   * Whether this job can keep harvesting: it was not {@link #cancel() cancelled}, the player is still connected and alive and still holds the {@link #tool}.
+   *
+   * @return whether this job can keep harvesting.
+   */
+  private boolean canContinue() {
+    return !cancelled && !player.isDisconnected() && player.isAlive() && player.getStackInHand(hand) == tool;
+  }
+
+  /**
+   * Stops this job, the crops harvested so far are kept.
+   */
+  void cancel() {
+    cancelled = true;
+  }
+
+  /**
+   * Applies the side effects of a {@link CompiledConfig#batchHarvest() batch} harvest, if any, drops the {@link #held} drops, if any,
+   * fires the {@link HarvestWithEaseEvents#AREA_HARVEST_POST} event and {@link PredictionAcks#confirm confirms} the harvested crops to the client.
+   * Must be called exactly once, after the last {@link #run(int) run}.
+   */
+  void finish() {
+    if (drops != null) {
+      UseBlockHandler.grantExp(config, world, player, basePos, harvested);
+      UseBlockHandler.damageHoe(config, player, hand, tool, harvested);
+      if (HarvestWithEaseEvents.hasListeners(HarvestWithEaseEvents.AREA_HARVEST_DROPS)) {
+        HarvestWithEaseEvents.AreaHarvestDropsEvent event = new HarvestWithEaseEvents.AreaHarvestDropsEvent(drops);
+        HarvestWithEaseEvents.AREA_HARVEST_DROPS.invoker().getAreaDrops(world, blockState, blockPos, Collections.unmodifiableList(positions), player, hand, event);
+        if (!event.isCanceled()) {
+          UseBlockHandler.dropStacks(config, world, baseState, basePos, face, player, event.getFinalDrops(), nearby);
+        }
+      } else {
+        UseBlockHandler.dropStacks(config, world, baseState, basePos, face, player, drops, nearby);
+      }
+      UseBlockHandler.playSound(config, world, player, blockState, blockPos);
+    } else if (held != null) {
+      dropHeld();
+    }
+    if (HarvestWithEaseEvents.hasListeners(HarvestWithEaseEvents.AREA_HARVEST_POST)) {
+      HarvestWithEaseEvents.AREA_HARVEST_POST.invoker().afterAreaHarvest(world, blockState, blockPos, Collections.unmodifiableList(positions), player, hand);
+    }
+    PredictionAcks.confirm(player, sequence, positions);
+  }
+
+  /**
+   * Fires the {@link HarvestWithEaseEvents#AREA_HARVEST_DROPS} event with the {@link #held} drops merged together, then drops them unless the event is canceled:
+   * each crop its own if listeners left the merged drops unchanged, the final drops at the right-clicked crop otherwise.
+   */
+  private void dropHeld() {
+    List<ItemStack> merged = new ArrayList<>();
+    for (HeldDrops crop : held) {
+      for (ItemStack stack : crop.stacks()) {
+        DropsDelivery.merge(merged, stack.copy());
+      }
+    }
+    HarvestWithEaseEvents.AreaHarvestDropsEvent event = new HarvestWithEaseEvents.AreaHarvestDropsEvent(merged);
+    HarvestWithEaseEvents.AREA_HARVEST_DROPS.invoker().getAreaDrops(world, blockState, blockPos, Collections.unmodifiableList(positions), player, hand, event);
+    if (event.isCanceled()) {
+      return;
+    }
+    if (event.haveDropsChanged()) {
+      UseBlockHandler.dropStacks(config, world, baseState, basePos, face, player, event.getFinalDrops(), nearby);
+    } else {
+      for (HeldDrops crop : held) {
+        UseBlockHandler.dropStacks(config, world, crop.state(), crop.pos(), face, player, crop.stacks(), nearby);
+      }
+    }
+  }
+
+  /**
+   * Harvests the given crop found in the area, if possible.
+   *
+   * @param pos {@link BlockPos.Mutable mutable position} of the crop.
+   * @param state {@link BlockState} of the crop.
+   * @param crop {@link CropProfile} of the crop.
+   */
+  private void visit(BlockPos.Mutable pos, BlockState state, CropProfile crop) {
+    BlockPos cropPos = pos.toImmutable();
+    if (UseBlockHandler.canHarvest(world, state, cropPos, player, hand, false) && crop.isMature(state)) {
+      if (drops != null) {
+        harvestInBatch(crop.age(), state, cropPos, null, updates);
+      } else {
+        UseBlockHandler.harvest(config, world, crop.age(), state, cropPos, face, null, player, hand, cropEvents, updates, held, nearby);
+      }
+      positions.add(cropPos);
+    }
+  }
+
+  /**
+   * Harvests the given crop, dispatching its events and updating it in the world, but merging its drops and deferring all other side effects to {@link #finish()}.
+   *
+   * @param age {@link IntProperty age} of the crop.
+   * @param state {@link BlockState} of the crop.
+   * @param pos {@link BlockPos} of the crop.
+   * @param hitResult {@link BlockHitResult} of the right-click, {@code null} if the crop is not the right-clicked one.
+   * @param updates {@link BlockUpdateBatch} to coalesce the crop update into, {@code null} to update it right away.
+   */
+  private void harvestInBatch(IntProperty age, BlockState state, BlockPos pos, @Nullable BlockHitResult hitResult, @Nullable BlockUpdateBatch updates) {
+    if (cropEvents && HarvestWithEaseEvents.hasListeners(HarvestWithEaseEvents.BEFORE_HARVEST)) {
+      HarvestWithEaseEvents.BEFORE_HARVEST.invoker().beforeHarvest(world, state, pos, face, hitResult, player, hand, hitResult != null);
+    }
+    BlockPos cropBasePos = UseBlockHandler.getBasePos(world, state.getBlock(), pos);
+    CropDrops cropDrops = UseBlockHandler.collectDrops(world, world.getBlockState(cropBasePos), cropBasePos, face, hitResult, player, hand, cropEvents);
+    for (ItemStack stack : cropDrops.stacks()) {
+      DropsDelivery.merge(drops, stack);
+    }
+    UseBlockHandler.updateCrop(world, age, state.getBlock(), cropBasePos, player, cropDrops.custom(), updates);
+    if (cropEvents && HarvestWithEaseEvents.hasListeners(HarvestWithEaseEvents.AFTER_HARVEST)) {
+      HarvestWithEaseEvents.AFTER_HARVEST.invoker().afterHarvest(world, state, pos, face, hitResult, player, hand, hitResult != null);
+    }
+    harvested++;
+  }
+}
@@ -0,0 +1,18 @@
+package crystalspider.harvestwithease.handler;
+
+import crystalspider.harvestwithease.api.event.HarvestWithEaseEvents;
+import net.minecraft.block.BlockState;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.List;
+
+/**
+ * Drops of a crop harvested by a multi-harvest outside batch mode, held back until the {@link HarvestWithEaseEvents#AREA_HARVEST_DROPS} event has fired.
+ *
+ * @param state {@link BlockState} of the crop base before it was harvested.
+ * @param pos {@link BlockPos} of the crop base.
+ * @param stacks {@link ItemStack stacks} to drop, not to be changed.
+ */
+record HeldDrops(BlockState state, BlockPos pos, List<ItemStack> stacks) {
+}
@@ -0,0 +1,36 @@
+package crystalspider.harvestwithease.handler;
+
+import crystalspider.harvestwithease.api.CropTable;
+import crystalspider.harvestwithease.config.ModConfig;
+import fuzs.forgeconfigapiport.api.config.v3.ModConfigEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.CommonLifecycleEvents;
+import net.minecraft.registry.DynamicRegistryManager;
+
+/**
+ * {@link ModConfigEvents} and {@link CommonLifecycleEvents#TAGS_LOADED} event handler.
+ * Handles configuration (re)loading and tags reloading to refresh everything that's derived from them.
+ */
+public final class ReloadHandler {
+  /**
+   * Handles both {@link ModConfigEvents#loading(String)} and {@link ModConfigEvents#reloading(String)} events.
+   * Compiles a new {@link ModConfig#getCompiled() configuration snapshot} and invalidates the {@link CropTable}.
+   *
+   * @param config {@link net.neoforged.fml.config.ModConfig ModConfig} being (re)loaded.
+   */
+  public static void handle(net.neoforged.fml.config.ModConfig config) {
+    ModConfig.compile();
+    CropTable.invalidate();
+  }
+
+  /**
+   * Handles the {@link CommonLifecycleEvents#TAGS_LOADED} event.
+   * Compiles a new {@link ModConfig#getCompiled() configuration snapshot} and invalidates the {@link CropTable}.
+   *
+   * @param registries {@link DynamicRegistryManager} of the loaded tags.
+   * @param client whether the tags were loaded on the client.
+   */
+  public static void handle(DynamicRegistryManager registries, boolean client) {
+    ModConfig.compile();
+    CropTable.invalidate();
+  }
+}
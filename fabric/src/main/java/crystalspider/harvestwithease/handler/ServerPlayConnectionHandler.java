@@ -0,0 +1,39 @@
+package crystalspider.harvestwithease.handler;
+
+import crystalspider.harvestwithease.util.ConfigSync;
+import crystalspider.harvestwithease.util.HarvestRateLimiter;
+import crystalspider.harvestwithease.util.PredictionAcks;
+import net.fabricmc.fabric.api.networking.v1.PacketSender;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayNetworkHandler;
+
+/**
+ * {@link ServerPlayConnectionEvents#JOIN} and {@link ServerPlayConnectionEvents#DISCONNECT} event handler.
+ * Handles players joining to sync the harvest configuration to them and players disconnecting to forget the harvest prediction they left pending and their rate limit bucket.
+ */
+public final class ServerPlayConnectionHandler {
+  /**
+   * Handles the {@link ServerPlayConnectionEvents#JOIN} event.
+   * Lets the {@link ConfigSync} send the current harvest configuration to the player.
+   *
+   * @param handler {@link ServerPlayNetworkHandler} of the joining player.
+   * @param sender {@link PacketSender}.
+   * @param server {@link MinecraftServer}.
+   */
+  public static void handle(ServerPlayNetworkHandler handler, PacketSender sender, MinecraftServer server) {
+    ConfigSync.send(handler.player);
+  }
+
+  /**
+   * Handles the {@link ServerPlayConnectionEvents#DISCONNECT} event.
+   * Lets the {@link PredictionAcks} forget the prediction the player announced and no harvest claimed, and the {@link HarvestRateLimiter} the bucket of the player.
+   *
+   * @param handler {@link ServerPlayNetworkHandler} of the disconnecting player.
+   * @param server {@link MinecraftServer}.
+   */
+  public static void handle(ServerPlayNetworkHandler handler, MinecraftServer server) {
+    PredictionAcks.forget(handler.player);
+    HarvestRateLimiter.forget(handler.player);
+  }
+}
@@ -0,0 +1,21 @@
+package crystalspider.harvestwithease.handler;
+
+import crystalspider.harvestwithease.util.ConfigSync;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.server.MinecraftServer;
+
+/**
+ * {@link ServerTickEvents#END_SERVER_TICK} event handler.
+ * Handles server ticking to sync configuration changes.
+ */
+public final class ServerTickHandler {
+  /**
+   * Handles the {@link ServerTickEvents#END_SERVER_TICK} event.
+   * Once all worlds ticked, lets the {@link ConfigSync} send the harvest configuration to the players if it changed.
+   *
+   * @param server {@link MinecraftServer} that just ticked.
+   */
+  public static void handle(MinecraftServer server) {
+    ConfigSync.flush(server);
+  }
+}
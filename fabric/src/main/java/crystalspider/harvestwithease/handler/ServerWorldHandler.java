@@ -0,0 +1,49 @@
+package crystalspider.harvestwithease.handler;
+
+import crystalspider.harvestwithease.config.CompiledConfig;
+import crystalspider.harvestwithease.config.ExpDelivery;
+import crystalspider.harvestwithease.config.ModConfig;
+import crystalspider.harvestwithease.util.ExperienceAccumulator;
+import crystalspider.harvestwithease.util.HarvestEffects;
+import crystalspider.harvestwithease.util.SoundCoalescer;
+import crystalspider.harvestwithease.util.StorageLocator;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.world.ServerWorld;
+
+/**
+ * {@link ServerTickEvents#END_WORLD_TICK} and {@link ServerWorldEvents#UNLOAD} event handler.
+ * Handles server world ticking and unloading to work through pending multi-harvests, grant the experience, play the sounds, send the break effects they accumulated and drop cached storage lookups.
+ */
+public final class ServerWorldHandler {
+  /**
+   * Handles the {@link ServerTickEvents#END_WORLD_TICK} event.
+   * Lets the {@link HarvestScheduler} work through, within the budget of a single configuration snapshot, the pending multi-harvests of the world,
+   * then lets the {@link ExperienceAccumulator} grant the experience, the {@link SoundCoalescer} play the sounds and the {@link HarvestEffects} send the break effects of all the harvests of the tick.
+   *
+   * @param world {@link ServerWorld} that just ticked.
+   */
+  public static void handle(ServerWorld world) {
+    CompiledConfig config = ModConfig.getCompiled();
+    HarvestScheduler.tick(world, config);
+    ExperienceAccumulator.flush(world, config.expDelivery() == ExpDelivery.DIRECT);
+    SoundCoalescer.flush(world, config.soundsPerHarvest());
+    HarvestEffects.flush(world);
+  }
+
+  /**
+   * Handles the {@link ServerWorldEvents#UNLOAD} event.
+   * Lets the {@link HarvestScheduler} finish the pending multi-harvests of the unloading world, then lets the {@link ExperienceAccumulator} grant the pending experience and the {@link StorageLocator} forget its lookups.
+   *
+   * @param server {@link MinecraftServer} unloading the world.
+   * @param world {@link ServerWorld} being unloaded.
+   */
+  public static void handle(MinecraftServer server, ServerWorld world) {
+    HarvestScheduler.unload(world);
+    ExperienceAccumulator.unload(world, ModConfig.getCompiled().expDelivery() == ExpDelivery.DIRECT);
+    SoundCoalescer.unload(world);
+    HarvestEffects.unload(world);
+    StorageLocator.unload(world);
+  }
+}
@@ -0,0 +1,36 @@
+package crystalspider.harvestwithease.handler;
+
+import crystalspider.harvestwithease.util.StorageLocator;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerBlockEntityEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.world.chunk.WorldChunk;
+
+/**
+ * {@link ServerBlockEntityEvents#BLOCK_ENTITY_LOAD}, {@link ServerBlockEntityEvents#BLOCK_ENTITY_UNLOAD} and {@link ServerChunkEvents#CHUNK_UNLOAD} event handler.
+ * Handles block entity and chunk changes to keep the storage lookups up to date.
+ */
+public final class StorageCacheHandler {
+  /**
+   * Handles the {@link ServerBlockEntityEvents#BLOCK_ENTITY_LOAD} and {@link ServerBlockEntityEvents#BLOCK_ENTITY_UNLOAD} events.
+   * Lets the {@link StorageLocator} forget the lookups the block entity may affect.
+   *
+   * @param blockEntity {@link BlockEntity} being loaded or unloaded.
+   * @param world {@link ServerWorld} of the block entity.
+   */
+  public static void handle(BlockEntity blockEntity, ServerWorld world) {
+    StorageLocator.invalidate(world, blockEntity.getPos());
+  }
+
+  /**
+   * Handles the {@link ServerChunkEvents#CHUNK_UNLOAD} event.
+   * Lets the {@link StorageLocator} forget the lookups of the crops in the unloading chunk.
+   *
+   * @param world {@link ServerWorld} of the chunk.
+   * @param chunk unloading {@link WorldChunk}.
+   */
+  public static void handle(ServerWorld world, WorldChunk chunk) {
+    StorageLocator.invalidate(world, chunk.getPos());
+  }
+}
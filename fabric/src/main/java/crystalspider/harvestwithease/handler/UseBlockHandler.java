@@ -1,18 +1,31 @@
 package crystalspider.harvestwithease.handler;
 
+import crystalspider.harvestwithease.api.CropProfile;
 import crystalspider.harvestwithease.api.HarvestWithEaseAPI;
+import crystalspider.harvestwithease.api.ToolProfile;
+import crystalspider.harvestwithease.api.ToolTable;
 import crystalspider.harvestwithease.api.event.HarvestWithEaseEvents;
 import crystalspider.harvestwithease.api.event.HarvestWithEaseEvents.HarvestDrops;
+import crystalspider.harvestwithease.config.AreaShape;
+import crystalspider.harvestwithease.config.CompiledConfig;
+import crystalspider.harvestwithease.config.DropsDestination;
 import crystalspider.harvestwithease.config.ModConfig;
+import crystalspider.harvestwithease.util.AreaScanner;
+import crystalspider.harvestwithease.util.BlockUpdateBatch;
+import crystalspider.harvestwithease.util.Diagnostics;
+import crystalspider.harvestwithease.util.Diagnostics.Counter;
+import crystalspider.harvestwithease.util.DropsDelivery;
+import crystalspider.harvestwithease.util.ExperienceAccumulator;
+import crystalspider.harvestwithease.util.HarvestEffects;
+import crystalspider.harvestwithease.util.HarvestRateLimiter;
+import crystalspider.harvestwithease.util.PredictionAcks;
+import crystalspider.harvestwithease.util.SoundCoalescer;
 import net.fabricmc.fabric.api.event.player.UseBlockCallback;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.Blocks;
-import net.minecraft.entity.ExperienceOrbEntity;
 import net.minecraft.entity.player.PlayerEntity;
-import net.minecraft.item.HoeItem;
 import net.minecraft.item.ItemStack;
-import net.minecraft.item.ToolItem;
 import net.minecraft.registry.Registries;
 import net.minecraft.registry.tag.BlockTags;
 import net.minecraft.server.network.ServerPlayerEntity;
@@ -23,20 +36,17 @@ import net.minecraft.state.property.IntProperty;
 import net.minecraft.util.ActionResult;
 import net.minecraft.util.Hand;
 import net.minecraft.util.hit.BlockHitResult;
-import net.minecraft.util.math.BlockBox;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
-import net.minecraft.util.math.Vec3d;
 import net.minecraft.util.shape.VoxelShapes;
 import net.minecraft.world.GameRules;
 import net.minecraft.world.World;
 import org.jetbrains.annotations.Nullable;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.NoSuchElementException;
-
-import static crystalspider.harvestwithease.ModLoader.MOD_ID;
+import java.util.function.Supplier;
 
 /**
  * {@link UseBlockCallback} event handler.
@@ -45,17 +55,33 @@ import static crystalspider.harvestwithease.ModLoader.MOD_ID;
  */
 public final class UseBlockHandler {
   /**
-   * Logger.
+   * {@link Predictor} showing client side harvests right away, {@link #setPredictor(Predictor) registered} by the client mod loader.
+   * <p>
+   * {@code null} on dedicated servers, so that no client class is ever reached from here.
    */
-  private static final Logger LOGGER = LoggerFactory.getLogger(MOD_ID);
+  @Nullable
+  private static Predictor predictor = null;
+
+  /**
+   * Registers the {@link Predictor} showing client side harvests right away.
+   *
+   * @param predictor {@link #predictor}.
+   */
+  public static void setPredictor(Predictor predictor) {
+    UseBlockHandler.predictor = predictor;
+  }
 
   /**
    * Handles the event {@link UseBlockCallback}.
    * Will cancel further event processing only if the {@link PlayerEntity player}
    * is not in spectator mode,
    * is not crouching,
-   * is holding the correct item (depends on {@link ModConfig#getRequireHoe() requireHoe})
+   * is holding the correct item (depends on {@link CompiledConfig#requireHoe() requireHoe})
    * and the interaction involves a fully grown crop.
+   * <p>
+   * Client side, the harvest is {@link Predictor predicted} when the server has this mod.
+   * Server side, predictions are {@link PredictionAcks acknowledged}, or rejected if the interaction does not harvest anything,
+   * and right-clicks on crops go through the {@link HarvestRateLimiter} before any harvest or area work.
    *
    * @param player {@link PlayerEntity player} executing the action.
    * @param world {@link World world} where the event is happening.
@@ -68,40 +94,101 @@ public final class UseBlockHandler {
     if (!player.isSpectator()) {
       BlockPos blockPos = result.getBlockPos();
       BlockState blockState = world.getBlockState(blockPos);
-      if (hand == getInteractionHand(player) && canHarvest(world, blockState, blockPos, player, hand, true)) {
-        try {
-          IntProperty cropAge = HarvestWithEaseAPI.getAge(blockState);
-          if (HarvestWithEaseAPI.isMature(blockState, cropAge)) {
-            actionResult = ActionResult.SUCCESS;
-            if (!world.isClient()) {
-              harvest((ServerWorld) world, cropAge, blockState, blockPos, result.getSide(), result, (ServerPlayerEntity) player, hand);
-              if (player.getStackInHand(hand).getItem() instanceof ToolItem tool && isHoe(tool.getDefaultStack()) && HarvestWithEaseAPI.isTierForMultiHarvest(tool)) {
-                int fromCenterToEdge = ((HarvestWithEaseAPI.getTierLevel(tool.getMaterial()) - HarvestWithEaseAPI.getTierLevel(ModConfig.getMultiHarvestStartingTier())) * ModConfig.getAreaIncrementStep().step + ModConfig.getAreaStartingSize().size - 1) / 2;
-                BlockPos.stream(expandHorizontally(new BlockBox(blockPos), fromCenterToEdge)).filter(pos -> !pos.equals(blockPos)).forEach(pos -> {
-                  BlockState state = world.getBlockState(pos);
-                  if (canHarvest(world, state, pos, player, hand, false)) {
-                    IntProperty age = HarvestWithEaseAPI.getAge(state);
-                    if (HarvestWithEaseAPI.isMature(state, age)) {
-                      harvest((ServerWorld) world, age, state, pos, result.getSide(), null, (ServerPlayerEntity) player, hand);
-                    }
+      CropProfile crop = HarvestWithEaseAPI.probe(blockState);
+      if (crop != null) {
+        CompiledConfig config = ModConfig.getCompiled();
+        if (hand == getInteractionHand(config, player) && canHarvest(world, blockState, blockPos, player, hand, true)) {
+          try {
+            if (crop.isMature(blockState)) {
+              actionResult = ActionResult.SUCCESS;
+              if (!world.isClient()) {
+                if (HarvestRateLimiter.tryHarvest(config, (ServerPlayerEntity) player)) {
+                  int sequence = PredictionAcks.claim((ServerPlayerEntity) player, blockPos, hand);
+                  int fromCenterToEdge = getMultiHarvestRadius(config, player.getStackInHand(hand));
+                  if (fromCenterToEdge > 0) {
+                    PredictionAcks.accept((ServerPlayerEntity) player, sequence);
+                    HarvestScheduler.submit(new HarvestJob(config, (ServerWorld) world, crop.age(), blockState, blockPos, fromCenterToEdge, result.getSide(), result, (ServerPlayerEntity) player, hand, sequence));
+                  } else {
+                    harvest(config, (ServerWorld) world, crop.age(), blockState, blockPos, result.getSide(), result, (ServerPlayerEntity) player, hand, true, null, null, null);
+                    PredictionAcks.confirm((ServerPlayerEntity) player, sequence, List.of(blockPos));
                   }
-                });
+                }
+              } else if (predictor != null) {
+                predictor.predict(world, blockPos, hand, () -> predictHarvest(config, world, crop, blockState, blockPos, player, hand));
               }
+            } else if (player instanceof ServerPlayerEntity serverPlayer) {
+              HarvestRateLimiter.reject(config, serverPlayer);
             }
+          } catch (NullPointerException | NoSuchElementException | ClassCastException | IllegalArgumentException e) {
+            Diagnostics.record(Counter.HARVEST_ERRORS, e);
           }
-        } catch (NullPointerException | NoSuchElementException | ClassCastException e) {
-          LOGGER.debug("Exception generated by block at [" + blockPos.toShortString() + "]");
-          LOGGER.debug("This is a non blocking error, but can result in incorrect behavior for mod " + MOD_ID);
-          LOGGER.debug("Most probably the cause of this issue was that a non-crop ID was added in the configuration and its age property could not be retrieved, see stack trace for more details", e);
         }
       }
     }
+    if (player instanceof ServerPlayerEntity serverPlayer) {
+      PredictionAcks.reject(serverPlayer, result.getBlockPos(), hand);
+    }
     return actionResult;
   }
 
+  /**
+   * Predicts, client side, the harvest of the right-clicked crop and, if the held item can multi-harvest, of the area around it, for the {@link Predictor} to show it.
+   * Relies on the client configuration: whatever the server ends up not harvesting is rolled back.
+   *
+   * @param config {@link CompiledConfig} snapshot.
+   * @param world client {@link World}.
+   * @param crop {@link CropProfile} of the right-clicked crop.
+   * @param blockState {@link BlockState} of the right-clicked crop.
+   * @param blockPos {@link BlockPos} of the right-clicked crop.
+   * @param player {@link PlayerEntity} harvesting.
+   * @param hand {@link Hand hand} used to harvest.
+   * @return the {@link PredictedChange predicted changes}.
+   */
+  private static List<PredictedChange> predictHarvest(CompiledConfig config, World world, CropProfile crop, BlockState blockState, BlockPos blockPos, PlayerEntity player, Hand hand) {
+    List<PredictedChange> changes = new ArrayList<>();
+    predictCrop(world, crop.age(), blockState, blockPos, changes);
+    int radius = getMultiHarvestRadius(config, player.getStackInHand(hand));
+    if (radius > 0) {
+      AreaScanner.CropVisitor visitor = (pos, state, profile) -> {
+        if (canHarvest(world, state, pos, player, hand, false) && profile.isMature(state)) {
+          predictCrop(world, profile.age(), state, pos.toImmutable(), changes);
+        }
+      };
+      if (config.areaShape() == AreaShape.FIELD) {
+        new AreaScanner.Field(world, blockPos, blockState.getBlock(), config.fieldHarvestCap() - 1, config.fieldVerticalRange()).scan(Integer.MAX_VALUE, visitor);
+      } else {
+        AreaScanner.scan(world, blockPos, radius, visitor);
+      }
+    }
+    return changes;
+  }
+
+  /**
+   * Predicts the changes {@link #updateCrop} is going to make when harvesting the given crop.
+   *
+   * @param world client {@link World}.
+   * @param age {@link IntProperty age} of the crop.
+   * @param blockState {@link BlockState} of the crop.
+   * @param blockPos {@link BlockPos} of the crop.
+   * @param changes list of {@link PredictedChange changes} to add the predicted ones to.
+   */
+  private static void predictCrop(World world, IntProperty age, BlockState blockState, BlockPos blockPos, List<PredictedChange> changes) {
+    Block block = blockState.getBlock();
+    BlockPos basePos = getBasePos(world, block, blockPos);
+    BlockState baseState = world.getBlockState(basePos);
+    BlockState replanted = block == Blocks.PITCHER_CROP ? Blocks.AIR.getDefaultState() : baseState.with(age, 0);
+    changes.add(new PredictedChange(blockPos, basePos, baseState, replanted));
+    BlockPos abovePos = basePos.up();
+    BlockState aboveState = world.getBlockState(abovePos);
+    if (replanted.isIn(BlockTags.CROPS) && aboveState.isOf(block) && !isTallButSeparate(block)) {
+      changes.add(new PredictedChange(blockPos, abovePos, aboveState, world.getFluidState(abovePos).getBlockState()));
+    }
+  }
+
   /**
    * Harvests the crop, handles all related actions (exp granting, hoe damaging, dropping resources, etc.) and dispatches all related events.
    *
+   * @param config {@link CompiledConfig} snapshot to use for the whole harvest.
    * @param world {@link ServerWorld world}.
    * @param age {@link IntProperty age} of the crop.
    * @param blockState {@link BlockState} of the crop.
@@ -110,15 +197,23 @@ public final class UseBlockHandler {
    * @param hitResult {@link BlockHitResult} of the event.
    * @param player {@link ServerPlayerEntity player} harvesting the crop.
    * @param hand {@link Hand hand} used to harvest.
+   * @param cropEvents whether to fire the per-crop events.
+   * @param updates {@link BlockUpdateBatch} to coalesce the crop update into, {@code null} to update it right away.
+   * @param held list to hold the drops of the crop back into, {@code null} to drop them right away.
+   * @param nearby {@link DropsDelivery.NearbyItems} of the harvest area, {@code null} if the crop is harvested on its own.
    */
-  private static void harvest(ServerWorld world, IntProperty age, BlockState blockState, BlockPos blockPos, Direction face, BlockHitResult hitResult, ServerPlayerEntity player, Hand hand) {
-    HarvestWithEaseEvents.BEFORE_HARVEST.invoker().beforeHarvest(world, blockState, blockPos, face, hitResult, player, hand, hitResult != null);
+  static void harvest(CompiledConfig config, ServerWorld world, IntProperty age, BlockState blockState, BlockPos blockPos, Direction face, BlockHitResult hitResult, ServerPlayerEntity player, Hand hand, boolean cropEvents, @Nullable BlockUpdateBatch updates, @Nullable List<HeldDrops> held, @Nullable DropsDelivery.NearbyItems nearby) {
+    if (cropEvents && HarvestWithEaseEvents.hasListeners(HarvestWithEaseEvents.BEFORE_HARVEST)) {
+      HarvestWithEaseEvents.BEFORE_HARVEST.invoker().beforeHarvest(world, blockState, blockPos, face, hitResult, player, hand, hitResult != null);
+    }
     BlockPos basePos = getBasePos(world, blockState.getBlock(), blockPos);
-    grantExp(world, basePos);
-    damageHoe(player, hand);
-    updateCrop(world, age, blockState.getBlock(), basePos, player, dropResources(world, world.getBlockState(basePos), basePos, face, hitResult, player, hand));
-    playSound(world, blockState, blockPos);
-    HarvestWithEaseEvents.AFTER_HARVEST.invoker().afterHarvest(world, blockState, blockPos, face, hitResult, player, hand, hitResult != null);
+    grantExp(config, world, player, basePos, 1);
+    damageHoe(config, player, hand, player.getStackInHand(hand), 1);
+    updateCrop(world, age, blockState.getBlock(), basePos, player, dropResources(config, world, world.getBlockState(basePos), basePos, face, hitResult, player, hand, cropEvents, held, nearby), updates);
+    playSound(config, world, player, blockState, blockPos);
+    if (cropEvents && HarvestWithEaseEvents.hasListeners(HarvestWithEaseEvents.AFTER_HARVEST)) {
+      HarvestWithEaseEvents.AFTER_HARVEST.invoker().afterHarvest(world, blockState, blockPos, face, hitResult, player, hand, hitResult != null);
+    }
   }
 
   /**
@@ -130,49 +225,67 @@ public final class UseBlockHandler {
    * @param basePos {@link BlockPos} of the clicked crop base.
    * @param player {@link ServerPlayerEntity player} harvesting the crop.
    * @param customDrops whether {@link HarvestDrops} listeners have changed the drops to drop.
+   * @param updates {@link BlockUpdateBatch} to coalesce the crop update into, {@code null} to update it right away.
+   *     When batching, the break effects of the crop blocks above are {@link HarvestEffects batched} as well.
    */
-  private static void updateCrop(ServerWorld world, IntProperty age, Block block, BlockPos basePos, ServerPlayerEntity player, boolean customDrops) {
-    world.setBlockState(basePos, block == Blocks.PITCHER_CROP ? Blocks.AIR.getDefaultState() : world.getBlockState(basePos).with(age, 0));
+  static void updateCrop(ServerWorld world, IntProperty age, Block block, BlockPos basePos, ServerPlayerEntity player, boolean customDrops, @Nullable BlockUpdateBatch updates) {
+    BlockState replanted = block == Blocks.PITCHER_CROP ? Blocks.AIR.getDefaultState() : world.getBlockState(basePos).with(age, 0);
+    if (updates != null) {
+      updates.setBlockState(basePos, replanted);
+    } else {
+      world.setBlockState(basePos, replanted);
+    }
     if (world.getBlockState(basePos).isIn(BlockTags.CROPS) && world.getBlockState(basePos.up()).isOf(block) && !isTallButSeparate(block)) {
-      world.breakBlock(basePos.up(), !customDrops, player);
+      if (updates != null) {
+        HarvestEffects.breakBlock(world, basePos.up(), !customDrops, player);
+      } else {
+        world.breakBlock(basePos.up(), !customDrops, player);
+      }
     }
   }
 
   /**
    * Returns the base pos of the clicked crop.
    *
-   * @param world {@link ServerWorld world}.
+   * @param world {@link World world}.
    * @param block {@link Block} of the clicked crop.
    * @param blockPos {@link BlockPos} of the crop block clicked.
    * @return the base pos of the clicked crop.
    */
-  private static BlockPos getBasePos(ServerWorld world, Block block, BlockPos blockPos) {
+  static BlockPos getBasePos(World world, Block block, BlockPos blockPos) {
     BlockPos basePos;
     for (basePos = blockPos; world.getBlockState(blockPos).isIn(BlockTags.CROPS) && !isTallButSeparate(block) && world.getBlockState(basePos.down()).isOf(block); basePos = basePos.down()) ;
     return basePos;
   }
 
   /**
-   * Grants the given player the configured amount of experience, if any.
+   * Grants the configured amount of experience for each harvested crop, if any and if blocks drop loot.
+   * The experience is {@link ExperienceAccumulator accumulated} and actually granted at the end of the tick.
    *
+   * @param config {@link CompiledConfig} snapshot.
    * @param world
+   * @param player {@link ServerPlayerEntity player} harvesting.
    * @param pos
+   * @param crops amount of harvested crops.
    */
-  private static void grantExp(ServerWorld world, BlockPos pos) {
-    if (ModConfig.getGrantedExp() > 0 && world.getGameRules().getBoolean(GameRules.DO_TILE_DROPS)) {
-      ExperienceOrbEntity.spawn(world, Vec3d.ofCenter(pos), ModConfig.getGrantedExp());
+  static void grantExp(CompiledConfig config, ServerWorld world, ServerPlayerEntity player, BlockPos pos, int crops) {
+    if (config.grantedExp() > 0 && world.getGameRules().getBoolean(GameRules.DO_TILE_DROPS)) {
+      ExperienceAccumulator.add(world, player, pos, (int) Math.min((long) config.grantedExp() * crops, Integer.MAX_VALUE));
     }
   }
 
   /**
-   * If needed and possible, damages the hoe of the given {@link ModConfig#getDamageOnHarvest() damage}.
+   * If needed and possible, damages the hoe of the given {@link CompiledConfig#damageOnHarvest() damage} for each harvested crop.
    *
+   * @param config {@link CompiledConfig} snapshot.
    * @param player {@link ServerPlayerEntity player} holding the hoe.
    * @param hand {@link Hand hand} holding the hoe.
+   * @param hoe {@link ItemStack} of the hoe.
+   * @param crops amount of harvested crops.
    */
-  private static void damageHoe(ServerPlayerEntity player, Hand hand) {
-    if (ModConfig.getRequireHoe() && ModConfig.getDamageOnHarvest() > 0 && !player.isCreative()) {
-      player.getStackInHand(hand).damage(ModConfig.getDamageOnHarvest(), player, playerEntity -> playerEntity.sendToolBreakStatus(hand));
+  static void damageHoe(CompiledConfig config, ServerPlayerEntity player, Hand hand, ItemStack hoe, int crops) {
+    if (config.damageHoe() && !player.isCreative()) {
+      hoe.damage((int) Math.min((long) config.damageOnHarvest() * crops, Integer.MAX_VALUE), player, playerEntity -> playerEntity.sendToolBreakStatus(hand));
     }
   }
 
@@ -180,6 +293,7 @@ public final class UseBlockHandler {
    * Drop the resources resulting from harvesting a crop in the given {@link ServerWorld world} and {@link BlockState blockState}, making them pop from the given face and using the item held in the given player hand.
    * Takes care of dispatching the {@link HarvestWithEaseEvents#HARVEST_DROPS} to retrieve the drops resulting from the harvest.
    *
+   * @param config {@link CompiledConfig} snapshot.
    * @param world {@link ServerWorld server world} the drops should come from.
    * @param blockState {@link BlockState state} of the crop being harvested.
    * @param blockPos crop {@link BlockPos position}.
@@ -187,31 +301,92 @@ public final class UseBlockHandler {
    * @param hitResult {@link BlockHitResult} of the event.
    * @param player {@link ServerPlayerEntity player} harvesting the crop.
    * @param hand {@link Hand hand} used to harvest the crop.
+   * @param cropEvents whether to fire the {@link HarvestWithEaseEvents#HARVEST_DROPS} event.
+   * @param held list to hold the drops back into, {@code null} to drop them right away.
+   * @param nearby {@link DropsDelivery.NearbyItems} of the harvest area, {@code null} if the crop is harvested on its own.
    * @return whether {@link HarvestDrops} listeners have changed the drops to drop.
    */
-  private static boolean dropResources(ServerWorld world, BlockState blockState, BlockPos blockPos, Direction face, BlockHitResult hitResult, ServerPlayerEntity player, Hand hand) {
+  private static boolean dropResources(CompiledConfig config, ServerWorld world, BlockState blockState, BlockPos blockPos, Direction face, BlockHitResult hitResult, ServerPlayerEntity player, Hand hand, boolean cropEvents, @Nullable List<HeldDrops> held, @Nullable DropsDelivery.NearbyItems nearby) {
+    CropDrops drops = collectDrops(world, blockState, blockPos, face, hitResult, player, hand, cropEvents);
+    if (held != null) {
+      held.add(new HeldDrops(blockState, blockPos, drops.stacks()));
+    } else {
+      dropStacks(config, world, blockState, blockPos, face, player, drops.stacks(), nearby);
+    }
+    return drops.custom();
+  }
+
+  /**
+   * Dispatches the {@link HarvestWithEaseEvents#HARVEST_DROPS} event to retrieve the drops resulting from harvesting a crop.
+   * When the event is skipped or nothing listens to it, the {@link HarvestWithEaseEvents.HarvestDropsEvent#getDefaultDrops default drops} are returned without building it.
+   *
+   * @param world {@link ServerWorld server world} the drops should come from.
+   * @param blockState {@link BlockState state} of the crop being harvested.
+   * @param blockPos crop {@link BlockPos position}.
+   * @param face {@link Direction face} clicked of the crop.
+   * @param hitResult {@link BlockHitResult} of the event.
+   * @param player {@link ServerPlayerEntity player} harvesting the crop.
+   * @param hand {@link Hand hand} used to harvest the crop.
+   * @param cropEvents whether to fire the {@link HarvestWithEaseEvents#HARVEST_DROPS} event.
+   * @return the {@link CropDrops} to drop.
+   */
+  static CropDrops collectDrops(ServerWorld world, BlockState blockState, BlockPos blockPos, Direction face, BlockHitResult hitResult, ServerPlayerEntity player, Hand hand, boolean cropEvents) {
+    if (!cropEvents || !HarvestWithEaseEvents.hasListeners(HarvestWithEaseEvents.HARVEST_DROPS)) {
+      return new CropDrops(HarvestWithEaseEvents.HarvestDropsEvent.getDefaultDrops(world, blockState, blockPos, player, hand), false);
+    }
     HarvestWithEaseEvents.HarvestDropsEvent event = new HarvestWithEaseEvents.HarvestDropsEvent(world, blockState, blockPos, player, hand);
-    for (ItemStack stack : HarvestWithEaseEvents.HARVEST_DROPS.invoker().getDrops(world, blockState, blockPos, face, hitResult, player, hand, hitResult != null, event)) {
+    HarvestWithEaseEvents.HARVEST_DROPS.invoker().getDrops(world, blockState, blockPos, face, hitResult, player, hand, hitResult != null, event);
+    return new CropDrops(event.getFinalDrops(), event.haveDropsChanged());
+  }
+
+  /**
+   * Drops the given stacks in the given {@link ServerWorld world}, making them pop from the given face when the crop has a collision shape.
+   * If the {@link CompiledConfig#dropsDestination() drops destination} is the {@link DropsDestination#INVENTORY inventory} or a {@link DropsDestination#STORAGE storage}, only what does not fit in there is dropped.
+   * Drops are first used to top up the item entities already around the crop.
+   *
+   * @param config {@link CompiledConfig} snapshot.
+   * @param world {@link ServerWorld server world} the drops should come from.
+   * @param blockState {@link BlockState state} of the crop being harvested.
+   * @param blockPos crop {@link BlockPos position}.
+   * @param face {@link Direction face} clicked of the crop.
+   * @param player {@link ServerPlayerEntity player} harvesting the crop.
+   * @param drops {@link ItemStack stacks} to drop.
+   * @param nearby {@link DropsDelivery.NearbyItems} of the harvest area, {@code null} if the crop is harvested on its own.
+   */
+  static void dropStacks(CompiledConfig config, ServerWorld world, BlockState blockState, BlockPos blockPos, Direction face, ServerPlayerEntity player, List<ItemStack> drops, @Nullable DropsDelivery.NearbyItems nearby) {
+    if (config.dropsDestination() == DropsDestination.INVENTORY) {
+      drops = DropsDelivery.toInventory(player, drops);
+    } else if (config.dropsDestination() == DropsDestination.STORAGE) {
+      drops = DropsDelivery.toStorage(world, blockPos, config.storageSearchRadius(), drops);
+    }
+    drops = DropsDelivery.toNearbyItems(world, nearby, blockPos, drops);
+    for (ItemStack stack : drops) {
       if (blockState.getCollisionShape(world, blockPos) != VoxelShapes.empty()) {
         Block.dropStack(world, blockPos, face, stack);
       } else {
         Block.dropStack(world, blockPos, stack);
       }
     }
-    return event.haveDropsChanged();
   }
 
   /**
-   * If {@link ModConfig#getPlaySound() playSound} is true, plays the block breaking sound.
+   * If {@link CompiledConfig#playSound() playSound} is true, plays the block breaking sound.
+   * Unless {@link CompiledConfig#soundsPerHarvest() soundsPerHarvest} is {@code 0}, the sound is {@link SoundCoalescer coalesced} with the others of the tick.
    *
+   * @param config {@link CompiledConfig} snapshot.
    * @param world {@link ServerWorld} to play the sound.
+   * @param player {@link ServerPlayerEntity player} activating the sound.
    * @param blockState {@link BlockState state} of the block emitting the sound.
    * @param blockPos {@link BlockPos position} of the block emitting the sound.
    */
-  private static void playSound(ServerWorld world, BlockState blockState, BlockPos blockPos) {
-    if (ModConfig.getPlaySound()) {
+  static void playSound(CompiledConfig config, ServerWorld world, ServerPlayerEntity player, BlockState blockState, BlockPos blockPos) {
+    if (config.playSound()) {
       BlockSoundGroup soundGroup = blockState.getBlock().getSoundGroup(blockState);
-      world.playSound(null, blockPos, soundGroup.getBreakSound(), SoundCategory.BLOCKS, soundGroup.getVolume(), soundGroup.getPitch());
+      if (config.soundsPerHarvest() > 0) {
+        SoundCoalescer.add(world, player, blockPos, soundGroup.getBreakSound(), soundGroup.getVolume(), soundGroup.getPitch());
+      } else {
+        world.playSound(null, blockPos, soundGroup.getBreakSound(), SoundCategory.BLOCKS, soundGroup.getVolume(), soundGroup.getPitch());
+      }
     }
   }
 
@@ -219,19 +394,20 @@ public final class UseBlockHandler {
    * Returns the most suitable interaction hand from the player.
    * Returns null if there was no suitable interaction hand.
    *
+   * @param config {@link CompiledConfig} snapshot.
    * @param player
    * @return most suitable interaction hand.
    */
   @Nullable
-  private static Hand getInteractionHand(PlayerEntity player) {
+  private static Hand getInteractionHand(CompiledConfig config, PlayerEntity player) {
     if (!player.isSneaking()) {
-      if (isHoe(player.getStackInHand(Hand.MAIN_HAND))) {
+      if (isHoe(config, player.getStackInHand(Hand.MAIN_HAND))) {
         return Hand.MAIN_HAND;
       }
-      if (isHoe(player.getStackInHand(Hand.OFF_HAND))) {
+      if (isHoe(config, player.getStackInHand(Hand.OFF_HAND))) {
         return Hand.OFF_HAND;
       }
-      if (!ModConfig.getRequireHoe()) {
+      if (!config.requireHoe()) {
         return Hand.MAIN_HAND;
       }
     }
@@ -239,18 +415,30 @@ public final class UseBlockHandler {
   }
 
   /**
-   * Checks whether the given itemStack is an Item that extends {@link HoeItem}.
+   * Returns the multi-harvest radius granted by the given itemStack.
+   *
+   * @param config {@link CompiledConfig} snapshot.
+   * @param handItem
+   * @return the multi-harvest radius or {@code -1} if the given itemStack cannot multi-harvest.
+   */
+  private static int getMultiHarvestRadius(CompiledConfig config, ItemStack handItem) {
+    return ToolTable.get(config, handItem.getItem()).radius();
+  }
+
+  /**
+   * Checks whether the given itemStack is a hoe tool, according to its {@link ToolProfile}.
    *
+   * @param config {@link CompiledConfig} snapshot.
    * @param handItem
    * @return whether the given itemStack is a hoe tool.
    */
-  private static boolean isHoe(ItemStack handItem) {
-    return handItem.getItem() instanceof HoeItem;
+  private static boolean isHoe(CompiledConfig config, ItemStack handItem) {
+    return ToolTable.get(config, handItem.getItem()).hoe();
   }
 
   /**
    * Checks whether the given {@link PlayerEntity} can right-click harvest the crop.
-   * Dispatches the {@link HarvestWithEaseEvents#HARVEST_CHECK} event if the right-clicked block is indeed a crop.
+   * Dispatches the {@link HarvestWithEaseEvents#HARVEST_CHECK} event, the given blockState is expected to be a {@link HarvestWithEaseAPI#probe(BlockState) crop}.
    *
    * @param world {@link World} of the interaction.
    * @param blockState {@link BlockState} of the crop to harvest.
@@ -260,8 +448,8 @@ public final class UseBlockHandler {
    * @param first whether the current crop is the actual right-clicked crop.
    * @return whether the player can right-click harvest the crop.
    */
-  private static boolean canHarvest(World world, BlockState blockState, BlockPos blockPos, PlayerEntity player, Hand hand, boolean first) {
-    return HarvestWithEaseAPI.isCrop(blockState.getBlock()) && player.canHarvest(blockState) && HarvestWithEaseEvents.HARVEST_CHECK.invoker().check(world, blockState, blockPos, player, hand, first, new HarvestWithEaseEvents.HarvestCheckEvent());
+  static boolean canHarvest(World world, BlockState blockState, BlockPos blockPos, PlayerEntity player, Hand hand, boolean first) {
+    return player.canHarvest(blockState) && (!HarvestWithEaseEvents.hasListeners(HarvestWithEaseEvents.HARVEST_CHECK) || HarvestWithEaseEvents.HARVEST_CHECK.invoker().check(world, blockState, blockPos, player, hand, first, new HarvestWithEaseEvents.HarvestCheckEvent()));
   }
 
   /**
@@ -277,13 +465,18 @@ public final class UseBlockHandler {
   }
 
   /**
-   * Expand a {@link BlockBox} horizontally.
-   *
-   * @param box
-   * @param distance
-   * @return the expanded {@link BlockBox}.
+   * Shows client side harvests right away, before the server performs them.
    */
-  private static BlockBox expandHorizontally(BlockBox box, int distance) {
-    return new BlockBox(box.getMinX() - distance, box.getMinY(), box.getMinZ() - distance, box.getMaxX() + distance, box.getMaxY(), box.getMaxZ() + distance);
+  @FunctionalInterface
+  public interface Predictor {
+    /**
+     * Announces a prediction to the server and shows it, unless the server does not have this mod.
+     *
+     * @param world client {@link World}.
+     * @param pos {@link BlockPos} of the right-clicked crop.
+     * @param hand {@link Hand} used to harvest.
+     * @param prediction computes the {@link PredictedChange predicted changes}, only called if they are going to be shown.
+     */
+    void predict(World world, BlockPos pos, Hand hand, Supplier<List<PredictedChange>> prediction);
   }
 }
@@ -0,0 +1,62 @@
+package crystalspider.harvestwithease.network;
+
+import crystalspider.harvestwithease.config.AreaShape;
+import crystalspider.harvestwithease.config.SyncedConfig;
+import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.util.Identifier;
+
+import static crystalspider.harvestwithease.ModLoader.MOD_ID;
+
+/**
+ * Server to client packet syncing the {@link SyncedConfig harvest configuration}.
+ *
+ * @param hash {@link SyncedConfig#hash() version hash} of the values, as computed by the server.
+ * @param config synced {@link SyncedConfig values}.
+ */
+public record ConfigSyncPacket(int hash, SyncedConfig config) {
+  /**
+   * Id of this packet channel.
+   */
+  public static final Identifier ID = new Identifier(MOD_ID, "config_sync");
+
+  /**
+   * Writes a packet for the given values.
+   *
+   * @param hash {@link SyncedConfig#hash() version hash} of the values.
+   * @param config {@link SyncedConfig} to sync.
+   * @return the {@link PacketByteBuf} to send.
+   */
+  public static PacketByteBuf write(int hash, SyncedConfig config) {
+    PacketByteBuf buffer = PacketByteBufs.create();
+    buffer.writeInt(hash);
+    buffer.writeCollection(config.crops(), PacketByteBuf::writeString);
+    buffer.writeBoolean(config.requireHoe());
+    buffer.writeString(config.multiHarvestStartingTier());
+    buffer.writeVarInt(config.areaStartingSize());
+    buffer.writeVarInt(config.areaIncrementStep());
+    buffer.writeEnumConstant(config.areaShape());
+    buffer.writeVarInt(config.fieldHarvestCap());
+    buffer.writeVarInt(config.fieldVerticalRange());
+    return buffer;
+  }
+
+  /**
+   * Reads a packet from the given buffer.
+   *
+   * @param buffer {@link PacketByteBuf} to read from.
+   * @return the {@link ConfigSyncPacket} read.
+   */
+  public static ConfigSyncPacket read(PacketByteBuf buffer) {
+    return new ConfigSyncPacket(buffer.readInt(), new SyncedConfig(
+      buffer.readList(PacketByteBuf::readString),
+      buffer.readBoolean(),
+      buffer.readString(),
+      buffer.readVarInt(),
+      buffer.readVarInt(),
+      buffer.readEnumConstant(AreaShape.class),
+      buffer.readVarInt(),
+      buffer.readVarInt()
+    ));
+  }
+}
@@ -0,0 +1,48 @@
+package crystalspider.harvestwithease.network;
+
+import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+
+import static crystalspider.harvestwithease.ModLoader.MOD_ID;
+
+/**
+ * Server to client packet acknowledging a predicted harvest.
+ *
+ * @param sequence sequence number of the prediction.
+ * @param done whether the harvest is over, otherwise it just started and is going to be acknowledged again.
+ * @param harvested {@link BlockPos#asLong() packed positions} of the harvested crops, empty unless {@code done}.
+ */
+public record HarvestAckPacket(int sequence, boolean done, long[] harvested) {
+  /**
+   * Id of this packet channel.
+   */
+  public static final Identifier ID = new Identifier(MOD_ID, "harvest_ack");
+
+  /**
+   * Writes a packet for the given acknowledgement.
+   *
+   * @param sequence sequence number of the prediction.
+   * @param done whether the harvest is over.
+   * @param harvested {@link BlockPos#asLong() packed positions} of the harvested crops.
+   * @return the {@link PacketByteBuf} to send.
+   */
+  public static PacketByteBuf write(int sequence, boolean done, long[] harvested) {
+    PacketByteBuf buffer = PacketByteBufs.create();
+    buffer.writeVarInt(sequence);
+    buffer.writeBoolean(done);
+    buffer.writeLongArray(harvested);
+    return buffer;
+  }
+
+  /**
+   * Reads a packet from the given buffer.
+   *
+   * @param buffer {@link PacketByteBuf} to read from.
+   * @return the {@link HarvestAckPacket} read.
+   */
+  public static HarvestAckPacket read(PacketByteBuf buffer) {
+    return new HarvestAckPacket(buffer.readVarInt(), buffer.readBoolean(), buffer.readLongArray());
+  }
+}
@@ -0,0 +1,62 @@
+package crystalspider.harvestwithease.network;
+
+import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+
+import static crystalspider.harvestwithease.ModLoader.MOD_ID;
+
+/**
+ * Server to client packet listing the tall crop blocks broken by multi-harvests during a tick, whose break effects the client should render.
+ * <p>
+ * Positions are encoded as offsets from the first one, which all fit in a short since they are all within the view of the same player.
+ *
+ * @param positions {@link BlockPos#asLong() packed positions} of the broken blocks.
+ * @param states {@link net.minecraft.block.Block#getRawIdFromState(net.minecraft.block.BlockState) raw ids} of the states of the broken blocks, by index of their position.
+ */
+public record HarvestEffectsPacket(long[] positions, int[] states) {
+  /**
+   * Id of this packet channel.
+   */
+  public static final Identifier ID = new Identifier(MOD_ID, "harvest_effects");
+
+  /**
+   * Writes a packet for the given blocks.
+   *
+   * @param positions {@link BlockPos#asLong() packed positions} of the broken blocks.
+   * @param states raw ids of the states of the broken blocks, by index of their position.
+   * @return the {@link PacketByteBuf} to send.
+   */
+  public static PacketByteBuf write(long[] positions, int[] states) {
+    PacketByteBuf buffer = PacketByteBufs.create();
+    buffer.writeVarInt(positions.length);
+    long origin = positions[0];
+    buffer.writeLong(origin);
+    for (int c = 0; c < positions.length; c++) {
+      buffer.writeShort(BlockPos.unpackLongX(positions[c]) - BlockPos.unpackLongX(origin));
+      buffer.writeShort(BlockPos.unpackLongY(positions[c]) - BlockPos.unpackLongY(origin));
+      buffer.writeShort(BlockPos.unpackLongZ(positions[c]) - BlockPos.unpackLongZ(origin));
+      buffer.writeVarInt(states[c]);
+    }
+    return buffer;
+  }
+
+  /**
+   * Reads a packet from the given buffer.
+   *
+   * @param buffer {@link PacketByteBuf} to read from.
+   * @return the {@link HarvestEffectsPacket} read.
+   */
+  public static HarvestEffectsPacket read(PacketByteBuf buffer) {
+    int size = buffer.readVarInt();
+    long origin = buffer.readLong();
+    long[] positions = new long[size];
+    int[] states = new int[size];
+    for (int c = 0; c < size; c++) {
+      positions[c] = BlockPos.asLong(BlockPos.unpackLongX(origin) + buffer.readShort(), BlockPos.unpackLongY(origin) + buffer.readShort(), BlockPos.unpackLongZ(origin) + buffer.readShort());
+      states[c] = buffer.readVarInt();
+    }
+    return new HarvestEffectsPacket(positions, states);
+  }
+}
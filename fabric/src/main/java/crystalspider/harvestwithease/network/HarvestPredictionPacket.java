@@ -0,0 +1,60 @@
+package crystalspider.harvestwithease.network;
+
+import crystalspider.harvestwithease.util.PredictionAcks;
+import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
+import net.fabricmc.fabric.api.networking.v1.PacketSender;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayNetworkHandler;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.Hand;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+
+import static crystalspider.harvestwithease.ModLoader.MOD_ID;
+
+/**
+ * Client to server packet announcing a predicted harvest, sent right before the interaction it stands for.
+ */
+public final class HarvestPredictionPacket {
+  /**
+   * Id of this packet channel.
+   */
+  public static final Identifier ID = new Identifier(MOD_ID, "harvest_prediction");
+
+  private HarvestPredictionPacket() {
+  }
+
+  /**
+   * Writes a packet for the given prediction.
+   *
+   * @param sequence sequence number of the prediction.
+   * @param pos {@link BlockPos} of the right-clicked crop.
+   * @param hand {@link Hand} used to harvest.
+   * @return the {@link PacketByteBuf} to send.
+   */
+  public static PacketByteBuf write(int sequence, BlockPos pos, Hand hand) {
+    PacketByteBuf buffer = PacketByteBufs.create();
+    buffer.writeVarInt(sequence);
+    buffer.writeBlockPos(pos);
+    buffer.writeEnumConstant(hand);
+    return buffer;
+  }
+
+  /**
+   * Handles the packet received through {@link net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking ServerPlayNetworking}.
+   * Reads the packet right away and waits for the harvest it announces on the server thread.
+   *
+   * @param server {@link MinecraftServer}.
+   * @param player {@link ServerPlayerEntity} that sent the packet.
+   * @param handler {@link ServerPlayNetworkHandler} that received the packet.
+   * @param buffer {@link PacketByteBuf} of the packet.
+   * @param responseSender {@link PacketSender}.
+   */
+  public static void handle(MinecraftServer server, ServerPlayerEntity player, ServerPlayNetworkHandler handler, PacketByteBuf buffer, PacketSender responseSender) {
+    int sequence = buffer.readVarInt();
+    BlockPos pos = buffer.readBlockPos();
+    Hand hand = buffer.readEnumConstant(Hand.class);
+    server.execute(() -> PredictionAcks.expect(player, sequence, pos, hand));
+  }
+}
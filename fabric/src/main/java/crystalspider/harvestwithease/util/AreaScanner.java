@@ -0,0 +1,386 @@
+package crystalspider.harvestwithease.util;
+
+import crystalspider.harvestwithease.api.CropProfile;
+import crystalspider.harvestwithease.api.HarvestWithEaseAPI;
+import crystalspider.harvestwithease.util.Diagnostics.Counter;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.WorldChunk;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Scans areas for crops: horizontal squares, either all at once one chunk section at a time or resumable through the {@link Candidates candidates}
+ * {@link CropDiscovery discovered} off the server thread, and connected {@link Field fields} of crops.
+ * <p>
+ * Each chunk in the area is fetched once and its section at the area height is skipped entirely when its palette holds no crop state,
+ * so areas made mostly of paths, water or farmland cost a handful of palette checks.
+ * Only chunks that are already loaded are read, never loading nor generating any: parts of the area in other chunks are skipped
+ * and the clipped area is {@link Counter#UNLOADED_CLIPS counted}.
+ * Block states are read straight from the section, walking the area with a single {@link BlockPos.Mutable mutable position}.
+ */
+public final class AreaScanner {
+  private AreaScanner() {
+  }
+
+  /**
+   * Visits every {@link HarvestWithEaseAPI#probe(BlockState) crop} in the square of the given radius around the given center, the center itself excluded.
+   * <p>
+   * Crops are visited grouped by chunk.
+   *
+   * @param world {@link World} to scan.
+   * @param center {@link BlockPos} at the center of the area.
+   * @param radius distance from the center to the edges of the area.
+   * @param visitor {@link CropVisitor} to call for each crop found.
+   */
+  public static void scan(World world, BlockPos center, int radius, CropVisitor visitor) {
+    int y = center.getY();
+    if (radius <= 0 || world.isOutOfHeightLimit(y)) {
+      return;
+    }
+    int sectionIndex = world.getSectionIndex(y), localY = ChunkSectionPos.getLocalCoord(y);
+    int minX = center.getX() - radius, maxX = center.getX() + radius, minZ = center.getZ() - radius, maxZ = center.getZ() + radius;
+    BlockPos.Mutable pos = new BlockPos.Mutable();
+    boolean clipped = false;
+    for (int chunkX = ChunkSectionPos.getSectionCoord(minX); chunkX <= ChunkSectionPos.getSectionCoord(maxX); chunkX++) {
+      for (int chunkZ = ChunkSectionPos.getSectionCoord(minZ); chunkZ <= ChunkSectionPos.getSectionCoord(maxZ); chunkZ++) {
+        WorldChunk chunk = world.getChunkManager().getWorldChunk(chunkX, chunkZ);
+        if (chunk == null) {
+          clipped = true;
+          continue;
+        }
+        ChunkSection section = chunk.getSection(sectionIndex);
+        if (!section.isEmpty() && section.hasAny(AreaScanner::isCrop)) {
+          int fromX = Math.max(minX, ChunkSectionPos.getBlockCoord(chunkX)), toX = Math.min(maxX, ChunkSectionPos.getOffsetPos(chunkX, 15));
+          int fromZ = Math.max(minZ, ChunkSectionPos.getBlockCoord(chunkZ)), toZ = Math.min(maxZ, ChunkSectionPos.getOffsetPos(chunkZ, 15));
+          for (int z = fromZ; z <= toZ; z++) {
+            for (int x = fromX; x <= toX; x++) {
+              BlockState state = section.getBlockState(ChunkSectionPos.getLocalCoord(x), localY, ChunkSectionPos.getLocalCoord(z));
+              CropProfile crop = HarvestWithEaseAPI.probe(state);
+              if (crop != null && (x != center.getX() || z != center.getZ())) {
+                visitor.visit(pos.set(x, y, z), state, crop);
+              }
+            }
+          }
+        }
+      }
+    }
+    if (clipped) {
+      Diagnostics.record(Counter.UNLOADED_CLIPS);
+    }
+  }
+
+  /**
+   * Resumable flood fill of the field of mature crops of a single kind connected to a center crop, the center itself excluded.
+   * <p>
+   * Crops are connected when they are horizontally adjacent or stacked in the same column, at any height within the vertical range of the center,
+   * so that terraced and stacked farms are a single field. Crops are visited breadth first, hence nearest first, until the cap is reached.
+   * Positions are kept {@link BlockPos#asLong() packed} in primitive collections and sections are fetched at most once per
+   * {@link #scan(int, CropVisitor) scan} call, only from chunks that are already loaded.
+   */
+  public static final class Field implements Scan {
+    /**
+     * Horizontal offsets, as {@code x, z} pairs, of the columns connected to a crop: its own and the four adjacent ones.
+     */
+    private static final int[] COLUMNS = {0, 0, 1, 0, -1, 0, 0, 1, 0, -1};
+
+    /**
+     * {@link World} to scan.
+     */
+    private final World world;
+    /**
+     * {@link Block} of the crops in the field.
+     */
+    private final Block block;
+    /**
+     * Lowest height the field can extend to.
+     */
+    private final int minY;
+    /**
+     * Highest height the field can extend to.
+     */
+    private final int maxY;
+    /**
+     * Maximum amount of crops to visit.
+     */
+    private final int cap;
+    /**
+     * {@link BlockPos#asLong() Packed positions} already queued, so that each position is checked at most once.
+     */
+    private final LongOpenHashSet queued = new LongOpenHashSet();
+    /**
+     * {@link BlockPos#asLong() Packed positions} left to check, nearest first.
+     */
+    private final LongArrayFIFOQueue frontier = new LongArrayFIFOQueue();
+    /**
+     * Sections fetched during the current {@link #scan(int, CropVisitor) scan} call, by section position, {@code null} when their chunk is not loaded.
+     */
+    private final Long2ObjectMap<ChunkSection> sections = new Long2ObjectOpenHashMap<>();
+    /**
+     * {@link BlockPos.Mutable Mutable position} reused across visits.
+     */
+    private final BlockPos.Mutable pos = new BlockPos.Mutable();
+    /**
+     * Amount of crops visited so far.
+     */
+    private int visited = 0;
+    /**
+     * Whether part of the field has been skipped because its chunk was not loaded.
+     */
+    private boolean clipped = false;
+
+    /**
+     * @param world {@link #world}.
+     * @param center {@link BlockPos} of the center crop.
+     * @param block {@link #block}.
+     * @param cap {@link #cap}, the center excluded.
+     * @param verticalRange how many blocks above and below the center the field can extend to.
+     */
+    public Field(World world, BlockPos center, Block block, int cap, int verticalRange) {
+      this.world = world;
+      this.block = block;
+      this.minY = Math.max(world.getBottomY(), center.getY() - verticalRange);
+      this.maxY = Math.min(world.getTopY() - 1, center.getY() + verticalRange);
+      this.cap = cap;
+      queued.add(center.asLong());
+      enqueueNeighbors(center.getX(), center.getY(), center.getZ());
+    }
+
+    @Override
+    public boolean hasNext() {
+      return visited < cap && !frontier.isEmpty();
+    }
+
+    /**
+     * Checks up to the given amount of positions, visiting every mature crop of the field found.
+     *
+     * @param budget maximum amount of positions to check.
+     * @param visitor {@link CropVisitor} to call for each crop found.
+     * @return the amount of positions checked.
+     */
+    @Override
+    public int scan(int budget, CropVisitor visitor) {
+      int scanned = 0;
+      for (; scanned < budget && hasNext(); scanned++) {
+        long packed = frontier.dequeueLong();
+        int x = BlockPos.unpackLongX(packed), y = BlockPos.unpackLongY(packed), z = BlockPos.unpackLongZ(packed);
+        ChunkSection section = getSection(x, y, z);
+        if (section != null) {
+          BlockState state = section.getBlockState(ChunkSectionPos.getLocalCoord(x), ChunkSectionPos.getLocalCoord(y), ChunkSectionPos.getLocalCoord(z));
+          CropProfile crop = state.isOf(block) ? HarvestWithEaseAPI.probe(state) : null;
+          if (crop != null && crop.isMature(state)) {
+            visited++;
+            visitor.visit(pos.set(x, y, z), state, crop);
+            enqueueNeighbors(x, y, z);
+          }
+        }
+      }
+      sections.clear();
+      return scanned;
+    }
+
+    /**
+     * Queues all positions connected to the given one that were never queued before.
+     *
+     * @param x
+     * @param y
+     * @param z
+     */
+    private void enqueueNeighbors(int x, int y, int z) {
+      for (int column = 0; column < COLUMNS.length; column += 2) {
+        int neighborX = x + COLUMNS[column], neighborZ = z + COLUMNS[column + 1];
+        for (int neighborY = minY; neighborY <= maxY; neighborY++) {
+          long packed = BlockPos.asLong(neighborX, neighborY, neighborZ);
+          if (queued.add(packed)) {
+            frontier.enqueue(packed);
+          }
+        }
+      }
+    }
+
+    /**
+     * Returns the section holding the given position, fetching it only once per {@link #scan(int, CropVisitor) scan} call.
+     *
+     * @param x
+     * @param y
+     * @param z
+     * @return the section or {@code null} if its chunk is not loaded.
+     */
+    @Nullable
+    private ChunkSection getSection(int x, int y, int z) {
+      long key = ChunkSectionPos.asLong(ChunkSectionPos.getSectionCoord(x), ChunkSectionPos.getSectionCoord(y), ChunkSectionPos.getSectionCoord(z));
+      if (sections.containsKey(key)) {
+        return sections.get(key);
+      }
+      WorldChunk chunk = world.getChunkManager().getWorldChunk(ChunkSectionPos.getSectionCoord(x), ChunkSectionPos.getSectionCoord(z));
+      if (chunk == null && !clipped) {
+        clipped = true;
+        Diagnostics.record(Counter.UNLOADED_CLIPS);
+      }
+      ChunkSection section = chunk == null ? null : chunk.getSection(world.getSectionIndex(y));
+      sections.put(key, section);
+      return section;
+    }
+  }
+
+  /**
+   * Scan of the mature crops of a horizontal square area {@link CropDiscovery discovered} off the server thread, in spiral order.
+   * <p>
+   * Nothing is scanned until the discovery completes. Each discovered position is then checked again,
+   * since the world may have changed in the meantime, reading only from chunks that are still loaded.
+   */
+  public static final class Candidates implements Scan {
+    /**
+     * {@link World} to scan.
+     */
+    private final World world;
+    /**
+     * Running discovery, yielding the {@link BlockPos#asLong() packed positions} of the crops.
+     */
+    private final ForkJoinTask<long[]> discovery;
+    /**
+     * {@link BlockPos.Mutable Mutable position} reused across visits.
+     */
+    private final BlockPos.Mutable pos = new BlockPos.Mutable();
+    /**
+     * Discovered positions, {@code null} until the discovery completes.
+     */
+    private long[] positions = null;
+    /**
+     * Index of the next position to check.
+     */
+    private int next = 0;
+
+    /**
+     * Starts discovering the crops in the square of the given radius around the given center, the center itself excluded.
+     *
+     * @param world {@link #world}.
+     * @param center {@link BlockPos} at the center of the area.
+     * @param radius distance from the center to the edges of the area.
+     */
+    public Candidates(World world, BlockPos center, int radius) {
+      this.world = world;
+      this.discovery = CropDiscovery.start(world, center, radius);
+    }
+
+    /**
+     * Whether the discovery completed.
+     *
+     * @return whether the discovery completed.
+     */
+    @Override
+    public boolean isReady() {
+      return positions != null || discovery.isDone();
+    }
+
+    /**
+     * Whether there are still positions to check, always {@code true} until the discovery completes.
+     *
+     * @return whether there are still positions to check.
+     */
+    @Override
+    public boolean hasNext() {
+      return positions == null || next < positions.length;
+    }
+
+    /**
+     * Checks up to the given amount of discovered positions, visiting every {@link HarvestWithEaseAPI#probe(BlockState) crop} still there.
+     * <p>
+     * A failed discovery is {@link Counter#HARVEST_ERRORS counted} and treated as if it found nothing.
+     *
+     * @param budget maximum amount of positions to check.
+     * @param visitor {@link CropVisitor} to call for each crop found.
+     * @return the amount of positions checked, {@code 0} while the discovery is running.
+     */
+    @Override
+    public int scan(int budget, CropVisitor visitor) {
+      if (positions == null) {
+        if (!discovery.isDone()) {
+          return 0;
+        }
+        try {
+          positions = discovery.join();
+        } catch (RuntimeException e) {
+          Diagnostics.record(Counter.HARVEST_ERRORS, e);
+          positions = new long[0];
+        }
+      }
+      int scanned = 0;
+      for (; scanned < budget && hasNext(); scanned++) {
+        pos.set(positions[next++]);
+        if (world.isChunkLoaded(pos)) {
+          BlockState state = world.getBlockState(pos);
+          CropProfile crop = HarvestWithEaseAPI.probe(state);
+          if (crop != null) {
+            visitor.visit(pos, state, crop);
+          }
+        }
+      }
+      return scanned;
+    }
+  }
+
+  /**
+   * Palette predicate matching any {@link HarvestWithEaseAPI#probe(BlockState) crop} state.
+   *
+   * @param state
+   * @return whether the given state is a crop.
+   */
+  static boolean isCrop(BlockState state) {
+    return HarvestWithEaseAPI.probe(state) != null;
+  }
+
+  /**
+   * Resumable scan of an area, a given amount of positions at a time.
+   */
+  public interface Scan {
+    /**
+     * Whether the scan can make progress right now, rather than waiting for work off the server thread.
+     *
+     * @return whether the scan can make progress.
+     */
+    default boolean isReady() {
+      return true;
+    }
+
+    /**
+     * Whether there are still positions to scan.
+     *
+     * @return whether there are still positions to scan.
+     */
+    boolean hasNext();
+
+    /**
+     * Scans up to the given amount of positions, visiting every crop found.
+     *
+     * @param budget maximum amount of positions to scan.
+     * @param visitor {@link CropVisitor} to call for each crop found.
+     * @return the amount of positions scanned.
+     */
+    int scan(int budget, CropVisitor visitor);
+  }
+
+  /**
+   * Callback for each crop found by {@link Scan scans} and {@link #scan(World, BlockPos, int, CropVisitor)}.
+   */
+  @FunctionalInterface
+  public interface CropVisitor {
+    /**
+     * Visits a crop.
+     *
+     * @param pos {@link BlockPos.Mutable mutable position} of the crop, reused across calls: use {@link BlockPos#toImmutable()} to keep it.
+     * @param state {@link BlockState} of the crop.
+     * @param crop {@link CropProfile} of the crop.
+     */
+    void visit(BlockPos.Mutable pos, BlockState state, CropProfile crop);
+  }
+}
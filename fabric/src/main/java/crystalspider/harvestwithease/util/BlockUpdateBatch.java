@@ -0,0 +1,130 @@
+package crystalspider.harvestwithease.util;
+
+import it.unimi.dsi.fastutil.longs.Long2LongLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.shorts.ShortOpenHashSet;
+import it.unimi.dsi.fastutil.shorts.ShortSet;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.network.packet.s2c.play.ChunkDeltaUpdateS2CPacket;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.world.chunk.WorldChunk;
+
+/**
+ * Batch of block state changes whose updates are coalesced.
+ * <p>
+ * Changes are applied to the world right away, but without neighbor, shape or client updates.
+ * On {@link #flush()}, neighbors are notified once each, shape updates skip positions that were changed in the same batch
+ * and every touched section is sent to the players tracking it as a single {@link ChunkDeltaUpdateS2CPacket}.
+ * <p>
+ * Neighbors in chunks that are not loaded are left alone rather than loading their chunk.
+ * <p>
+ * Meant for crops, whose neighbors never depend on their age: changing many of them at once must not cascade updates through the whole field.
+ */
+public final class BlockUpdateBatch {
+  /**
+   * Flags used to set block states: no neighbor, shape or client updates.
+   */
+  private static final int FLAGS = Block.FORCE_STATE;
+  /**
+   * Flags used for the deferred shape updates, same as {@link Block#NOTIFY_ALL} minus the neighbor updates already handled by the batch.
+   */
+  private static final int SHAPE_UPDATE_FLAGS = Block.NOTIFY_LISTENERS;
+  /**
+   * Recursion left for the deferred shape updates, same as a plain {@link ServerWorld#setBlockState(BlockPos, BlockState, int) setBlockState}.
+   */
+  private static final int SHAPE_UPDATE_RECURSION = 511;
+
+  /**
+   * {@link ServerWorld} the changes are applied to.
+   */
+  private final ServerWorld world;
+  /**
+   * {@link BlockPos#asLong() Packed positions} changed since the last {@link #flush()}, in order.
+   */
+  private final LongLinkedOpenHashSet changed = new LongLinkedOpenHashSet();
+
+  /**
+   * @param world {@link #world}.
+   */
+  public BlockUpdateBatch(ServerWorld world) {
+    this.world = world;
+  }
+
+  /**
+   * Sets the given state at the given position, deferring all updates to the next {@link #flush()}.
+   *
+   * @param pos {@link BlockPos} to change.
+   * @param state new {@link BlockState}.
+   */
+  public void setBlockState(BlockPos pos, BlockState state) {
+    if (world.setBlockState(pos, state, FLAGS)) {
+      changed.add(pos.asLong());
+    }
+  }
+
+  /**
+   * Notifies neighbors, updates neighbor shapes and sends section updates for all changes since the last flush.
+   */
+  public void flush() {
+    if (changed.isEmpty()) {
+      return;
+    }
+    Long2LongMap neighbors = new Long2LongLinkedOpenHashMap();
+    Long2ObjectMap<ShortSet> sections = new Long2ObjectOpenHashMap<>();
+    BlockPos.Mutable mutable = new BlockPos.Mutable();
+    for (LongIterator iterator = changed.iterator(); iterator.hasNext(); ) {
+      long packed = iterator.nextLong();
+      for (Direction direction : Direction.values()) {
+        long neighborPacked = BlockPos.offset(packed, direction);
+        if (!changed.contains(neighborPacked) && world.isChunkLoaded(ChunkSectionPos.getSectionCoord(BlockPos.unpackLongX(neighborPacked)), ChunkSectionPos.getSectionCoord(BlockPos.unpackLongZ(neighborPacked)))) {
+          neighbors.putIfAbsent(neighborPacked, packed);
+        }
+      }
+      sections.computeIfAbsent(ChunkSectionPos.fromBlockPos(packed), section -> new ShortOpenHashSet()).add(ChunkSectionPos.packLocal(mutable.set(packed)));
+    }
+    for (Long2LongMap.Entry entry : neighbors.long2LongEntrySet()) {
+      BlockPos source = BlockPos.fromLong(entry.getLongValue());
+      world.updateNeighbor(BlockPos.fromLong(entry.getLongKey()), world.getBlockState(source).getBlock(), source);
+    }
+    for (LongIterator iterator = changed.iterator(); iterator.hasNext(); ) {
+      BlockPos pos = BlockPos.fromLong(iterator.nextLong());
+      BlockState state = world.getBlockState(pos);
+      for (Direction direction : Direction.values()) {
+        BlockPos neighborPos = pos.offset(direction);
+        if (!changed.contains(neighborPos.asLong()) && world.isChunkLoaded(neighborPos)) {
+          world.replaceWithStateForNeighborUpdate(direction.getOpposite(), state, neighborPos, pos, SHAPE_UPDATE_FLAGS, SHAPE_UPDATE_RECURSION);
+        }
+      }
+    }
+    for (Long2ObjectMap.Entry<ShortSet> entry : sections.long2ObjectEntrySet()) {
+      sendSection(ChunkSectionPos.from(entry.getLongKey()), entry.getValue());
+    }
+    changed.clear();
+  }
+
+  /**
+   * Sends the changed positions of the given section to all players tracking it, with a single packet.
+   *
+   * @param sectionPos {@link ChunkSectionPos} of the section.
+   * @param positions {@link ChunkSectionPos#packLocal(BlockPos) section relative positions} changed.
+   */
+  private void sendSection(ChunkSectionPos sectionPos, ShortSet positions) {
+    WorldChunk chunk = world.getChunkManager().getWorldChunk(sectionPos.getSectionX(), sectionPos.getSectionZ());
+    if (chunk != null) {
+      ChunkDeltaUpdateS2CPacket packet = new ChunkDeltaUpdateS2CPacket(sectionPos, positions, chunk.getSection(world.sectionCoordToIndex(sectionPos.getSectionY())));
+      for (ServerPlayerEntity player : world.getChunkManager().threadedAnvilChunkStorage.getPlayersWatchingChunk(new ChunkPos(sectionPos.getSectionX(), sectionPos.getSectionZ()), false)) {
+        player.networkHandler.sendPacket(packet);
+      }
+    }
+  }
+}
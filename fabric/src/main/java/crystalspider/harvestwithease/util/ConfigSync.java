@@ -0,0 +1,77 @@
+package crystalspider.harvestwithease.util;
+
+import crystalspider.harvestwithease.config.CompiledConfig;
+import crystalspider.harvestwithease.config.ModConfig;
+import crystalspider.harvestwithease.config.SyncedConfig;
+import crystalspider.harvestwithease.network.ConfigSyncPacket;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+/**
+ * Syncs the {@link SyncedConfig harvest configuration} to the clients with this mod, when they join and whenever it changes.
+ * <p>
+ * Changes are caught by comparing the current {@link ModConfig#getCompiled() snapshot} once per server tick, then its {@link SyncedConfig#hash() version hash},
+ * so that configuration and tag reloads that leave the synced values untouched send nothing.
+ * The single player host shares the configuration of the server and is never synced.
+ * <p>
+ * Only ever accessed from the server thread.
+ */
+public final class ConfigSync {
+  /**
+   * {@link CompiledConfig} snapshot last checked for changes.
+   */
+  private static CompiledConfig lastConfig = null;
+  /**
+   * {@link SyncedConfig#hash() Version hash} of the values last sent.
+   */
+  private static int lastHash = 0;
+
+  private ConfigSync() {
+  }
+
+  /**
+   * Sends the current values to the given player.
+   *
+   * @param player {@link ServerPlayerEntity} that just joined.
+   */
+  public static void send(ServerPlayerEntity player) {
+    SyncedConfig config = SyncedConfig.of(ModConfig.getCompiled());
+    lastHash = config.hash();
+    send(player, lastHash, config);
+  }
+
+  /**
+   * Sends the current values to all the players, if they changed since last sent.
+   *
+   * @param server {@link MinecraftServer} whose tick is ending.
+   */
+  public static void flush(MinecraftServer server) {
+    CompiledConfig compiled = ModConfig.getCompiled();
+    if (compiled == lastConfig) {
+      return;
+    }
+    lastConfig = compiled;
+    SyncedConfig config = SyncedConfig.of(compiled);
+    int hash = config.hash();
+    if (hash != lastHash) {
+      lastHash = hash;
+      for (ServerPlayerEntity player : server.getPlayerManager().getPlayerList()) {
+        send(player, hash, config);
+      }
+    }
+  }
+
+  /**
+   * Sends the given values to the given player, if it has this mod and does not share the configuration of the server.
+   *
+   * @param player {@link ServerPlayerEntity} to sync.
+   * @param hash {@link SyncedConfig#hash() version hash} of the values.
+   * @param config {@link SyncedConfig} to send.
+   */
+  private static void send(ServerPlayerEntity player, int hash, SyncedConfig config) {
+    if (!player.server.isHost(player.getGameProfile()) && ServerPlayNetworking.canSend(player, ConfigSyncPacket.ID)) {
+      ServerPlayNetworking.send(player, ConfigSyncPacket.ID, ConfigSyncPacket.write(hash, config));
+    }
+  }
+}
@@ -0,0 +1,211 @@
+package crystalspider.harvestwithease.util;
+
+import crystalspider.harvestwithease.api.CropProfile;
+import crystalspider.harvestwithease.api.CropTable;
+import crystalspider.harvestwithease.api.HarvestWithEaseAPI;
+import crystalspider.harvestwithease.util.Diagnostics.Counter;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongArrays;
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.PalettedContainer;
+import net.minecraft.world.chunk.WorldChunk;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+
+import static crystalspider.harvestwithease.ModLoader.MOD_ID;
+
+/**
+ * Discovers the mature crops of a horizontal square area off the server thread.
+ * <p>
+ * {@link #start(World, BlockPos, int) Starting} a discovery copies, on the server thread, the block states of the sections at the area height
+ * whose palette holds a crop state, then workers classify the positions of the copies in parallel, a few sections per task.
+ * The result is the {@link BlockPos#asLong() packed positions} of the mature crops in spiral order, ring by ring outwards from the center.
+ * Workers only ever read the copies and a {@link CropTable#snapshot() snapshot} of the crop table taken along with them:
+ * neither the world nor the configuration are touched off the server thread, which must check each position again
+ * before harvesting it since the world may have changed in the meantime.
+ * <p>
+ * Just like {@link AreaScanner}, only chunks that are already loaded are read and the clipped area is {@link Counter#UNLOADED_CLIPS counted}.
+ */
+public final class CropDiscovery {
+  /**
+   * Maximum amount of sections classified by a single task before it is split.
+   */
+  private static final int SECTIONS_PER_TASK = 4;
+
+  /**
+   * Pool of the workers, leaving a core to the server thread.
+   */
+  private static final ForkJoinPool POOL = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1), pool -> {
+    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+    thread.setName(MOD_ID + "-discovery-" + thread.getPoolIndex());
+    thread.setContextClassLoader(CropDiscovery.class.getClassLoader());
+    return thread;
+  }, null, false);
+
+  private CropDiscovery() {
+  }
+
+  /**
+   * Starts discovering the mature {@link HarvestWithEaseAPI#probe(BlockState) crops} in the square of the given radius around the given center, the center itself excluded.
+   * <p>
+   * Must be called from the server thread, which is done with the world as soon as this returns.
+   *
+   * @param world {@link World} to scan.
+   * @param center {@link BlockPos} at the center of the area.
+   * @param radius distance from the center to the edges of the area.
+   * @return the running {@link ForkJoinTask}, yielding the packed positions of the mature crops in spiral order.
+   */
+  public static ForkJoinTask<long[]> start(World world, BlockPos center, int radius) {
+    CropProfile[] table = CropTable.snapshot();
+    List<Snapshot> snapshots = new ArrayList<>();
+    int y = center.getY();
+    if (radius > 0 && !world.isOutOfHeightLimit(y)) {
+      int sectionIndex = world.getSectionIndex(y);
+      boolean clipped = false;
+      for (int chunkX = ChunkSectionPos.getSectionCoord(center.getX() - radius); chunkX <= ChunkSectionPos.getSectionCoord(center.getX() + radius); chunkX++) {
+        for (int chunkZ = ChunkSectionPos.getSectionCoord(center.getZ() - radius); chunkZ <= ChunkSectionPos.getSectionCoord(center.getZ() + radius); chunkZ++) {
+          WorldChunk chunk = world.getChunkManager().getWorldChunk(chunkX, chunkZ);
+          if (chunk == null) {
+            clipped = true;
+            continue;
+          }
+          ChunkSection section = chunk.getSection(sectionIndex);
+          if (!section.isEmpty() && section.hasAny(AreaScanner::isCrop)) {
+            snapshots.add(new Snapshot(chunkX, chunkZ, section.getBlockStateContainer().copy()));
+          }
+        }
+      }
+      if (clipped) {
+        Diagnostics.record(Counter.UNLOADED_CLIPS);
+      }
+    }
+    BlockPos origin = center.toImmutable();
+    Classification classification = new Classification(table, snapshots.toArray(Snapshot[]::new), 0, snapshots.size(), origin, radius);
+    return POOL.submit(() -> {
+      long[] positions = classification.invoke().toLongArray();
+      LongArrays.quickSort(positions, (first, second) -> Long.compare(spiralIndex(origin, first), spiralIndex(origin, second)));
+      return positions;
+    });
+  }
+
+  /**
+   * Returns the index of the given position in the spiral order around the given center.
+   * <p>
+   * Each ring starts at its lowest corner and goes along increasing x, then increasing z, then decreasing x and finally decreasing z.
+   *
+   * @param center {@link BlockPos} at the center of the spiral.
+   * @param pos {@link BlockPos#asLong() packed position}.
+   * @return the index of the position, {@code 0} being the first position of the ring right around the center.
+   */
+  private static long spiralIndex(BlockPos center, long pos) {
+    int x = BlockPos.unpackLongX(pos) - center.getX(), z = BlockPos.unpackLongZ(pos) - center.getZ();
+    int ring = Math.max(Math.abs(x), Math.abs(z));
+    int step;
+    if (z == -ring && x < ring) {
+      step = x + ring;
+    } else if (x == ring && z < ring) {
+      step = 3 * ring + z;
+    } else if (z == ring && x > -ring) {
+      step = 5 * ring - x;
+    } else {
+      step = 7 * ring - z;
+    }
+    return (2L * ring - 1) * (2L * ring - 1) - 1 + step;
+  }
+
+  /**
+   * Copy of the block states of a chunk section.
+   *
+   * @param chunkX x coordinate of the chunk.
+   * @param chunkZ z coordinate of the chunk.
+   * @param states {@link PalettedContainer} copied from the section.
+   */
+  private record Snapshot(int chunkX, int chunkZ, PalettedContainer<BlockState> states) {
+  }
+
+  /**
+   * Classification of the positions of a range of {@link Snapshot snapshots}, split in halves until each task holds at most {@link #SECTIONS_PER_TASK} sections.
+   */
+  private static final class Classification extends RecursiveTask<LongArrayList> {
+    /**
+     * {@link CropTable#snapshot() Snapshot} of the crop table.
+     */
+    private final CropProfile[] table;
+    /**
+     * {@link Snapshot Snapshots} of the area.
+     */
+    private final Snapshot[] snapshots;
+    /**
+     * Index of the first snapshot to classify, inclusive.
+     */
+    private final int from;
+    /**
+     * Index of the last snapshot to classify, exclusive.
+     */
+    private final int to;
+    /**
+     * {@link BlockPos} at the center of the area.
+     */
+    private final BlockPos center;
+    /**
+     * Distance from the center to the edges of the area.
+     */
+    private final int radius;
+
+    /**
+     * @param table {@link #table}.
+     * @param snapshots {@link #snapshots}.
+     * @param from {@link #from}.
+     * @param to {@link #to}.
+     * @param center {@link #center}.
+     * @param radius {@link #radius}.
+     */
+    private Classification(CropProfile[] table, Snapshot[] snapshots, int from, int to, BlockPos center, int radius) {
+      this.table = table;
+      this.snapshots = snapshots;
+      this.from = from;
+      this.to = to;
+      this.center = center;
+      this.radius = radius;
+    }
+
+    @Override
+    protected LongArrayList compute() {
+      if (to - from > SECTIONS_PER_TASK) {
+        int middle = (from + to) >>> 1;
+        Classification left = new Classification(table, snapshots, from, middle, center, radius);
+        left.fork();
+        LongArrayList found = new Classification(table, snapshots, middle, to, center, radius).compute();
+        found.addAll(left.join());
+        return found;
+      }
+      LongArrayList found = new LongArrayList();
+      int y = center.getY(), localY = ChunkSectionPos.getLocalCoord(y);
+      int minX = center.getX() - radius, maxX = center.getX() + radius, minZ = center.getZ() - radius, maxZ = center.getZ() + radius;
+      for (int index = from; index < to; index++) {
+        Snapshot snapshot = snapshots[index];
+        int fromX = Math.max(minX, ChunkSectionPos.getBlockCoord(snapshot.chunkX())), toX = Math.min(maxX, ChunkSectionPos.getOffsetPos(snapshot.chunkX(), 15));
+        int fromZ = Math.max(minZ, ChunkSectionPos.getBlockCoord(snapshot.chunkZ())), toZ = Math.min(maxZ, ChunkSectionPos.getOffsetPos(snapshot.chunkZ(), 15));
+        for (int z = fromZ; z <= toZ; z++) {
+          for (int x = fromX; x <= toX; x++) {
+            BlockState state = snapshot.states().get(ChunkSectionPos.getLocalCoord(x), localY, ChunkSectionPos.getLocalCoord(z));
+            CropProfile crop = CropTable.get(table, state);
+            if (crop != null && crop.crop() && crop.isMature(state) && (x != center.getX() || z != center.getZ())) {
+              found.add(BlockPos.asLong(x, y, z));
+            }
+          }
+        }
+      }
+      return found;
+    }
+  }
+}
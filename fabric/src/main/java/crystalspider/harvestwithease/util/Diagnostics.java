@@ -0,0 +1,197 @@
+package crystalspider.harvestwithease.util;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import static crystalspider.harvestwithease.ModLoader.MOD_ID;
+
+/**
+ * Runtime diagnostics counters.
+ * <p>
+ * Recording an occurrence is a single counter increment, nothing is formatted or logged on the hot path.
+ * Counters are summed up into a single warning at most once per {@link #REPORT_INTERVAL report interval}, naming the subjects they were most recorded for, if any.
+ */
+public final class Diagnostics {
+  /**
+   * Logger.
+   */
+  private static final Logger LOGGER = LoggerFactory.getLogger(MOD_ID);
+
+  /**
+   * Minimum time between two reports, in nanoseconds.
+   */
+  private static final long REPORT_INTERVAL = TimeUnit.MINUTES.toNanos(1);
+  /**
+   * Maximum amount of subjects named for each counter in a report.
+   */
+  private static final int MAX_SUBJECTS = 5;
+
+  /**
+   * {@link System#nanoTime() Time} after which the next report can be logged.
+   */
+  private static final AtomicLong nextReport = new AtomicLong(System.nanoTime());
+
+  /**
+   * Last cause recorded since the previous report, if any.
+   */
+  private static final AtomicReference<Throwable> lastCause = new AtomicReference<>();
+
+  private Diagnostics() {
+  }
+
+  /**
+   * Records one occurrence of the given {@link Counter}.
+   *
+   * @param counter
+   */
+  public static void record(Counter counter) {
+    record(counter, (Throwable) null);
+  }
+
+  /**
+   * Records one occurrence of the given {@link Counter}, remembering its cause for the next report.
+   * <p>
+   * Occurrences of counters that are not {@link Counter#reported} are only summed into their total.
+   *
+   * @param counter
+   * @param cause
+   */
+  public static void record(Counter counter, @Nullable Throwable cause) {
+    counter.total.increment();
+    if (counter.reported) {
+      counter.pending.increment();
+      if (cause != null) {
+        lastCause.set(cause);
+      }
+      report();
+    }
+  }
+
+  /**
+   * Records one occurrence of the given {@link Counter}, attributing it to the given subject for the next report.
+   *
+   * @param counter
+   * @param subject name of what the occurrence is due to, e.g. a player name.
+   */
+  public static void record(Counter counter, String subject) {
+    if (counter.reported) {
+      counter.subjects.computeIfAbsent(subject, key -> new LongAdder()).increment();
+    }
+    record(counter, (Throwable) null);
+  }
+
+  /**
+   * Returns the total number of occurrences of the given {@link Counter} since the game started.
+   *
+   * @param counter
+   * @return total number of occurrences.
+   */
+  public static long get(Counter counter) {
+    return counter.total.sum();
+  }
+
+  /**
+   * Logs a single warning summing up all pending counters, if the {@link #REPORT_INTERVAL report interval} has elapsed.
+   */
+  private static void report() {
+    long now = System.nanoTime(), next = nextReport.get();
+    if (now - next >= 0 && nextReport.compareAndSet(next, now + REPORT_INTERVAL)) {
+      StringJoiner summary = new StringJoiner(", ");
+      for (Counter counter : Counter.values()) {
+        long pending = counter.pending.sumThenReset();
+        if (pending > 0) {
+          summary.add(pending + " " + counter.description + counter.drainSubjects());
+        }
+      }
+      if (summary.length() > 0) {
+        LOGGER.warn("Diagnostics for mod " + MOD_ID + " since last report: " + summary + ".", lastCause.getAndSet(null));
+      }
+    }
+  }
+
+  /**
+   * Diagnostics counters.
+   */
+  public enum Counter {
+    /**
+     * Harvests aborted because of an unexpected crop state.
+     */
+    HARVEST_ERRORS("harvests aborted because of an unexpected crop state", true),
+    /**
+     * Multi-harvests clipped because part of their area was in chunks not loaded.
+     * Expected near the edge of the loaded area, hence not reported.
+     */
+    UNLOADED_CLIPS("multi-harvests clipped to the loaded chunks", false),
+    /**
+     * Right-clicks on crops ignored because the player ran out of {@link HarvestRateLimiter rate limit} tokens, recorded by player name.
+     */
+    THROTTLED_HARVESTS("right-click harvests throttled by the rate limit", true);
+
+    /**
+     * Human readable description, used in reports.
+     */
+    private final String description;
+
+    /**
+     * Whether occurrences are summed up in the periodic warning.
+     */
+    private final boolean reported;
+
+    /**
+     * Occurrences since the game started.
+     */
+    private final LongAdder total = new LongAdder();
+
+    /**
+     * Occurrences since the last report.
+     */
+    private final LongAdder pending = new LongAdder();
+
+    /**
+     * Occurrences since the last report, by subject.
+     */
+    private final Map<String, LongAdder> subjects = new ConcurrentHashMap<>();
+
+    /**
+     * @param description {@link #description}.
+     * @param reported {@link #reported}.
+     */
+    Counter(String description, boolean reported) {
+      this.description = description;
+      this.reported = reported;
+    }
+
+    /**
+     * Lists the subjects with the most occurrences since the last report, up to {@link #MAX_SUBJECTS}, and forgets them all.
+     *
+     * @return the subjects and their occurrences formatted for a report, empty if there is none.
+     */
+    private String drainSubjects() {
+      if (subjects.isEmpty()) {
+        return "";
+      }
+      List<Map.Entry<String, Long>> counts = new ArrayList<>();
+      for (Map.Entry<String, LongAdder> entry : subjects.entrySet()) {
+        counts.add(Map.entry(entry.getKey(), entry.getValue().sum()));
+      }
+      subjects.clear();
+      counts.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+      StringJoiner list = new StringJoiner(", ", " (", ")");
+      for (Map.Entry<String, Long> count : counts.subList(0, Math.min(MAX_SUBJECTS, counts.size()))) {
+        list.add(count.getKey() + ": " + count.getValue());
+      }
+      return list.toString();
+    }
+  }
+}
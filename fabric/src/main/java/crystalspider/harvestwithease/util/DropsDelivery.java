@@ -0,0 +1,220 @@
+package crystalspider.harvestwithease.util;
+
+import net.fabricmc.fabric.api.transfer.v1.item.ItemVariant;
+import net.fabricmc.fabric.api.transfer.v1.storage.Storage;
+import net.fabricmc.fabric.api.transfer.v1.transaction.Transaction;
+import net.minecraft.entity.ItemEntity;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.stat.Stats;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Delivers harvest drops, sparing new item entities where possible.
+ */
+public final class DropsDelivery {
+  /**
+   * How far around the crop block to look for item entities to top up.
+   */
+  private static final double MERGE_RANGE = 1;
+  /**
+   * Maximum age, in ticks, of the item entities to top up, so that merged drops are not doomed to despawn early.
+   */
+  private static final int MERGE_MAX_AGE = 1200;
+
+  private DropsDelivery() {
+  }
+
+  /**
+   * Inserts the given drops straight into the player's inventory, as if the player had picked them up from the ground.
+   * <p>
+   * Awards the pickup statistics, so that they keep track of the items.
+   *
+   * @param player {@link ServerPlayerEntity} to give the drops to.
+   * @param drops {@link ItemStack stacks} to give, changed in place.
+   * @return what did not fit in the inventory, {@link #merge(List, ItemStack) merged} into as few stacks as possible.
+   *   All of the drops if the player left the server, died or was removed from the level, so that they fall back to the world.
+   */
+  public static List<ItemStack> toInventory(ServerPlayerEntity player, List<ItemStack> drops) {
+    List<ItemStack> leftovers = new ArrayList<>();
+    if (player.isDisconnected() || !player.isAlive()) {
+      for (ItemStack drop : drops) {
+        merge(leftovers, drop);
+      }
+      return leftovers;
+    }
+    for (ItemStack drop : drops) {
+      if (drop.isEmpty()) {
+        continue;
+      }
+      ItemStack picked = drop.copy();
+      player.getInventory().insertStack(drop);
+      picked.decrement(drop.getCount());
+      if (!picked.isEmpty()) {
+        player.increaseStat(Stats.PICKED_UP.getOrCreateStat(picked.getItem()), picked.getCount());
+      }
+      merge(leftovers, drop);
+    }
+    return leftovers;
+  }
+
+  /**
+   * Inserts the given drops into the {@link StorageLocator storage} of the crop at the given position, if any.
+   *
+   * @param world {@link ServerWorld} of the crop.
+   * @param cropPos {@link BlockPos} of the crop base.
+   * @param radius how far from the crop to look for storage, besides right below its farmland.
+   * @param drops {@link ItemStack stacks} to insert.
+   * @return what could not be inserted, {@link #merge(List, ItemStack) merged} into as few stacks as possible.
+   */
+  public static List<ItemStack> toStorage(ServerWorld world, BlockPos cropPos, int radius, List<ItemStack> drops) {
+    Storage<ItemVariant> storage = StorageLocator.find(world, cropPos, radius);
+    if (storage == null) {
+      return drops;
+    }
+    List<ItemStack> leftovers = new ArrayList<>();
+    try (Transaction transaction = Transaction.openOuter()) {
+      for (ItemStack drop : drops) {
+        if (!drop.isEmpty()) {
+          drop.decrement((int) storage.insert(ItemVariant.of(drop), drop.getCount(), transaction));
+          merge(leftovers, drop);
+        }
+      }
+      transaction.commit();
+    }
+    return leftovers;
+  }
+
+  /**
+   * Tops up the recent item entities around the crop with the given drops, instead of waiting for the new entities to merge with them while ticking.
+   * Drops of the same item are merged together first, so that each item needs as few new entities as possible.
+   * <p>
+   * Only the item entities the drops would merge with on their own are topped up: neither owned nor targeted, without pickup delay and not about to despawn.
+   *
+   * @param world {@link ServerWorld} of the crop.
+   * @param nearby {@link NearbyItems} of the harvest area, {@code null} to look up the item entities around the crop alone.
+   * @param cropPos {@link BlockPos} of the crop base.
+   * @param drops {@link ItemStack stacks} to drop, left unchanged.
+   * @return what is left to drop as new item entities.
+   */
+  public static List<ItemStack> toNearbyItems(ServerWorld world, @Nullable NearbyItems nearby, BlockPos cropPos, List<ItemStack> drops) {
+    List<ItemStack> merged = new ArrayList<>();
+    for (ItemStack drop : drops) {
+      if (!drop.isEmpty()) {
+        merge(merged, drop.copy());
+      }
+    }
+    if (merged.isEmpty()) {
+      return merged;
+    }
+    Box box = new Box(cropPos).expand(MERGE_RANGE);
+    List<ItemEntity> entities = nearby != null ? nearby.within(box) : world.getEntitiesByClass(ItemEntity.class, box, DropsDelivery::canTopUp);
+    for (ItemEntity entity : entities) {
+      ItemStack existing = entity.getStack();
+      for (ItemStack drop : merged) {
+        int count = Math.min(drop.getCount(), existing.getMaxCount() - existing.getCount());
+        if (count > 0 && ItemStack.canCombine(existing, drop)) {
+          existing = existing.copyWithCount(existing.getCount() + count);
+          entity.setStack(existing);
+          drop.decrement(count);
+        }
+      }
+    }
+    merged.removeIf(ItemStack::isEmpty);
+    return merged;
+  }
+
+  /**
+   * Merges the given stack into the given list, filling existing stacks of the same item before adding a new one.
+   *
+   * @param stacks {@link ItemStack stacks} to merge into.
+   * @param stack {@link ItemStack} to merge, changed in place.
+   */
+  public static void merge(List<ItemStack> stacks, ItemStack stack) {
+    for (ItemStack existing : stacks) {
+      if (stack.isEmpty()) {
+        return;
+      }
+      if (existing.getCount() < existing.getMaxCount() && ItemStack.canCombine(existing, stack)) {
+        int count = Math.min(stack.getCount(), existing.getMaxCount() - existing.getCount());
+        existing.increment(count);
+        stack.decrement(count);
+      }
+    }
+    if (!stack.isEmpty()) {
+      stacks.add(stack);
+    }
+  }
+
+  /**
+   * Whether harvest drops can top up the given item entity, that is whether the drops would merge with it on their own.
+   * <p>
+   * The target of an item entity has no getter, so it is read back from its NBT, only once every cheaper check has passed.
+   *
+   * @param entity {@link ItemEntity} to check.
+   * @return whether the given item entity can be topped up.
+   */
+  private static boolean canTopUp(ItemEntity entity) {
+    return entity.isAlive() && entity.getItemAge() >= 0 && entity.getItemAge() < MERGE_MAX_AGE && !entity.cannotPickup() && entity.getOwner() == null && !entity.writeNbt(new NbtCompound()).containsUuid("Owner");
+  }
+
+  /**
+   * Item entities around the crops of a square harvest area, looked up once for the whole area.
+   * <p>
+   * Item entities are filtered again each time they are used, since they may have changed since the lookup.
+   * Crops outside the area, like the bases of tall crops far below, look up their own item entities.
+   */
+  public static final class NearbyItems {
+    /**
+     * {@link ServerWorld} of the harvest.
+     */
+    private final ServerWorld world;
+    /**
+     * Bounds of the harvest area, grown by the merge range.
+     */
+    private final Box bounds;
+    /**
+     * Item entities within the {@link #bounds}, {@code null} until first needed.
+     */
+    private List<ItemEntity> entities = null;
+
+    /**
+     * @param world {@link #world}.
+     * @param center {@link BlockPos} at the center of the harvest area.
+     * @param radius distance from the center to the edges of the harvest area.
+     */
+    public NearbyItems(ServerWorld world, BlockPos center, int radius) {
+      this.world = world;
+      this.bounds = new Box(center).expand(radius + MERGE_RANGE, 1 + MERGE_RANGE, radius + MERGE_RANGE);
+    }
+
+    /**
+     * Returns the item entities within the given box that can be {@link #canTopUp(ItemEntity) topped up}.
+     *
+     * @param box {@link Box} to look within.
+     * @return the item entities within the given box.
+     */
+    private List<ItemEntity> within(Box box) {
+      if (box.minX < bounds.minX || box.minY < bounds.minY || box.minZ < bounds.minZ || box.maxX > bounds.maxX || box.maxY > bounds.maxY || box.maxZ > bounds.maxZ) {
+        return world.getEntitiesByClass(ItemEntity.class, box, DropsDelivery::canTopUp);
+      }
+      if (entities == null) {
+        entities = world.getEntitiesByClass(ItemEntity.class, bounds, DropsDelivery::canTopUp);
+      }
+      List<ItemEntity> within = new ArrayList<>();
+      for (ItemEntity entity : entities) {
+        if (canTopUp(entity) && entity.getBoundingBox().intersects(box)) {
+          within.add(entity);
+        }
+      }
+      return within;
+    }
+  }
+}
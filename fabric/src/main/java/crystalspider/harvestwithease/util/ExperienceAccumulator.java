@@ -0,0 +1,90 @@
+package crystalspider.harvestwithease.util;
+
+import net.minecraft.entity.ExperienceOrbEntity;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.WeakHashMap;
+
+/**
+ * Accumulates the experience granted by harvests, per {@link ServerWorld world} and player, to grant it once at the end of the tick.
+ * <p>
+ * Only ever accessed from the server thread.
+ */
+public final class ExperienceAccumulator {
+  /**
+   * Pending experience of each world, by player.
+   */
+  private static final Map<ServerWorld, Map<UUID, Pending>> PENDING = new WeakHashMap<>();
+
+  private ExperienceAccumulator() {
+  }
+
+  /**
+   * Adds the given amount of experience to what the player is going to be granted at the end of the tick.
+   *
+   * @param world {@link ServerWorld} of the harvest.
+   * @param player {@link PlayerEntity} harvesting.
+   * @param pos {@link BlockPos} of the harvested crop.
+   * @param amount amount of experience points.
+   */
+  public static void add(ServerWorld world, PlayerEntity player, BlockPos pos, int amount) {
+    Pending pending = PENDING.computeIfAbsent(world, key -> new LinkedHashMap<>()).computeIfAbsent(player.getUuid(), key -> new Pending());
+    pending.amount = (int) Math.min((long) pending.amount + amount, Integer.MAX_VALUE);
+    pending.pos = pos;
+  }
+
+  /**
+   * Grants all the pending experience of the given world.
+   * <p>
+   * When granting experience {@code direct}ly, players that left the world or died get an orb instead.
+   *
+   * @param world {@link ServerWorld} whose tick is ending.
+   * @param direct whether to grant experience straight to the players rather than as experience orbs.
+   */
+  public static void flush(ServerWorld world, boolean direct) {
+    Map<UUID, Pending> pending = PENDING.get(world);
+    if (pending == null || pending.isEmpty()) {
+      return;
+    }
+    for (Map.Entry<UUID, Pending> entry : pending.entrySet()) {
+      PlayerEntity player = direct ? world.getPlayerByUuid(entry.getKey()) : null;
+      Pending exp = entry.getValue();
+      if (player != null && player.isAlive()) {
+        player.addExperience(exp.amount);
+      } else {
+        world.spawnEntity(new ExperienceOrbEntity(world, exp.pos.getX() + 0.5, exp.pos.getY() + 0.5, exp.pos.getZ() + 0.5, exp.amount));
+      }
+    }
+    pending.clear();
+  }
+
+  /**
+   * Grants all the pending experience of the given world and forgets it.
+   *
+   * @param world unloading {@link ServerWorld}.
+   * @param direct whether to grant experience straight to the players rather than as experience orbs.
+   */
+  public static void unload(ServerWorld world, boolean direct) {
+    flush(world, direct);
+    PENDING.remove(world);
+  }
+
+  /**
+   * Experience pending for a player.
+   */
+  private static final class Pending {
+    /**
+     * Amount of experience points.
+     */
+    private int amount = 0;
+    /**
+     * {@link BlockPos} of the last harvested crop, where the experience orb spawns.
+     */
+    private BlockPos pos;
+  }
+}
@@ -0,0 +1,126 @@
+package crystalspider.harvestwithease.util;
+
+import crystalspider.harvestwithease.network.HarvestEffectsPacket;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.item.ItemStack;
+import net.minecraft.network.packet.s2c.play.WorldEventS2CPacket;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.WorldEvents;
+import net.minecraft.world.event.GameEvent;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Batches the break effects of the tall crop blocks broken by multi-harvests, per {@link ServerWorld world}, to send them once at the end of the tick.
+ * <p>
+ * Players with this mod get a single {@link HarvestEffectsPacket} listing all the blocks broken within their view,
+ * while players without it get the usual {@link WorldEvents#BLOCK_BROKEN world event} for each block.
+ * <p>
+ * Only ever accessed from the server thread.
+ */
+public final class HarvestEffects {
+  /**
+   * Squared distance within which players are sent the break effects, same as {@link ServerWorld#syncWorldEvent(net.minecraft.entity.player.PlayerEntity, int, BlockPos, int)}.
+   */
+  private static final double RANGE_SQR = 64 * 64;
+
+  /**
+   * Pending break effects of each world.
+   */
+  private static final Map<ServerWorld, Pending> PENDING = new WeakHashMap<>();
+
+  private HarvestEffects() {
+  }
+
+  /**
+   * Breaks the block at the given position like {@link ServerWorld#breakBlock(BlockPos, boolean, net.minecraft.entity.Entity) breakBlock},
+   * but adds its break effects to the ones to send at the end of the tick.
+   *
+   * @param world {@link ServerWorld} of the block.
+   * @param pos {@link BlockPos} of the block.
+   * @param drop whether to drop the block resources.
+   * @param player {@link ServerPlayerEntity} breaking the block.
+   */
+  public static void breakBlock(ServerWorld world, BlockPos pos, boolean drop, ServerPlayerEntity player) {
+    BlockState state = world.getBlockState(pos);
+    if (state.isAir()) {
+      return;
+    }
+    Pending pending = PENDING.computeIfAbsent(world, key -> new Pending());
+    pending.positions.add(pos.asLong());
+    pending.states.add(Block.getRawIdFromState(state));
+    if (drop) {
+      BlockEntity blockEntity = state.hasBlockEntity() ? world.getBlockEntity(pos) : null;
+      Block.dropStacks(state, world, pos, blockEntity, player, ItemStack.EMPTY);
+    }
+    if (world.setBlockState(pos, world.getFluidState(pos).getBlockState(), Block.NOTIFY_ALL)) {
+      world.emitGameEvent(GameEvent.BLOCK_DESTROY, pos, GameEvent.Emitter.of(player, state));
+    }
+  }
+
+  /**
+   * Sends the pending break effects of the given world.
+   *
+   * @param world {@link ServerWorld} whose tick is ending.
+   */
+  public static void flush(ServerWorld world) {
+    Pending pending = PENDING.get(world);
+    if (pending == null || pending.positions.isEmpty()) {
+      return;
+    }
+    LongArrayList positions = new LongArrayList();
+    IntArrayList states = new IntArrayList();
+    for (ServerPlayerEntity player : world.getPlayers()) {
+      boolean modded = ServerPlayNetworking.canSend(player, HarvestEffectsPacket.ID);
+      for (int c = 0; c < pending.positions.size(); c++) {
+        long pos = pending.positions.getLong(c);
+        if (player.squaredDistanceTo(BlockPos.unpackLongX(pos) + 0.5, BlockPos.unpackLongY(pos) + 0.5, BlockPos.unpackLongZ(pos) + 0.5) < RANGE_SQR) {
+          if (modded) {
+            positions.add(pos);
+            states.add(pending.states.getInt(c));
+          } else {
+            player.networkHandler.sendPacket(new WorldEventS2CPacket(WorldEvents.BLOCK_BROKEN, BlockPos.fromLong(pos), pending.states.getInt(c), false));
+          }
+        }
+      }
+      if (!positions.isEmpty()) {
+        ServerPlayNetworking.send(player, HarvestEffectsPacket.ID, HarvestEffectsPacket.write(positions.toLongArray(), states.toIntArray()));
+        positions.clear();
+        states.clear();
+      }
+    }
+    pending.positions.clear();
+    pending.states.clear();
+  }
+
+  /**
+   * Forgets the pending break effects of the given world.
+   *
+   * @param world unloading {@link ServerWorld}.
+   */
+  public static void unload(ServerWorld world) {
+    PENDING.remove(world);
+  }
+
+  /**
+   * Break effects pending for a world.
+   */
+  private static final class Pending {
+    /**
+     * {@link BlockPos#asLong() Packed positions} of the broken blocks.
+     */
+    private final LongArrayList positions = new LongArrayList();
+    /**
+     * {@link Block#getRawIdFromState(BlockState) Raw ids} of the states of the broken blocks, by index of their position.
+     */
+    private final IntArrayList states = new IntArrayList();
+  }
+}
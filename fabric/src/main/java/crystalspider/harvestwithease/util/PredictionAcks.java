@@ -0,0 +1,140 @@
+package crystalspider.harvestwithease.util;
+
+import crystalspider.harvestwithease.network.HarvestAckPacket;
+import crystalspider.harvestwithease.network.HarvestPredictionPacket;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.Hand;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Acknowledges the harvests clients predicted, so that they can roll back what the server did not actually harvest.
+ * <p>
+ * Clients announce each prediction with a {@link HarvestPredictionPacket} right before the interaction it stands for.
+ * The harvest triggered by that interaction {@link #claim(ServerPlayerEntity, BlockPos, Hand) claims} its sequence number
+ * and {@link #confirm(ServerPlayerEntity, int, List) confirms} the harvested crops, multi-harvests being {@link #accept(ServerPlayerEntity, int) accepted} first since they might take a few ticks.
+ * Predictions whose interaction did not lead to any harvest are {@link #reject(ServerPlayerEntity, BlockPos, Hand) rejected}.
+ * Pending predictions are kept by player {@link UUID} and {@link #forget(ServerPlayerEntity) forgotten} when the player disconnects.
+ * <p>
+ * Only ever accessed from the server thread.
+ */
+public final class PredictionAcks {
+  /**
+   * Sequence number of harvests that no client predicted.
+   */
+  public static final int NONE = -1;
+
+  /**
+   * Prediction each player, by {@link UUID}, announced and no harvest claimed yet.
+   */
+  private static final Map<UUID, Pending> PENDING = new HashMap<>();
+
+  private PredictionAcks() {
+  }
+
+  /**
+   * Records the prediction the given player announced, rejecting the previous one if it was never claimed.
+   *
+   * @param player {@link ServerPlayerEntity} predicting.
+   * @param sequence sequence number of the prediction.
+   * @param pos {@link BlockPos} of the right-clicked crop.
+   * @param hand {@link Hand} used to harvest.
+   */
+  public static void expect(ServerPlayerEntity player, int sequence, BlockPos pos, Hand hand) {
+    Pending previous = PENDING.put(player.getUuid(), new Pending(sequence, pos, hand));
+    if (previous != null) {
+      send(player, previous.sequence, true, List.of());
+    }
+  }
+
+  /**
+   * Claims the prediction of the harvest about to start, if the player predicted it.
+   *
+   * @param player {@link ServerPlayerEntity} harvesting.
+   * @param pos {@link BlockPos} of the right-clicked crop.
+   * @param hand {@link Hand} used to harvest.
+   * @return the sequence number of the prediction or {@link #NONE}.
+   */
+  public static int claim(ServerPlayerEntity player, BlockPos pos, Hand hand) {
+    Pending pending = PENDING.get(player.getUuid());
+    if (pending == null || pending.hand != hand || !pending.pos.equals(pos)) {
+      return NONE;
+    }
+    PENDING.remove(player.getUuid());
+    return pending.sequence;
+  }
+
+  /**
+   * Tells the player the predicted multi-harvest started and is going to be {@link #confirm(ServerPlayerEntity, int, List) confirmed} once done.
+   *
+   * @param player {@link ServerPlayerEntity} harvesting.
+   * @param sequence sequence number of the prediction or {@link #NONE}.
+   */
+  public static void accept(ServerPlayerEntity player, int sequence) {
+    if (sequence != NONE) {
+      send(player, sequence, false, List.of());
+    }
+  }
+
+  /**
+   * Tells the player which crops of the predicted harvest were actually harvested.
+   *
+   * @param player {@link ServerPlayerEntity} harvesting.
+   * @param sequence sequence number of the prediction or {@link #NONE}.
+   * @param harvested {@link BlockPos positions} of the harvested crops.
+   */
+  public static void confirm(ServerPlayerEntity player, int sequence, List<BlockPos> harvested) {
+    if (sequence != NONE) {
+      send(player, sequence, true, harvested);
+    }
+  }
+
+  /**
+   * Rejects the prediction of the given interaction, if still pending, since it did not lead to any harvest.
+   *
+   * @param player {@link ServerPlayerEntity} interacting.
+   * @param pos {@link BlockPos} of the right-clicked block.
+   * @param hand {@link Hand} used.
+   */
+  public static void reject(ServerPlayerEntity player, BlockPos pos, Hand hand) {
+    confirm(player, claim(player, pos, hand), List.of());
+  }
+
+  /**
+   * Forgets the prediction the given player announced, if still pending.
+   *
+   * @param player {@link ServerPlayerEntity} disconnecting.
+   */
+  public static void forget(ServerPlayerEntity player) {
+    PENDING.remove(player.getUuid());
+  }
+
+  /**
+   * Sends a {@link HarvestAckPacket} to the given player.
+   *
+   * @param player {@link ServerPlayerEntity} to send the acknowledgement to.
+   * @param sequence sequence number of the prediction.
+   * @param done whether the harvest is over.
+   * @param harvested {@link BlockPos positions} of the harvested crops.
+   */
+  private static void send(ServerPlayerEntity player, int sequence, boolean done, List<BlockPos> harvested) {
+    if (!player.isDisconnected()) {
+      ServerPlayNetworking.send(player, HarvestAckPacket.ID, HarvestAckPacket.write(sequence, done, harvested.stream().mapToLong(BlockPos::asLong).toArray()));
+    }
+  }
+
+  /**
+   * Prediction announced by a player.
+   *
+   * @param sequence sequence number of the prediction.
+   * @param pos {@link BlockPos} of the right-clicked crop.
+   * @param hand {@link Hand} used to harvest.
+   */
+  private record Pending(int sequence, BlockPos pos, Hand hand) {
+  }
+}
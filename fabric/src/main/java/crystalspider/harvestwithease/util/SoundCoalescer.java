@@ -0,0 +1,130 @@
+package crystalspider.harvestwithease.util;
+
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.sound.SoundCategory;
+import net.minecraft.sound.SoundEvent;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.WeakHashMap;
+
+/**
+ * Coalesces the harvest sounds of a tick, per {@link ServerWorld world} and player, to play them once at the end of the tick.
+ * <p>
+ * Sounds are grouped by sound, volume, pitch and {@link #CELL_BITS cell} of the harvested crops.
+ * Each group is played once, at the average position of its crops and louder the more crops it stands for,
+ * and only the largest groups of each player are played, up to the configured amount.
+ * <p>
+ * Only ever accessed from the server thread.
+ */
+public final class SoundCoalescer {
+  /**
+   * Size, as a power of two, of the cubic cells sounds are grouped by.
+   */
+  private static final int CELL_BITS = 3;
+  /**
+   * Maximum volume multiplier of a group, reached at 16 crops.
+   */
+  private static final float MAX_VOLUME_SCALE = 2;
+
+  /**
+   * Pending sounds of each world, by player.
+   */
+  private static final Map<ServerWorld, Map<UUID, Map<Key, Group>>> PENDING = new WeakHashMap<>();
+
+  private SoundCoalescer() {
+  }
+
+  /**
+   * Adds the given sound to the ones to play at the end of the tick.
+   *
+   * @param world {@link ServerWorld} of the harvest.
+   * @param player {@link PlayerEntity} harvesting.
+   * @param pos {@link BlockPos} of the harvested crop.
+   * @param sound {@link SoundEvent} to play.
+   * @param volume volume of the sound for a single crop.
+   * @param pitch pitch of the sound.
+   */
+  public static void add(ServerWorld world, PlayerEntity player, BlockPos pos, SoundEvent sound, float volume, float pitch) {
+    Key key = new Key(sound, volume, pitch, BlockPos.asLong(pos.getX() >> CELL_BITS, pos.getY() >> CELL_BITS, pos.getZ() >> CELL_BITS));
+    Group group = PENDING.computeIfAbsent(world, k -> new LinkedHashMap<>()).computeIfAbsent(player.getUuid(), k -> new LinkedHashMap<>()).computeIfAbsent(key, k -> new Group());
+    group.count++;
+    group.x += pos.getX();
+    group.y += pos.getY();
+    group.z += pos.getZ();
+  }
+
+  /**
+   * Plays the pending sounds of the given world.
+   *
+   * @param world {@link ServerWorld} whose tick is ending.
+   * @param limit maximum amount of sounds to play for each player.
+   */
+  public static void flush(ServerWorld world, int limit) {
+    Map<UUID, Map<Key, Group>> pending = PENDING.get(world);
+    if (pending == null || pending.isEmpty()) {
+      return;
+    }
+    for (Map<Key, Group> groups : pending.values()) {
+      List<Map.Entry<Key, Group>> entries = new ArrayList<>(groups.entrySet());
+      if (entries.size() > limit) {
+        entries.sort(Comparator.comparingInt(entry -> -entry.getValue().count));
+      }
+      for (Map.Entry<Key, Group> entry : entries.subList(0, Math.min(limit, entries.size()))) {
+        Key key = entry.getKey();
+        Group group = entry.getValue();
+        float scale = Math.min(MAX_VOLUME_SCALE, 1 + (float) (Math.log(group.count) / Math.log(16)));
+        world.playSound(null, (double) group.x / group.count + 0.5, (double) group.y / group.count + 0.5, (double) group.z / group.count + 0.5, key.sound(), SoundCategory.BLOCKS, key.volume() * scale, key.pitch());
+      }
+    }
+    pending.clear();
+  }
+
+  /**
+   * Forgets the pending sounds of the given world.
+   *
+   * @param world unloading {@link ServerWorld}.
+   */
+  public static void unload(ServerWorld world) {
+    PENDING.remove(world);
+  }
+
+  /**
+   * Sounds that can be played as one.
+   *
+   * @param sound {@link SoundEvent} to play.
+   * @param volume volume of the sound for a single crop.
+   * @param pitch pitch of the sound.
+   * @param cell {@link BlockPos#asLong() packed position} of the cell of the crops.
+   */
+  private record Key(SoundEvent sound, float volume, float pitch, long cell) {
+  }
+
+  /**
+   * Crops whose sounds are played as one.
+   */
+  private static final class Group {
+    /**
+     * Amount of crops.
+     */
+    private int count = 0;
+    /**
+     * Sum of the x coordinates of the crops.
+     */
+    private long x = 0;
+    /**
+     * Sum of the y coordinates of the crops.
+     */
+    private long y = 0;
+    /**
+     * Sum of the z coordinates of the crops.
+     */
+    private long z = 0;
+  }
+}
@@ -0,0 +1,200 @@
+package crystalspider.harvestwithease.util;
+
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.fabricmc.fabric.api.transfer.v1.item.ItemStorage;
+import net.fabricmc.fabric.api.transfer.v1.item.ItemVariant;
+import net.fabricmc.fabric.api.transfer.v1.storage.Storage;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.Direction;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Finds the storage harvest drops should be inserted into, caching the result per crop and per chunk.
+ * <p>
+ * The storage of a crop is the {@link ItemStorage#SIDED item storage} right below its farmland or, failing that, the closest one within the search radius.
+ * Found storages are checked again each time they are used, while the crops without storage are forgotten
+ * when a block entity loads or unloads nearby, when their chunk unloads or at the latest after {@link #EXPIRY} ticks, to catch containers without block entity.
+ * <p>
+ * Only ever accessed from the server thread.
+ */
+public final class StorageLocator {
+  /**
+   * Maximum search radius.
+   */
+  public static final int MAX_RADIUS = 4;
+  /**
+   * Ticks after which the lookups cached for a chunk are dropped.
+   */
+  private static final long EXPIRY = 600;
+  /**
+   * Cached value of a crop without storage, never a valid position within the world border.
+   */
+  private static final long NONE = Long.MAX_VALUE;
+  /**
+   * Returned by the cache for crops not looked up yet, never a valid position within the world border.
+   */
+  private static final long UNRESOLVED = Long.MIN_VALUE;
+
+  /**
+   * Cached lookups of each world.
+   */
+  private static final Map<ServerWorld, WorldCache> CACHES = new WeakHashMap<>();
+
+  private StorageLocator() {
+  }
+
+  /**
+   * Returns the storage drops of the crop at the given position should be inserted into.
+   *
+   * @param world {@link ServerWorld} of the crop.
+   * @param cropPos {@link BlockPos} of the crop base.
+   * @param radius how far from the crop to look for storage, besides right below its farmland.
+   * @return the {@link Storage<ItemVariant>} of the storage or {@code null} if there is none.
+   */
+  @Nullable
+  public static Storage<ItemVariant> find(ServerWorld world, BlockPos cropPos, int radius) {
+    WorldCache cache = CACHES.computeIfAbsent(world, key -> new WorldCache());
+    if (cache.radius != radius) {
+      cache.chunks.clear();
+      cache.radius = radius;
+    }
+    long gameTime = world.getTime();
+    ChunkCache chunk = cache.chunks.get(ChunkPos.toLong(cropPos));
+    if (chunk == null || chunk.expiresAt <= gameTime) {
+      chunk = new ChunkCache(gameTime + EXPIRY);
+      cache.chunks.put(ChunkPos.toLong(cropPos), chunk);
+    }
+    long storagePos = chunk.storages.get(cropPos.asLong());
+    if (storagePos == NONE) {
+      return null;
+    }
+    if (storagePos != UNRESOLVED) {
+      Storage<ItemVariant> storage = getStorage(world, BlockPos.fromLong(storagePos));
+      if (storage != null) {
+        return storage;
+      }
+    }
+    BlockPos found = locate(world, cropPos, radius);
+    chunk.storages.put(cropPos.asLong(), found != null ? found.asLong() : NONE);
+    return found != null ? getStorage(world, found) : null;
+  }
+
+  /**
+   * Forgets the lookups that a block change at the given position may affect.
+   *
+   * @param world {@link ServerWorld} of the change.
+   * @param pos {@link BlockPos} of the change.
+   */
+  public static void invalidate(ServerWorld world, BlockPos pos) {
+    WorldCache cache = CACHES.get(world);
+    if (cache != null && !cache.chunks.isEmpty()) {
+      int radius = cache.radius;
+      for (int x = ChunkSectionPos.getSectionCoord(pos.getX() - radius); x <= ChunkSectionPos.getSectionCoord(pos.getX() + radius); x++) {
+        for (int z = ChunkSectionPos.getSectionCoord(pos.getZ() - radius); z <= ChunkSectionPos.getSectionCoord(pos.getZ() + radius); z++) {
+          cache.chunks.remove(ChunkPos.toLong(x, z));
+        }
+      }
+    }
+  }
+
+  /**
+   * Forgets the lookups of the crops in the given chunk.
+   *
+   * @param world {@link ServerWorld} of the chunk.
+   * @param chunkPos {@link ChunkPos} of the chunk.
+   */
+  public static void invalidate(ServerWorld world, ChunkPos chunkPos) {
+    WorldCache cache = CACHES.get(world);
+    if (cache != null) {
+      cache.chunks.remove(chunkPos.toLong());
+    }
+  }
+
+  /**
+   * Forgets all the lookups of the given world.
+   *
+   * @param world unloading {@link ServerWorld}.
+   */
+  public static void unload(ServerWorld world) {
+    CACHES.remove(world);
+  }
+
+  /**
+   * Looks for the storage of the crop at the given position, without any cache.
+   *
+   * @param world {@link ServerWorld} of the crop.
+   * @param cropPos {@link BlockPos} of the crop base.
+   * @param radius how far from the crop to look for storage, besides right below its farmland.
+   * @return the {@link BlockPos} of the storage or {@code null} if there is none.
+   */
+  @Nullable
+  private static BlockPos locate(ServerWorld world, BlockPos cropPos, int radius) {
+    BlockPos below = cropPos.down(2);
+    if (getStorage(world, below) != null) {
+      return below;
+    }
+    if (radius > 0) {
+      return BlockPos.findClosest(cropPos, radius, radius, pos -> getStorage(world, pos) != null).map(BlockPos::toImmutable).orElse(null);
+    }
+    return null;
+  }
+
+  /**
+   * Returns the storage at the given position, without ever loading its chunk.
+   *
+   * @param world {@link ServerWorld} of the storage.
+   * @param pos {@link BlockPos} of the storage.
+   * @return the {@link Storage<ItemVariant>} exposed to the top face or {@code null} if there is none.
+   */
+  @Nullable
+  private static Storage<ItemVariant> getStorage(ServerWorld world, BlockPos pos) {
+    if (!world.isChunkLoaded(pos)) {
+      return null;
+    }
+    return ItemStorage.SIDED.find(world, pos, Direction.UP);
+  }
+
+  /**
+   * Cached lookups of a world.
+   */
+  private static final class WorldCache {
+    /**
+     * Lookups by {@link ChunkPos#toLong() packed chunk position}.
+     */
+    private final Long2ObjectMap<ChunkCache> chunks = new Long2ObjectOpenHashMap<>();
+    /**
+     * Search radius the lookups were made with.
+     */
+    private int radius = -1;
+  }
+
+  /**
+   * Cached lookups of the crops of a chunk.
+   */
+  private static final class ChunkCache {
+    /**
+     * {@link BlockPos#asLong() Packed storage position} by packed crop position, {@link #NONE} for crops without storage.
+     */
+    private final Long2LongOpenHashMap storages = new Long2LongOpenHashMap();
+    /**
+     * Game time at which these lookups expire.
+     */
+    private final long expiresAt;
+
+    /**
+     * @param expiresAt {@link #expiresAt}.
+     */
+    private ChunkCache(long expiresAt) {
+      this.expiresAt = expiresAt;
+      storages.defaultReturnValue(UNRESOLVED);
+    }
+  }
+}
@@ -1,11 +1,16 @@
 package crystalspider.harvestwithease;
 
 import crystalspider.harvestwithease.config.ModConfig;
+import crystalspider.harvestwithease.network.ConfigSyncMessage;
+import crystalspider.harvestwithease.network.HarvestAckMessage;
+import crystalspider.harvestwithease.network.HarvestEffectsMessage;
+import crystalspider.harvestwithease.network.HarvestPredictionMessage;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraftforge.fml.ModLoadingContext;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.config.ModConfig.Type;
 import net.minecraftforge.network.ChannelBuilder;
+import net.minecraftforge.network.NetworkDirection;
 import net.minecraftforge.network.SimpleChannel;
 
 /**
@@ -21,7 +26,7 @@ public class ModLoader {
   /**
    * Network channel protocol version.
    */
-  public static final int PROTOCOL_VERSION = 1_20_4__8_0;
+  public static final int PROTOCOL_VERSION = 1_20_4__8_1;
   /**
    * {@link SimpleChannel} instance for compatibility client-server.
    */
@@ -29,5 +34,9 @@ public class ModLoader {
 
   public ModLoader() {
     ModLoadingContext.get().registerConfig(Type.COMMON, ModConfig.SPEC);
+    INSTANCE.messageBuilder(HarvestEffectsMessage.class, NetworkDirection.PLAY_TO_CLIENT).encoder(HarvestEffectsMessage::encode).decoder(HarvestEffectsMessage::decode).consumerMainThread(HarvestEffectsMessage::handle).add();
+    INSTANCE.messageBuilder(HarvestPredictionMessage.class, NetworkDirection.PLAY_TO_SERVER).encoder(HarvestPredictionMessage::encode).decoder(HarvestPredictionMessage::decode).consumerMainThread(HarvestPredictionMessage::handle).add();
+    INSTANCE.messageBuilder(HarvestAckMessage.class, NetworkDirection.PLAY_TO_CLIENT).encoder(HarvestAckMessage::encode).decoder(HarvestAckMessage::decode).consumerMainThread(HarvestAckMessage::handle).add();
+    INSTANCE.messageBuilder(ConfigSyncMessage.class, NetworkDirection.PLAY_TO_CLIENT).encoder(ConfigSyncMessage::encode).decoder(ConfigSyncMessage::decode).consumerMainThread(ConfigSyncMessage::handle).add();
   }
 }
@@ -1,6 +1,5 @@
 package crystalspider.harvestwithease.api;
 
-import com.mojang.logging.LogUtils;
 import crystalspider.harvestwithease.config.ModConfig;
 import net.minecraft.core.BlockPos;
 import net.minecraft.resources.ResourceLocation;
@@ -8,12 +7,11 @@ import net.minecraft.tags.BlockTags;
 import net.minecraft.world.item.Tier;
 import net.minecraft.world.item.TieredItem;
 import net.minecraft.world.level.Level;
-import net.minecraft.world.level.block.*;
+import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.block.state.properties.IntegerProperty;
 import net.minecraftforge.common.TierSortingRegistry;
-import net.minecraftforge.registries.ForgeRegistries;
-import org.slf4j.Logger;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Collections;
 import java.util.List;
@@ -23,11 +21,6 @@ import java.util.NoSuchElementException;
  * Utility class that serves as an API for mods interfacing with Harvest With Ease mod.
  */
 public final class HarvestWithEaseAPI {
-  /**
-   * Logger.
-   */
-  private static final Logger LOGGER = LogUtils.getLogger();
-
   private HarvestWithEaseAPI() {
   }
 
@@ -38,7 +31,54 @@ public final class HarvestWithEaseAPI {
    * @return whether the given block is a valid breakable crop.
    */
   public static boolean isCrop(Block block) {
-    return block instanceof CropBlock || block instanceof NetherWartBlock || block instanceof CocoaBlock || block instanceof PitcherCropBlock || ModConfig.getCrops().contains(getKey(block));
+    return isCrop(block.defaultBlockState());
+  }
+
+  /**
+   * Checks whether the given blockState is a crop that can be broken and, optionally, drop xp.
+   *
+   * @param blockState
+   * @return whether the given blockState is a valid breakable crop.
+   */
+  public static boolean isCrop(BlockState blockState) {
+    return probe(blockState) != null;
+  }
+
+  /**
+   * Probes the given blockState for right-click harvesting, without ever throwing.
+   * <p>
+   * The returned {@link CropProfile} is immutable and shared by all the states of the same crop, so probing never allocates.
+   *
+   * @param blockState
+   * @return the {@link CropProfile} of the given blockState if it's a crop that can be harvested, {@code null} otherwise.
+   */
+  @Nullable
+  public static CropProfile probe(BlockState blockState) {
+    CropProfile profile = CropTable.get(blockState);
+    return profile != null && profile.crop() ? profile : null;
+  }
+
+  /**
+   * Returns the age integer property of the given block.
+   *
+   * @param block
+   * @return the age property of the given block or {@code null} if it has none.
+   */
+  @Nullable
+  public static IntegerProperty getAge(Block block) {
+    CropProfile profile = CropTable.get(block);
+    return profile != null ? profile.age() : null;
+  }
+
+  /**
+   * Returns the maximum value the age integer property of the given block can have.
+   *
+   * @param block
+   * @return the maximum age of the given block or {@code -1} if it has no age.
+   */
+  public static int getMaxAge(Block block) {
+    CropProfile profile = CropTable.get(block);
+    return profile != null ? profile.maxAge() : -1;
   }
 
   /**
@@ -51,6 +91,10 @@ public final class HarvestWithEaseAPI {
    * @throws ClassCastException if the age property is not an {@link IntegerProperty}.
    */
   public static IntegerProperty getAge(BlockState blockState) throws NullPointerException, NoSuchElementException, ClassCastException {
+    CropProfile profile = CropTable.get(blockState);
+    if (profile != null) {
+      return profile.age();
+    }
     return (IntegerProperty) blockState.getProperties().stream().filter(property -> property.getName().equals("age")).findFirst().orElseThrow();
   }
 
@@ -62,6 +106,10 @@ public final class HarvestWithEaseAPI {
    * @return whether the given blockstate is a mature crop.
    */
   public static boolean isMature(BlockState blockState, IntegerProperty age) {
+    CropProfile profile = CropTable.get(blockState);
+    if (profile != null && profile.age() == age) {
+      return profile.isMature(blockState);
+    }
     return blockState.getOptionalValue(age).orElse(0) >= Collections.max(age.getPossibleValues());
   }
 
@@ -75,6 +123,10 @@ public final class HarvestWithEaseAPI {
    * @throws ClassCastException if the age property is not an {@link IntegerProperty}.
    */
   public static boolean isMature(BlockState blockState) throws NullPointerException, NoSuchElementException, ClassCastException {
+    CropProfile profile = CropTable.get(blockState);
+    if (profile != null) {
+      return profile.isMature(blockState);
+    }
     return isMature(blockState, getAge(blockState));
   }
 
@@ -97,9 +149,18 @@ public final class HarvestWithEaseAPI {
    * @return whether the given {@link TieredItem tool} is allowed to multi-harvest.
    */
   public static boolean isTierForMultiHarvest(TieredItem tool) {
-    Tier toolTier = tool.getTier();
+    return isTierForMultiHarvest(tool.getTier(), ModConfig.getCompiled().multiHarvestStartingTier());
+  }
+
+  /**
+   * Checks whether the given {@link Tier} is high enough for multi-harvest, given the starting tier reference.
+   *
+   * @param toolTier
+   * @param configTier reference to the tier starting from which multi-harvest is allowed.
+   * @return whether the given {@link Tier} is allowed to multi-harvest.
+   */
+  public static boolean isTierForMultiHarvest(Tier toolTier, String configTier) {
     ResourceLocation id = TierSortingRegistry.getName(toolTier);
-    String configTier = ModConfig.getMultiHarvestStartingTier();
     return configTier.equalsIgnoreCase("none") || (
       toolTier.toString().equalsIgnoreCase(configTier) || id != null && (
         id.toString().equalsIgnoreCase(configTier) || isTierIn(TierSortingRegistry.getTiersLowerThan(toolTier), configTier)
@@ -107,6 +168,16 @@ public final class HarvestWithEaseAPI {
     );
   }
 
+  /**
+   * Returns the multi-harvest radius for the given {@link Tier}, that is the distance from the center of the harvest area to its edges.
+   *
+   * @param tier
+   * @return the multi-harvest radius or {@code -1} if the tier cannot multi-harvest.
+   */
+  public static int getMultiHarvestRadius(Tier tier) {
+    return ModConfig.getCompiled().getMultiHarvestRadius(tier);
+  }
+
   /**
    * Checks if the given tier string reference is in the given list of tiers.
    *
@@ -193,19 +264,4 @@ public final class HarvestWithEaseAPI {
   public static boolean matchesTier(String tierRef, Tier tier) {
     return tier.toString().equalsIgnoreCase(tierRef) || TierSortingRegistry.getName(tier).toString().equalsIgnoreCase(tierRef);
   }
-
-  /**
-   * Returns the in-game ID of the block passed as parameter.
-   *
-   * @param block
-   * @return in-game ID of the given block.
-   */
-  private static String getKey(Block block) {
-    ResourceLocation blockLocation = ForgeRegistries.BLOCKS.getKey(block);
-    if (blockLocation != null) {
-      return blockLocation.toString();
-    }
-    LOGGER.debug("Couldn't get key for block [" + block + "].");
-    return "";
-  }
 }
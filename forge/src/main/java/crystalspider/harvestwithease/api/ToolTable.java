@@ -0,0 +1,96 @@
+package crystalspider.harvestwithease.api;
+
+import crystalspider.harvestwithease.config.CompiledConfig;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Tier;
+import net.minecraft.world.item.TieredItem;
+import net.minecraftforge.common.ToolActions;
+
+/**
+ * Lookup table from each registered {@link Item} to its {@link ToolProfile}.
+ * <p>
+ * The table is indexed by {@link Item#getId(Item) item id}, so that a lookup never allocates.
+ * It's bound to the {@link CompiledConfig} snapshot it was built from and gets rebuilt when a different snapshot is used, which happens after every configuration or tag reload.
+ */
+public final class ToolTable {
+  /**
+   * Current table.
+   * <p>
+   * {@code null} until first built.
+   */
+  private static volatile Table table = null;
+
+  private ToolTable() {
+  }
+
+  /**
+   * Returns the {@link ToolProfile} of the given {@link Item}, according to the given {@link CompiledConfig} snapshot.
+   *
+   * @param config {@link CompiledConfig} snapshot.
+   * @param item
+   * @return the {@link ToolProfile} of the given {@link Item}.
+   */
+  public static ToolProfile get(CompiledConfig config, Item item) {
+    Table current = table;
+    if (current == null || current.config() != config) {
+      current = build(config);
+    }
+    int id = Item.getId(item);
+    return id >= 0 && id < current.profiles().length && current.profiles()[id] != null ? current.profiles()[id] : classify(config, item);
+  }
+
+  /**
+   * Builds and publishes the table for the given {@link CompiledConfig} snapshot, unless another thread already did.
+   *
+   * @param config {@link CompiledConfig} snapshot.
+   * @return the built table.
+   */
+  private static synchronized Table build(CompiledConfig config) {
+    Table current = table;
+    if (current == null || current.config() != config) {
+      ToolProfile[] profiles = new ToolProfile[BuiltInRegistries.ITEM.size()];
+      for (Item item : BuiltInRegistries.ITEM) {
+        int id = Item.getId(item);
+        if (id >= 0 && id < profiles.length) {
+          profiles[id] = classify(config, item);
+        }
+      }
+      current = new Table(config, profiles);
+      table = current;
+    }
+    return current;
+  }
+
+  /**
+   * Computes the {@link ToolProfile} of the given {@link Item}.
+   *
+   * @param config {@link CompiledConfig} snapshot.
+   * @param item
+   * @return the {@link ToolProfile} of the given {@link Item}.
+   */
+  private static ToolProfile classify(CompiledConfig config, Item item) {
+    boolean hoe = isHoe(item.getDefaultInstance());
+    Tier tier = item instanceof TieredItem tieredItem ? tieredItem.getTier() : null;
+    return new ToolProfile(item, hoe, tier, hoe && tier != null ? config.getMultiHarvestRadius(tier) : -1);
+  }
+
+  /**
+   * Checks whether the given itemStack can perform all the {@link ToolActions#DEFAULT_HOE_ACTIONS default hoe actions}.
+   *
+   * @param itemStack
+   * @return whether the given itemStack is a hoe tool.
+   */
+  private static boolean isHoe(ItemStack itemStack) {
+    return ToolActions.DEFAULT_HOE_ACTIONS.stream().allMatch(itemStack::canPerformAction);
+  }
+
+  /**
+   * {@link ToolProfile Profiles} indexed by {@link Item#getId(Item) item id}, together with the {@link CompiledConfig} snapshot they were computed with.
+   *
+   * @param config {@link CompiledConfig} snapshot.
+   * @param profiles {@link ToolProfile profiles}.
+   */
+  private record Table(CompiledConfig config, ToolProfile[] profiles) {}
+}
@@ -0,0 +1,53 @@
+package crystalspider.harvestwithease.client;
+
+import com.mojang.logging.LogUtils;
+import crystalspider.harvestwithease.api.CropTable;
+import crystalspider.harvestwithease.config.ModConfig;
+import crystalspider.harvestwithease.config.SyncedConfig;
+import org.slf4j.Logger;
+
+import static crystalspider.harvestwithease.ModLoader.MOD_ID;
+
+/**
+ * Applies the {@link SyncedConfig harvest configuration} synced by the server, so that the client decides what to harvest the same way the server does.
+ * <p>
+ * Only ever accessed from the client thread.
+ */
+public final class ConfigSyncReceiver {
+  /**
+   * Logger.
+   */
+  private static final Logger LOGGER = LogUtils.getLogger();
+
+  private ConfigSyncReceiver() {
+  }
+
+  /**
+   * Applies the given synced values, unless they are the ones already in use.
+   * Values whose {@link SyncedConfig#hash() version hash} does not match the server one were read with a different format and are ignored.
+   *
+   * @param hash {@link SyncedConfig#hash() version hash} of the values, as computed by the server.
+   * @param config synced {@link SyncedConfig values}.
+   */
+  public static void receive(int hash, SyncedConfig config) {
+    if (config.hash() != hash) {
+      LOGGER.warn("Ignoring the configuration of " + MOD_ID + " synced by the server: its version hash does not match, the server is likely running a different version of the mod.");
+      return;
+    }
+    SyncedConfig current = ModConfig.getSynced();
+    if (current == null || current.hash() != hash) {
+      ModConfig.sync(config);
+      CropTable.invalidate();
+    }
+  }
+
+  /**
+   * Goes back to the local configuration values.
+   */
+  public static void reset() {
+    if (ModConfig.getSynced() != null) {
+      ModConfig.sync(null);
+      CropTable.invalidate();
+    }
+  }
+}
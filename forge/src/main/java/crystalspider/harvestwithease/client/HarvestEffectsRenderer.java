@@ -0,0 +1,46 @@
+package crystalspider.harvestwithease.client;
+
+import crystalspider.harvestwithease.config.ModConfig;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.core.BlockPos;
+import net.minecraft.sounds.SoundSource;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.SoundType;
+import net.minecraft.world.level.block.state.BlockState;
+
+/**
+ * Renders the break effects of the tall crop blocks broken by multi-harvests, as sent in batches by the server.
+ * <p>
+ * Client only.
+ */
+public final class HarvestEffectsRenderer {
+  private HarvestEffectsRenderer() {
+  }
+
+  /**
+   * Renders the break effects of the given blocks.
+   * The break sound is played once for the whole batch, while break particles are shown for at most {@link ModConfig#getHarvestParticles()} blocks, evenly spread across the batch.
+   *
+   * @param positions {@link BlockPos#asLong() packed positions} of the broken blocks.
+   * @param states {@link Block#getId(BlockState) ids} of the states of the broken blocks, by index of their position.
+   */
+  public static void render(long[] positions, int[] states) {
+    ClientLevel level = Minecraft.getInstance().level;
+    if (level == null || positions.length == 0) {
+      return;
+    }
+    BlockState first = Block.stateById(states[0]);
+    if (!first.isAir()) {
+      SoundType soundType = first.getSoundType();
+      level.playLocalSound(BlockPos.of(positions[0]), soundType.getBreakSound(), SoundSource.BLOCKS, (soundType.getVolume() + 1.0F) / 2.0F, soundType.getPitch() * 0.8F, false);
+    }
+    int cap = ModConfig.getCompiled().harvestParticles();
+    if (cap > 0) {
+      double step = Math.max(1, (double) positions.length / cap);
+      for (double c = 0; c < positions.length; c += step) {
+        level.addDestroyBlockEffect(BlockPos.of(positions[(int) c]), Block.stateById(states[(int) c]));
+      }
+    }
+  }
+}
@@ -0,0 +1,24 @@
+package crystalspider.harvestwithease.config;
+
+/**
+ * Where harvest drops end up.
+ */
+public enum DropsDestination {
+  /**
+   * Dropped in the world as item entities.
+   */
+  WORLD,
+  /**
+   * Inserted straight into the harvesting player's inventory, dropping in the world only what does not fit.
+   */
+  INVENTORY,
+  /**
+   * Inserted into the storage below the farmland or nearby, dropping in the world only what does not fit.
+   */
+  STORAGE;
+
+  @Override
+  public String toString() {
+    return name().toLowerCase();
+  }
+}
@@ -0,0 +1,64 @@
+package crystalspider.harvestwithease.config;
+
+import java.util.List;
+
+/**
+ * Values of the {@link ModConfig configuration} a client needs to tell on its own whether an interaction harvests, as synced by the server.
+ * <p>
+ * Clients connected to a remote server with this mod {@link ModConfig#sync(SyncedConfig) compile} their snapshot with these values in place of their own,
+ * so that they neither cancel interactions the server would harvest nor predict harvests the server would reject.
+ *
+ * @param crops {@link ModConfig#getCrops() crops}, sorted.
+ * @param requireHoe {@link ModConfig#getRequireHoe() requireHoe}.
+ * @param multiHarvestStartingTier {@link ModConfig#getMultiHarvestStartingTier() multiHarvestStartingTier}.
+ * @param areaStartingSize {@link AreaSize#size size} of {@link ModConfig#getAreaStartingSize() areaStartingSize}.
+ * @param areaIncrementStep {@link AreaStep#step step} of {@link ModConfig#getAreaIncrementStep() areaIncrementStep}.
+ * @param areaShape {@link ModConfig#getAreaShape() areaShape}.
+ * @param fieldHarvestCap {@link ModConfig#getFieldHarvestCap() fieldHarvestCap}.
+ * @param fieldVerticalRange {@link ModConfig#getFieldVerticalRange() fieldVerticalRange}.
+ */
+public record SyncedConfig(
+  List<String> crops,
+  boolean requireHoe,
+  String multiHarvestStartingTier,
+  int areaStartingSize,
+  int areaIncrementStep,
+  AreaShape areaShape,
+  int fieldHarvestCap,
+  int fieldVerticalRange
+) {
+  /**
+   * Extracts the values to sync from the given snapshot.
+   *
+   * @param config {@link CompiledConfig} snapshot.
+   * @return the {@link SyncedConfig} of the given snapshot.
+   */
+  public static SyncedConfig of(CompiledConfig config) {
+    return new SyncedConfig(
+      config.crops().stream().sorted().toList(),
+      config.requireHoe(),
+      config.multiHarvestStartingTier(),
+      config.areaStartingSize(),
+      config.areaIncrementStep(),
+      config.areaShape(),
+      config.fieldHarvestCap(),
+      config.fieldVerticalRange()
+    );
+  }
+
+  /**
+   * Computes a hash of these values that is the same on every side, unlike {@link #hashCode()} which depends on the identity hash of the {@link #areaShape}.
+   *
+   * @return the version hash of these values.
+   */
+  public int hash() {
+    int hash = crops.hashCode();
+    hash = 31 * hash + Boolean.hashCode(requireHoe);
+    hash = 31 * hash + multiHarvestStartingTier.hashCode();
+    hash = 31 * hash + areaStartingSize;
+    hash = 31 * hash + areaIncrementStep;
+    hash = 31 * hash + areaShape.ordinal();
+    hash = 31 * hash + fieldHarvestCap;
+    return 31 * hash + fieldVerticalRange;
+  }
+}
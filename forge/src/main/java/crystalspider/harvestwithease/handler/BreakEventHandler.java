@@ -1,19 +1,16 @@
 package crystalspider.harvestwithease.handler;
 
-import com.mojang.logging.LogUtils;
+import crystalspider.harvestwithease.api.CropProfile;
 import crystalspider.harvestwithease.api.HarvestWithEaseAPI;
 import crystalspider.harvestwithease.config.ModConfig;
-import net.minecraft.core.BlockPos;
+import crystalspider.harvestwithease.util.ExperienceAccumulator;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.GameRules;
 import net.minecraft.world.level.LevelAccessor;
-import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraftforge.event.level.BlockEvent.BreakEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
-import org.slf4j.Logger;
-
-import java.util.NoSuchElementException;
 
 import static crystalspider.harvestwithease.ModLoader.MOD_ID;
 import static net.minecraftforge.fml.common.Mod.EventBusSubscriber.Bus.FORGE;
@@ -25,31 +22,22 @@ import static net.minecraftforge.fml.common.Mod.EventBusSubscriber.Bus.FORGE;
  */
 @EventBusSubscriber(modid = MOD_ID, bus = FORGE)
 public final class BreakEventHandler {
-  /**
-   * Logger.
-   */
-  private static final Logger LOGGER = LogUtils.getLogger();
-
   /**
    * Listens and handles the {@link BreakEvent} event.
-   * If configured to do so, drops xp when breaking a mature crop.
+   * If configured to do so, grants xp at the end of the tick when breaking a mature crop.
    *
    * @param event
    */
   @SubscribeEvent
   public static void handle(BreakEvent event) {
-    try {
-      LevelAccessor world = event.getLevel();
-      BlockState blockState = event.getState();
-      Block block = blockState.getBlock();
-      if (!world.isClientSide() && ModConfig.getGrantedExp() > 0 && HarvestWithEaseAPI.isCrop(block) && HarvestWithEaseAPI.isMature(blockState)) {
-        block.popExperience((ServerLevel) world, event.getPos(), ModConfig.getGrantedExp());
+    LevelAccessor world = event.getLevel();
+    BlockState blockState = event.getState();
+    int grantedExp = ModConfig.getCompiled().grantedExp();
+    if (world instanceof ServerLevel level && grantedExp > 0 && level.getGameRules().getBoolean(GameRules.RULE_DOBLOCKDROPS)) {
+      CropProfile crop = HarvestWithEaseAPI.probe(blockState);
+      if (crop != null && crop.isMature(blockState)) {
+        ExperienceAccumulator.add(level, event.getPlayer(), event.getPos(), grantedExp);
       }
-    } catch (NullPointerException | NoSuchElementException | ClassCastException e) {
-      BlockPos pos = event.getPos();
-      LOGGER.debug("Exception generated by block at [" + pos.toShortString() + "]");
-      LOGGER.debug("This is a non blocking error, but can result in incorrect behavior for mod " + MOD_ID);
-      LOGGER.debug("Most probably the cause of this issue was that a non-crop ID was added in the configuration and its age property could not be retrieved, see stack trace for more details", e);
     }
   }
 }
@@ -0,0 +1,29 @@
+package crystalspider.harvestwithease.handler;
+
+import crystalspider.harvestwithease.client.ConfigSyncReceiver;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.client.event.ClientPlayerNetworkEvent.LoggingOut;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+
+import static crystalspider.harvestwithease.ModLoader.MOD_ID;
+import static net.minecraftforge.fml.common.Mod.EventBusSubscriber.Bus.FORGE;
+
+/**
+ * {@link LoggingOut} event handler.
+ * Handles the {@link LoggingOut} event to forget the harvest configuration synced by the server.
+ * See {@link #handle(LoggingOut)} for more details.
+ */
+@EventBusSubscriber(modid = MOD_ID, bus = FORGE, value = Dist.CLIENT)
+public final class ClientLoggingOutEventHandler {
+  /**
+   * Listens and handles the {@link LoggingOut} event.
+   * Lets the {@link ConfigSyncReceiver} go back to the local configuration values.
+   *
+   * @param event
+   */
+  @SubscribeEvent
+  public static void handle(LoggingOut event) {
+    ConfigSyncReceiver.reset();
+  }
+}
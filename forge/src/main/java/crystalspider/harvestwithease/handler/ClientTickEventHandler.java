@@ -0,0 +1,32 @@
+package crystalspider.harvestwithease.handler;
+
+import crystalspider.harvestwithease.client.HarvestPredictor;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.TickEvent.ClientTickEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+
+import static crystalspider.harvestwithease.ModLoader.MOD_ID;
+import static net.minecraftforge.fml.common.Mod.EventBusSubscriber.Bus.FORGE;
+
+/**
+ * {@link ClientTickEvent} event handler.
+ * Handles the {@link ClientTickEvent} event to roll back the harvest predictions the server did not acknowledge in time.
+ * See {@link #handle(ClientTickEvent)} for more details.
+ */
+@EventBusSubscriber(modid = MOD_ID, bus = FORGE, value = Dist.CLIENT)
+public final class ClientTickEventHandler {
+  /**
+   * Listens and handles the {@link ClientTickEvent} event.
+   * At the end of each client tick, lets the {@link HarvestPredictor} roll back the predictions the server did not acknowledge in time.
+   *
+   * @param event
+   */
+  @SubscribeEvent
+  public static void handle(ClientTickEvent event) {
+    if (event.phase == TickEvent.Phase.END) {
+      HarvestPredictor.tick();
+    }
+  }
+}
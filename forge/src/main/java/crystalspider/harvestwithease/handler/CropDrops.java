@@ -0,0 +1,14 @@
+package crystalspider.harvestwithease.handler;
+
+import crystalspider.harvestwithease.api.event.HarvestWithEaseEvent.HarvestDrops;
+import net.minecraft.world.item.ItemStack;
+
+import java.util.List;
+
+/**
+ * Drops resulting from harvesting a crop.
+ *
+ * @param stacks {@link ItemStack stacks} to drop.
+ * @param custom whether {@link HarvestDrops} listeners have changed the drops to drop.
+ */
+record CropDrops(List<ItemStack> stacks, boolean custom) {}
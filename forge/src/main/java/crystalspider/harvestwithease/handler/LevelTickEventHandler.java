@@ -0,0 +1,42 @@
+package crystalspider.harvestwithease.handler;
+
+import crystalspider.harvestwithease.config.CompiledConfig;
+import crystalspider.harvestwithease.config.ExpDelivery;
+import crystalspider.harvestwithease.config.ModConfig;
+import crystalspider.harvestwithease.util.ExperienceAccumulator;
+import crystalspider.harvestwithease.util.HarvestEffects;
+import crystalspider.harvestwithease.util.SoundCoalescer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.TickEvent.LevelTickEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+
+import static crystalspider.harvestwithease.ModLoader.MOD_ID;
+import static net.minecraftforge.fml.common.Mod.EventBusSubscriber.Bus.FORGE;
+
+/**
+ * {@link LevelTickEvent} event handler.
+ * Handles the {@link LevelTickEvent} event to work through pending multi-harvests, grant the experience, play the sounds and send the break effects they accumulated.
+ * See {@link #handle(LevelTickEvent)} for more details.
+ */
+@EventBusSubscriber(modid = MOD_ID, bus = FORGE)
+public final class LevelTickEventHandler {
+  /**
+   * Listens and handles the {@link LevelTickEvent} event.
+   * At the end of each server level tick, lets the {@link HarvestScheduler} work through, within the budget of a single configuration snapshot, the pending multi-harvests of the level,
+   * then lets the {@link ExperienceAccumulator} grant the experience, the {@link SoundCoalescer} play the sounds and the {@link HarvestEffects} send the break effects of all the harvests of the tick.
+   *
+   * @param event
+   */
+  @SubscribeEvent
+  public static void handle(LevelTickEvent event) {
+    if (event.phase == TickEvent.Phase.END && event.level instanceof ServerLevel level) {
+      CompiledConfig config = ModConfig.getCompiled();
+      HarvestScheduler.tick(level, config);
+      ExperienceAccumulator.flush(level, config.expDelivery() == ExpDelivery.DIRECT);
+      SoundCoalescer.flush(level, config.soundsPerHarvest());
+      HarvestEffects.flush(level);
+    }
+  }
+}
@@ -0,0 +1,40 @@
+package crystalspider.harvestwithease.handler;
+
+import crystalspider.harvestwithease.config.ExpDelivery;
+import crystalspider.harvestwithease.config.ModConfig;
+import crystalspider.harvestwithease.util.ExperienceAccumulator;
+import crystalspider.harvestwithease.util.HarvestEffects;
+import crystalspider.harvestwithease.util.SoundCoalescer;
+import crystalspider.harvestwithease.util.StorageLocator;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+
+import static crystalspider.harvestwithease.ModLoader.MOD_ID;
+import static net.minecraftforge.fml.common.Mod.EventBusSubscriber.Bus.FORGE;
+
+/**
+ * {@link LevelEvent.Unload} event handler.
+ * Handles the {@link LevelEvent.Unload} event to wrap up pending multi-harvests and drop cached storage lookups.
+ * See {@link #handle(LevelEvent.Unload)} for more details.
+ */
+@EventBusSubscriber(modid = MOD_ID, bus = FORGE)
+public final class LevelUnloadEventHandler {
+  /**
+   * Listens and handles the {@link LevelEvent.Unload} event.
+   * Lets the {@link HarvestScheduler} finish the pending multi-harvests of the unloading server level, then lets the {@link ExperienceAccumulator} grant the pending experience and the {@link StorageLocator} forget its lookups.
+   *
+   * @param event
+   */
+  @SubscribeEvent
+  public static void handle(LevelEvent.Unload event) {
+    if (event.getLevel() instanceof ServerLevel level) {
+      HarvestScheduler.unload(level);
+      ExperienceAccumulator.unload(level, ModConfig.getCompiled().expDelivery() == ExpDelivery.DIRECT);
+      SoundCoalescer.unload(level);
+      HarvestEffects.unload(level);
+      StorageLocator.unload(level);
+    }
+  }
+}
@@ -0,0 +1,33 @@
+package crystalspider.harvestwithease.handler;
+
+import crystalspider.harvestwithease.util.HarvestRateLimiter;
+import crystalspider.harvestwithease.util.PredictionAcks;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.event.entity.player.PlayerEvent.PlayerLoggedOutEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+
+import static crystalspider.harvestwithease.ModLoader.MOD_ID;
+import static net.minecraftforge.fml.common.Mod.EventBusSubscriber.Bus.FORGE;
+
+/**
+ * {@link PlayerLoggedOutEvent} event handler.
+ * Handles the {@link PlayerLoggedOutEvent} event to forget the harvest prediction the player left pending and their rate limit bucket.
+ * See {@link #handle(PlayerLoggedOutEvent)} for more details.
+ */
+@EventBusSubscriber(modid = MOD_ID, bus = FORGE)
+public final class PlayerLoggedOutEventHandler {
+  /**
+   * Listens and handles the {@link PlayerLoggedOutEvent} event.
+   * Lets the {@link PredictionAcks} forget the prediction the player announced and no harvest claimed, and the {@link HarvestRateLimiter} the bucket of the player.
+   *
+   * @param event
+   */
+  @SubscribeEvent
+  public static void handle(PlayerLoggedOutEvent event) {
+    if (event.getEntity() instanceof ServerPlayer player) {
+      PredictionAcks.forget(player);
+      HarvestRateLimiter.forget(player);
+    }
+  }
+}
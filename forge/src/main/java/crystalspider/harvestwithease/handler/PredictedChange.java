@@ -0,0 +1,14 @@
+package crystalspider.harvestwithease.handler;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.block.state.BlockState;
+
+/**
+ * Block change a client side harvest is predicted to make, shown right away on the client until the server acknowledges the harvest.
+ *
+ * @param crop {@link BlockPos} of the crop whose harvest causes the change, as acknowledged by the server.
+ * @param pos {@link BlockPos} of the changed block.
+ * @param original {@link BlockState} before the change.
+ * @param predicted {@link BlockState} after the change.
+ */
+public record PredictedChange(BlockPos crop, BlockPos pos, BlockState original, BlockState predicted) {}
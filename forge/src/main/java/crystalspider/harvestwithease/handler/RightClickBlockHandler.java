@@ -1,12 +1,29 @@
 package crystalspider.harvestwithease.handler;
 
-import com.mojang.logging.LogUtils;
+import crystalspider.harvestwithease.api.CropProfile;
 import crystalspider.harvestwithease.api.HarvestWithEaseAPI;
+import crystalspider.harvestwithease.api.ToolProfile;
+import crystalspider.harvestwithease.api.ToolTable;
 import crystalspider.harvestwithease.api.event.HarvestWithEaseEvent.AfterHarvest;
 import crystalspider.harvestwithease.api.event.HarvestWithEaseEvent.BeforeHarvest;
 import crystalspider.harvestwithease.api.event.HarvestWithEaseEvent.HarvestDrops;
 import crystalspider.harvestwithease.api.event.HarvestWithEaseEvent.RightClickHarvestCheck;
+import crystalspider.harvestwithease.client.HarvestPredictor;
+import crystalspider.harvestwithease.config.AreaShape;
+import crystalspider.harvestwithease.config.CompiledConfig;
+import crystalspider.harvestwithease.config.DropsDestination;
 import crystalspider.harvestwithease.config.ModConfig;
+import crystalspider.harvestwithease.util.AreaScanner;
+import crystalspider.harvestwithease.util.BlockUpdateBatch;
+import crystalspider.harvestwithease.util.Diagnostics;
+import crystalspider.harvestwithease.util.Diagnostics.Counter;
+import crystalspider.harvestwithease.util.DropsDelivery;
+import crystalspider.harvestwithease.util.EventListeners;
+import crystalspider.harvestwithease.util.ExperienceAccumulator;
+import crystalspider.harvestwithease.util.HarvestEffects;
+import crystalspider.harvestwithease.util.HarvestRateLimiter;
+import crystalspider.harvestwithease.util.PredictionAcks;
+import crystalspider.harvestwithease.util.SoundCoalescer;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.resources.ResourceLocation;
@@ -18,27 +35,27 @@ import net.minecraft.world.InteractionHand;
 import net.minecraft.world.InteractionResult;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.item.TieredItem;
+import net.minecraft.world.level.GameRules;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.SoundType;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.block.state.properties.IntegerProperty;
-import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.BlockHitResult;
 import net.minecraft.world.phys.shapes.Shapes;
 import net.minecraftforge.common.MinecraftForge;
-import net.minecraftforge.common.ToolActions;
 import net.minecraftforge.event.entity.player.PlayerInteractEvent.RightClickBlock;
 import net.minecraftforge.eventbus.api.Event.Result;
 import net.minecraftforge.eventbus.api.EventPriority;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.loading.FMLEnvironment;
 import net.minecraftforge.registries.ForgeRegistries;
-import org.slf4j.Logger;
 
 import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.NoSuchElementException;
 
 import static crystalspider.harvestwithease.ModLoader.MOD_ID;
@@ -51,19 +68,18 @@ import static net.minecraftforge.fml.common.Mod.EventBusSubscriber.Bus.FORGE;
  */
 @EventBusSubscriber(modid = MOD_ID, bus = FORGE)
 public final class RightClickBlockHandler {
-  /**
-   * Logger.
-   */
-  private static final Logger LOGGER = LogUtils.getLogger();
-
   /**
    * Listens and handles the event {@link RightClickBlock} with {@link EventPriority#HIGH high priority}.
    * Will cancel further event processing only if the {@link Player player}
    * is not in spectator mode,
    * is not crouching,
-   * is holding the correct item (depends on {@link ModConfig#getRequireHoe() requireHoe})
+   * is holding the correct item (depends on {@link CompiledConfig#requireHoe() requireHoe})
    * and the interaction involves a fully grown crop.
    * Will also dispatch some events related to right-click harvesting.
+   * <p>
+   * Client side, the harvest is {@link HarvestPredictor predicted} when the server has this mod, the predictor being only ever loaded on the {@link FMLEnvironment#dist client}.
+   * Server side, predictions are {@link PredictionAcks acknowledged}, or rejected if the interaction does not harvest anything,
+   * and right-clicks on crops go through the {@link HarvestRateLimiter} before any harvest or area work.
    *
    * @param event
    */
@@ -74,40 +90,101 @@ public final class RightClickBlockHandler {
     if (canInteract(player, event)) {
       BlockPos blockPos = event.getPos();
       BlockState blockState = level.getBlockState(blockPos);
-      InteractionHand hand = getInteractionHand(player);
-      if (hand == event.getHand() && canHarvest(level, blockState, blockPos, player, hand, true)) {
-        try {
-          IntegerProperty cropAge = HarvestWithEaseAPI.getAge(blockState);
-          if (HarvestWithEaseAPI.isMature(blockState, cropAge)) {
-            cancel(event);
-            if (!level.isClientSide()) {
-              harvest((ServerLevel) level, cropAge, blockState, blockPos, event.getFace(), event.getHitVec(), (ServerPlayer) player, hand);
-              if (player.getItemInHand(hand).getItem() instanceof TieredItem tool && isHoe(tool.getDefaultInstance()) && HarvestWithEaseAPI.isTierForMultiHarvest(tool)) {
-                int fromCenterToEdge = ((HarvestWithEaseAPI.getTierLevel(tool.getTier()) - HarvestWithEaseAPI.getTierLevel(ModConfig.getMultiHarvestStartingTier())) * ModConfig.getAreaIncrementStep().step + ModConfig.getAreaStartingSize().size - 1) / 2;
-                BlockPos.betweenClosedStream(AABB.encapsulatingFullBlocks(blockPos, blockPos).inflate(fromCenterToEdge, 0, fromCenterToEdge)).filter(pos -> !pos.equals(blockPos)).forEach(pos -> {
-                  BlockState state = level.getBlockState(pos);
-                  if (canHarvest(level, state, pos, player, hand, false)) {
-                    IntegerProperty age = HarvestWithEaseAPI.getAge(state);
-                    if (HarvestWithEaseAPI.isMature(state, age)) {
-                      harvest((ServerLevel) level, age, state, pos, event.getFace(), null, (ServerPlayer) player, hand);
-                    }
+      CropProfile crop = HarvestWithEaseAPI.probe(blockState);
+      if (crop != null) {
+        CompiledConfig config = ModConfig.getCompiled();
+        InteractionHand hand = getInteractionHand(config, player);
+        if (hand == event.getHand() && canHarvest(level, blockState, blockPos, player, hand, true)) {
+          try {
+            if (crop.isMature(blockState)) {
+              cancel(event);
+              if (!level.isClientSide()) {
+                if (HarvestRateLimiter.tryHarvest(config, (ServerPlayer) player)) {
+                  int sequence = PredictionAcks.claim((ServerPlayer) player, blockPos, hand);
+                  int fromCenterToEdge = getMultiHarvestRadius(config, player.getItemInHand(hand));
+                  if (fromCenterToEdge > 0) {
+                    PredictionAcks.accept((ServerPlayer) player, sequence);
+                    HarvestScheduler.submit(new HarvestJob(config, (ServerLevel) level, crop.age(), blockState, blockPos, fromCenterToEdge, event.getFace(), event.getHitVec(), (ServerPlayer) player, hand, sequence));
+                  } else {
+                    harvest(config, (ServerLevel) level, crop.age(), blockState, blockPos, event.getFace(), event.getHitVec(), (ServerPlayer) player, hand, true, null, null, null);
+                    PredictionAcks.confirm((ServerPlayer) player, sequence, List.of(blockPos));
                   }
-                });
+                }
+              } else if (FMLEnvironment.dist.isClient()) {
+                HarvestPredictor.predict(level, blockPos, hand, () -> predictHarvest(config, level, crop, blockState, blockPos, player, hand));
               }
+            } else if (player instanceof ServerPlayer serverPlayer) {
+              HarvestRateLimiter.reject(config, serverPlayer);
             }
+          } catch (NullPointerException | NoSuchElementException | ClassCastException | IllegalArgumentException e) {
+            Diagnostics.record(Counter.HARVEST_ERRORS, e);
           }
-        } catch (NullPointerException | NoSuchElementException | ClassCastException e) {
-          LOGGER.debug("Exception generated by block at [" + blockPos.toShortString() + "]");
-          LOGGER.debug("This is a non blocking error, but can result in incorrect behavior for mod " + MOD_ID);
-          LOGGER.debug("Most probably the cause of this issue was that a non-crop ID was added in the configuration and its age property could not be retrieved, see stack trace for more details", e);
         }
       }
     }
+    if (player instanceof ServerPlayer serverPlayer) {
+      PredictionAcks.reject(serverPlayer, event.getPos(), event.getHand());
+    }
+  }
+
+  /**
+   * Predicts, client side, the harvest of the right-clicked crop and, if the held item can multi-harvest, of the area around it, for the {@link HarvestPredictor} to show it.
+   * Relies on the client configuration: whatever the server ends up not harvesting is rolled back.
+   *
+   * @param config {@link CompiledConfig} snapshot.
+   * @param level client {@link Level}.
+   * @param crop {@link CropProfile} of the right-clicked crop.
+   * @param blockState {@link BlockState} of the right-clicked crop.
+   * @param blockPos {@link BlockPos} of the right-clicked crop.
+   * @param player {@link Player} harvesting.
+   * @param hand {@link InteractionHand hand} used to harvest.
+   * @return the {@link PredictedChange predicted changes}.
+   */
+  private static List<PredictedChange> predictHarvest(CompiledConfig config, Level level, CropProfile crop, BlockState blockState, BlockPos blockPos, Player player, InteractionHand hand) {
+    List<PredictedChange> changes = new ArrayList<>();
+    predictCrop(level, crop.age(), blockState, blockPos, changes);
+    int radius = getMultiHarvestRadius(config, player.getItemInHand(hand));
+    if (radius > 0) {
+      AreaScanner.CropVisitor visitor = (pos, state, profile) -> {
+        if (canHarvest(level, state, pos, player, hand, false) && profile.isMature(state)) {
+          predictCrop(level, profile.age(), state, pos.immutable(), changes);
+        }
+      };
+      if (config.areaShape() == AreaShape.FIELD) {
+        new AreaScanner.Field(level, blockPos, blockState.getBlock(), config.fieldHarvestCap() - 1, config.fieldVerticalRange()).scan(Integer.MAX_VALUE, visitor);
+      } else {
+        AreaScanner.scan(level, blockPos, radius, visitor);
+      }
+    }
+    return changes;
+  }
+
+  /**
+   * Predicts the changes {@link #updateCrop} is going to make when harvesting the given crop.
+   *
+   * @param level client {@link Level}.
+   * @param age {@link IntegerProperty age} of the crop.
+   * @param blockState {@link BlockState} of the crop.
+   * @param blockPos {@link BlockPos} of the crop.
+   * @param changes list of {@link PredictedChange changes} to add the predicted ones to.
+   */
+  private static void predictCrop(Level level, IntegerProperty age, BlockState blockState, BlockPos blockPos, List<PredictedChange> changes) {
+    Block block = blockState.getBlock();
+    BlockPos basePos = getBasePos(level, block, blockPos);
+    BlockState baseState = level.getBlockState(basePos);
+    BlockState replanted = block == Blocks.PITCHER_CROP ? Blocks.AIR.defaultBlockState() : baseState.setValue(age, 0);
+    changes.add(new PredictedChange(blockPos, basePos, baseState, replanted));
+    BlockPos abovePos = basePos.above();
+    BlockState aboveState = level.getBlockState(abovePos);
+    if (replanted.is(BlockTags.CROPS) && aboveState.is(block) && !isTallButSeparate(block)) {
+      changes.add(new PredictedChange(blockPos, abovePos, aboveState, level.getFluidState(abovePos).createLegacyBlock()));
+    }
   }
 
   /**
    * Harvests the crop, handles all related actions (exp granting, hoe damaging, dropping resources, etc.) and dispatches all related events.
    *
+   * @param config {@link CompiledConfig} snapshot to use for the whole harvest.
    * @param level {@link ServerLevel level}.
    * @param age {@link IntegerProperty age} of the crop.
    * @param blockState {@link BlockState} of the crop.
@@ -116,15 +193,23 @@ public final class RightClickBlockHandler {
    * @param hitResult {@link BlockHitResult} of the {@link RightClickBlock} event.
    * @param player {@link ServerPlayer player} harvesting the crop.
    * @param hand {@link InteractionHand hand} used to harvest.
+   * @param cropEvents whether to fire the per-crop events.
+   * @param updates {@link BlockUpdateBatch} to coalesce the crop update into, {@code null} to update it right away.
+   * @param held list to hold the drops of the crop back into, {@code null} to drop them right away.
+   * @param nearby {@link DropsDelivery.NearbyItems} of the harvest area, {@code null} if the crop is harvested on its own.
    */
-  private static void harvest(ServerLevel level, IntegerProperty age, BlockState blockState, BlockPos blockPos, Direction face, BlockHitResult hitResult, ServerPlayer player, InteractionHand hand) {
-    MinecraftForge.EVENT_BUS.post(new BeforeHarvest(level, blockState, blockPos, face, hitResult, player, hand));
+  static void harvest(CompiledConfig config, ServerLevel level, IntegerProperty age, BlockState blockState, BlockPos blockPos, Direction face, BlockHitResult hitResult, ServerPlayer player, InteractionHand hand, boolean cropEvents, @Nullable BlockUpdateBatch updates, @Nullable List<HeldDrops> held, @Nullable DropsDelivery.NearbyItems nearby) {
+    if (cropEvents && EventListeners.hasListeners(BeforeHarvest.class)) {
+      MinecraftForge.EVENT_BUS.post(new BeforeHarvest(level, blockState, blockPos, face, hitResult, player, hand));
+    }
     BlockPos basePos = getBasePos(level, blockState.getBlock(), blockPos);
-    grantExp(level, blockState.getBlock(), basePos);
-    damageHoe(player, hand);
-    updateCrop(level, age, blockState.getBlock(), basePos, player, dropResources(level, level.getBlockState(basePos), basePos, face, hitResult, player, hand));
-    playSound(level, player, blockState, blockPos);
-    MinecraftForge.EVENT_BUS.post(new AfterHarvest(level, blockState, blockPos, face, hitResult, player, hand));
+    grantExp(config, level, player, basePos, 1);
+    damageHoe(config, player, hand, player.getItemInHand(hand), 1);
+    updateCrop(level, age, blockState.getBlock(), basePos, player, dropResources(config, level, level.getBlockState(basePos), basePos, face, hitResult, player, hand, cropEvents, held, nearby), updates);
+    playSound(config, level, player, blockState, blockPos);
+    if (cropEvents && EventListeners.hasListeners(AfterHarvest.class)) {
+      MinecraftForge.EVENT_BUS.post(new AfterHarvest(level, blockState, blockPos, face, hitResult, player, hand));
+    }
   }
 
   /**
@@ -136,23 +221,34 @@ public final class RightClickBlockHandler {
    * @param basePos {@link BlockPos} of the crop block clicked.
    * @param player {@link ServerPlayer player} harvesting the crop.
    * @param customDrops whether {@link HarvestDrops} listeners have changed the drops to drop.
+   * @param updates {@link BlockUpdateBatch} to coalesce the crop update into, {@code null} to update it right away.
+   *     When batching, the break effects of the crop blocks above are {@link HarvestEffects batched} as well.
    */
-  private static void updateCrop(ServerLevel level, IntegerProperty age, Block block, BlockPos basePos, ServerPlayer player, boolean customDrops) {
-    level.setBlockAndUpdate(basePos, block == Blocks.PITCHER_CROP ? Blocks.AIR.defaultBlockState() : level.getBlockState(basePos).setValue(age, 0));
+  static void updateCrop(ServerLevel level, IntegerProperty age, Block block, BlockPos basePos, ServerPlayer player, boolean customDrops, @Nullable BlockUpdateBatch updates) {
+    BlockState replanted = block == Blocks.PITCHER_CROP ? Blocks.AIR.defaultBlockState() : level.getBlockState(basePos).setValue(age, 0);
+    if (updates != null) {
+      updates.setBlock(basePos, replanted);
+    } else {
+      level.setBlockAndUpdate(basePos, replanted);
+    }
     if (level.getBlockState(basePos).is(BlockTags.CROPS) && level.getBlockState(basePos.above()).is(block) && !isTallButSeparate(block)) {
-      level.destroyBlock(basePos.above(), !customDrops, player);
+      if (updates != null) {
+        HarvestEffects.destroyBlock(level, basePos.above(), !customDrops, player);
+      } else {
+        level.destroyBlock(basePos.above(), !customDrops, player);
+      }
     }
   }
 
   /**
    * Returns the base pos of the clicked crop.
    *
-   * @param world {@link ServerLevel level}.
+   * @param world {@link Level level}.
    * @param block {@link Block} of the clicked crop.
    * @param blockPos {@link BlockPos} of the crop block clicked.
    * @return the base pos of the clicked crop.
    */
-  private static BlockPos getBasePos(ServerLevel world, Block block, BlockPos blockPos) {
+  static BlockPos getBasePos(Level world, Block block, BlockPos blockPos) {
     BlockPos basePos;
     for (basePos = blockPos; world.getBlockState(blockPos).is(BlockTags.CROPS) && !isTallButSeparate(block) && world.getBlockState(basePos.below()).is(block); basePos = basePos.below()) ;
     return basePos;
@@ -170,27 +266,33 @@ public final class RightClickBlockHandler {
   }
 
   /**
-   * Grants the given player the configured amount of experience, if any.
+   * Grants the configured amount of experience for each harvested crop, if any and if blocks drop loot.
+   * The experience is {@link ExperienceAccumulator accumulated} and actually granted at the end of the tick.
    *
+   * @param config {@link CompiledConfig} snapshot.
    * @param world
-   * @param crop
+   * @param player {@link ServerPlayer player} harvesting.
    * @param pos
+   * @param crops amount of harvested crops.
    */
-  private static void grantExp(ServerLevel world, Block crop, BlockPos pos) {
-    if (ModConfig.getGrantedExp() > 0) {
-      crop.popExperience(world, pos, ModConfig.getGrantedExp());
+  static void grantExp(CompiledConfig config, ServerLevel world, ServerPlayer player, BlockPos pos, int crops) {
+    if (config.grantedExp() > 0 && world.getGameRules().getBoolean(GameRules.RULE_DOBLOCKDROPS)) {
+      ExperienceAccumulator.add(world, player, pos, (int) Math.min((long) config.grantedExp() * crops, Integer.MAX_VALUE));
     }
   }
 
   /**
-   * If needed and possible, damages the hoe of the given {@link ModConfig#getDamageOnHarvest() damage}.
+   * If needed and possible, damages the hoe of the given {@link CompiledConfig#damageOnHarvest() damage} for each harvested crop.
    *
+   * @param config {@link CompiledConfig} snapshot.
    * @param player {@link ServerPlayer player} holding the hoe.
    * @param hand {@link InteractionHand hand} holding the hoe.
+   * @param hoe {@link ItemStack} of the hoe.
+   * @param crops amount of harvested crops.
    */
-  private static void damageHoe(ServerPlayer player, InteractionHand hand) {
-    if (ModConfig.getRequireHoe() && ModConfig.getDamageOnHarvest() > 0 && !player.isCreative()) {
-      player.getItemInHand(hand).hurtAndBreak(ModConfig.getDamageOnHarvest(), player, playerEntity -> playerEntity.broadcastBreakEvent(hand));
+  static void damageHoe(CompiledConfig config, ServerPlayer player, InteractionHand hand, ItemStack hoe, int crops) {
+    if (config.damageHoe() && !player.isCreative()) {
+      hoe.hurtAndBreak((int) Math.min((long) config.damageOnHarvest() * crops, Integer.MAX_VALUE), player, playerEntity -> playerEntity.broadcastBreakEvent(hand));
     }
   }
 
@@ -198,6 +300,7 @@ public final class RightClickBlockHandler {
    * Drop the resources resulting from harvesting a crop in the given {@link ServerLevel level} and {@link BlockState blockState}, making them pop from the given face and using the item held in the given player hand.
    * Takes care of dispatching the {@link HarvestDrops} to retrieve the drops resulting from the harvest.
    *
+   * @param config {@link CompiledConfig} snapshot.
    * @param level {@link ServerLevel server level} the drops should come from.
    * @param blockState {@link BlockState state} of the crop being harvested.
    * @param blockPos crop {@link BlockPos position}.
@@ -205,33 +308,92 @@ public final class RightClickBlockHandler {
    * @param hitResult {@link BlockHitResult} of the {@link RightClickBlock} event.
    * @param player {@link ServerPlayer player} harvesting the crop.
    * @param hand {@link InteractionHand hand} used to harvest the crop.
+   * @param cropEvents whether to fire the {@link HarvestDrops} event.
+   * @param held list to hold the drops back into, {@code null} to drop them right away.
+   * @param nearby {@link DropsDelivery.NearbyItems} of the harvest area, {@code null} if the crop is harvested on its own.
    * @return whether {@link HarvestDrops} listeners have changed the drops to drop.
    */
-  private static boolean dropResources(ServerLevel level, BlockState blockState, BlockPos blockPos, Direction face, BlockHitResult hitResult, ServerPlayer player, InteractionHand hand) {
+  private static boolean dropResources(CompiledConfig config, ServerLevel level, BlockState blockState, BlockPos blockPos, Direction face, BlockHitResult hitResult, ServerPlayer player, InteractionHand hand, boolean cropEvents, @Nullable List<HeldDrops> held, @Nullable DropsDelivery.NearbyItems nearby) {
+    CropDrops drops = collectDrops(level, blockState, blockPos, face, hitResult, player, hand, cropEvents);
+    if (held != null) {
+      held.add(new HeldDrops(blockState, blockPos, drops.stacks()));
+    } else {
+      popDrops(config, level, blockState, blockPos, face, player, drops.stacks(), nearby);
+    }
+    return drops.custom();
+  }
+
+  /**
+   * Dispatches the {@link HarvestDrops} event to retrieve the drops resulting from harvesting a crop.
+   * When the event is skipped or nothing listens to it, the {@link HarvestDrops#getDefaultDrops default drops} are returned without building it.
+   *
+   * @param level {@link ServerLevel server level} the drops should come from.
+   * @param blockState {@link BlockState state} of the crop being harvested.
+   * @param blockPos crop {@link BlockPos position}.
+   * @param face {@link Direction face} clicked of the crop.
+   * @param hitResult {@link BlockHitResult} of the {@link RightClickBlock} event.
+   * @param player {@link ServerPlayer player} harvesting the crop.
+   * @param hand {@link InteractionHand hand} used to harvest the crop.
+   * @param cropEvents whether to fire the {@link HarvestDrops} event.
+   * @return the {@link CropDrops} to drop.
+   */
+  static CropDrops collectDrops(ServerLevel level, BlockState blockState, BlockPos blockPos, Direction face, BlockHitResult hitResult, ServerPlayer player, InteractionHand hand, boolean cropEvents) {
+    if (!cropEvents || !EventListeners.hasListeners(HarvestDrops.class)) {
+      return new CropDrops(HarvestDrops.getDefaultDrops(level, blockState, blockPos, hitResult, player, hand), false);
+    }
     HarvestDrops event = new HarvestDrops(level, blockState, blockPos, face, hitResult, player, hand);
     MinecraftForge.EVENT_BUS.post(event);
-    for (ItemStack stack : event.drops) {
+    return new CropDrops(event.getFinalDrops(), event.haveDropsChanged());
+  }
+
+  /**
+   * Drops the given stacks in the given {@link ServerLevel level}, making them pop from the given face when the crop has a collision shape.
+   * If the {@link CompiledConfig#dropsDestination() drops destination} is the {@link DropsDestination#INVENTORY inventory} or a {@link DropsDestination#STORAGE storage}, only what does not fit in there is dropped.
+   * Drops are first used to top up the item entities already around the crop.
+   *
+   * @param config {@link CompiledConfig} snapshot.
+   * @param level {@link ServerLevel server level} the drops should come from.
+   * @param blockState {@link BlockState state} of the crop being harvested.
+   * @param blockPos crop {@link BlockPos position}.
+   * @param face {@link Direction face} clicked of the crop.
+   * @param player {@link ServerPlayer player} harvesting the crop.
+   * @param drops {@link ItemStack stacks} to drop.
+   * @param nearby {@link DropsDelivery.NearbyItems} of the harvest area, {@code null} if the crop is harvested on its own.
+   */
+  static void popDrops(CompiledConfig config, ServerLevel level, BlockState blockState, BlockPos blockPos, Direction face, ServerPlayer player, List<ItemStack> drops, @Nullable DropsDelivery.NearbyItems nearby) {
+    if (config.dropsDestination() == DropsDestination.INVENTORY) {
+      drops = DropsDelivery.toInventory(player, drops);
+    } else if (config.dropsDestination() == DropsDestination.STORAGE) {
+      drops = DropsDelivery.toStorage(level, blockPos, config.storageSearchRadius(), drops);
+    }
+    drops = DropsDelivery.toNearbyItems(level, nearby, blockPos, drops);
+    for (ItemStack stack : drops) {
       if (blockState.getCollisionShape(level, blockPos) != Shapes.empty()) {
         Block.popResourceFromFace(level, blockPos, face, stack);
       } else {
         Block.popResource(level, blockPos, stack);
       }
     }
-    return event.haveDropsChanged();
   }
 
   /**
-   * If {@link ModConfig#getPlaySound() playSound} is true, plays the block breaking sound.
+   * If {@link CompiledConfig#playSound() playSound} is true, plays the block breaking sound.
+   * Unless {@link CompiledConfig#soundsPerHarvest() soundsPerHarvest} is {@code 0}, the sound is {@link SoundCoalescer coalesced} with the others of the tick.
    *
+   * @param config {@link CompiledConfig} snapshot.
    * @param level {@link ServerLevel} to play the sound.
    * @param player {@link ServerPlayer player} activating the sound.
    * @param blockState {@link BlockState state} of the block emitting the sound.
    * @param blockPos {@link BlockPos position} of the block emitting the sound.
    */
-  private static void playSound(ServerLevel level, ServerPlayer player, BlockState blockState, BlockPos blockPos) {
-    if (ModConfig.getPlaySound()) {
+  static void playSound(CompiledConfig config, ServerLevel level, ServerPlayer player, BlockState blockState, BlockPos blockPos) {
+    if (config.playSound()) {
       SoundType soundType = blockState.getBlock().getSoundType(blockState, level, blockPos, player);
-      level.playSound(null, blockPos, soundType.getBreakSound(), SoundSource.BLOCKS, soundType.getVolume(), soundType.getPitch());
+      if (config.soundsPerHarvest() > 0) {
+        SoundCoalescer.add(level, player, blockPos, soundType.getBreakSound(), soundType.getVolume(), soundType.getPitch());
+      } else {
+        level.playSound(null, blockPos, soundType.getBreakSound(), SoundSource.BLOCKS, soundType.getVolume(), soundType.getPitch());
+      }
     }
   }
 
@@ -249,19 +411,20 @@ public final class RightClickBlockHandler {
    * Returns the most suitable interaction hand from the player.
    * Returns null if there was no suitable interaction hand.
    *
+   * @param config {@link CompiledConfig} snapshot.
    * @param player
    * @return most suitable interaction hand.
    */
   @Nullable
-  private static InteractionHand getInteractionHand(Player player) {
+  private static InteractionHand getInteractionHand(CompiledConfig config, Player player) {
     if (!player.isCrouching()) {
-      if (isHoe(player.getMainHandItem())) {
+      if (isHoe(config, player.getMainHandItem())) {
         return InteractionHand.MAIN_HAND;
       }
-      if (isHoe(player.getOffhandItem())) {
+      if (isHoe(config, player.getOffhandItem())) {
         return InteractionHand.OFF_HAND;
       }
-      if (!ModConfig.getRequireHoe()) {
+      if (!config.requireHoe()) {
         return InteractionHand.MAIN_HAND;
       }
     }
@@ -269,18 +432,30 @@ public final class RightClickBlockHandler {
   }
 
   /**
-   * Checks whether the given itemStack can perform all the {@link ToolActions#DEFAULT_HOE_ACTIONS default hoe actions}.
+   * Returns the multi-harvest radius granted by the given itemStack.
    *
+   * @param config {@link CompiledConfig} snapshot.
+   * @param handItem
+   * @return the multi-harvest radius or {@code -1} if the given itemStack cannot multi-harvest.
+   */
+  private static int getMultiHarvestRadius(CompiledConfig config, ItemStack handItem) {
+    return ToolTable.get(config, handItem.getItem()).radius();
+  }
+
+  /**
+   * Checks whether the given itemStack is a hoe tool, according to its {@link ToolProfile}.
+   *
+   * @param config {@link CompiledConfig} snapshot.
    * @param handItem
    * @return whether the given itemStack is a hoe tool.
    */
-  private static boolean isHoe(ItemStack handItem) {
-    return ToolActions.DEFAULT_HOE_ACTIONS.stream().allMatch(handItem::canPerformAction);
+  private static boolean isHoe(CompiledConfig config, ItemStack handItem) {
+    return ToolTable.get(config, handItem.getItem()).hoe();
   }
 
   /**
    * Checks whether the given {@link Player} can right-click harvest the crop.
-   * Dispatches the {@link RightClickHarvestCheck} event if the right-clicked block is indeed a crop.
+   * Dispatches the {@link RightClickHarvestCheck} event, the given blockState is expected to be a {@link HarvestWithEaseAPI#probe(BlockState) crop}.
    *
    * @param level {@link Level} of the interaction.
    * @param blockState {@link BlockState} of the crop to harvest.
@@ -290,8 +465,11 @@ public final class RightClickBlockHandler {
    * @param first whether the current crop is the actual right-clicked crop.
    * @return whether the player can right-click harvest the crop.
    */
-  private static boolean canHarvest(Level level, BlockState blockState, BlockPos blockPos, Player player, InteractionHand hand, boolean first) {
-    if (HarvestWithEaseAPI.isCrop(blockState.getBlock()) && player.hasCorrectToolForDrops(blockState)) {
+  static boolean canHarvest(Level level, BlockState blockState, BlockPos blockPos, Player player, InteractionHand hand, boolean first) {
+    if (player.hasCorrectToolForDrops(blockState)) {
+      if (!EventListeners.hasListeners(RightClickHarvestCheck.class)) {
+        return true;
+      }
       RightClickHarvestCheck event = new RightClickHarvestCheck(level, blockState, blockPos, player, hand, true, first);
       MinecraftForge.EVENT_BUS.post(event);
       return event.canHarvest();
@@ -0,0 +1,30 @@
+package crystalspider.harvestwithease.handler;
+
+import crystalspider.harvestwithease.api.CropTable;
+import crystalspider.harvestwithease.config.ModConfig;
+import net.minecraftforge.event.TagsUpdatedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+
+import static crystalspider.harvestwithease.ModLoader.MOD_ID;
+import static net.minecraftforge.fml.common.Mod.EventBusSubscriber.Bus.FORGE;
+
+/**
+ * {@link TagsUpdatedEvent} event handler.
+ * Handles the {@link TagsUpdatedEvent} event to refresh everything that's derived from tags and registries.
+ * See {@link #handle(TagsUpdatedEvent)} for more details.
+ */
+@EventBusSubscriber(modid = MOD_ID, bus = FORGE)
+public final class TagsUpdatedEventHandler {
+  /**
+   * Listens and handles the {@link TagsUpdatedEvent} event.
+   * Compiles a new {@link ModConfig#getCompiled() configuration snapshot}, since tier levels may have changed, and invalidates the {@link CropTable}.
+   *
+   * @param event
+   */
+  @SubscribeEvent
+  public static void handle(TagsUpdatedEvent event) {
+    ModConfig.compile();
+    CropTable.invalidate();
+  }
+}
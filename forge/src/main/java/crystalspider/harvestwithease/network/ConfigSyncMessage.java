@@ -0,0 +1,63 @@
+package crystalspider.harvestwithease.network;
+
+import crystalspider.harvestwithease.client.ConfigSyncReceiver;
+import crystalspider.harvestwithease.config.AreaShape;
+import crystalspider.harvestwithease.config.SyncedConfig;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.event.network.CustomPayloadEvent;
+
+/**
+ * Server to client message syncing the {@link SyncedConfig harvest configuration}.
+ *
+ * @param hash {@link SyncedConfig#hash() version hash} of the values, as computed by the server.
+ * @param config synced {@link SyncedConfig values}.
+ */
+public record ConfigSyncMessage(int hash, SyncedConfig config) {
+  /**
+   * Writes the given message to the given buffer.
+   *
+   * @param message {@link ConfigSyncMessage} to write.
+   * @param buffer {@link FriendlyByteBuf} to write to.
+   */
+  public static void encode(ConfigSyncMessage message, FriendlyByteBuf buffer) {
+    SyncedConfig config = message.config;
+    buffer.writeInt(message.hash);
+    buffer.writeCollection(config.crops(), FriendlyByteBuf::writeUtf);
+    buffer.writeBoolean(config.requireHoe());
+    buffer.writeUtf(config.multiHarvestStartingTier());
+    buffer.writeVarInt(config.areaStartingSize());
+    buffer.writeVarInt(config.areaIncrementStep());
+    buffer.writeEnum(config.areaShape());
+    buffer.writeVarInt(config.fieldHarvestCap());
+    buffer.writeVarInt(config.fieldVerticalRange());
+  }
+
+  /**
+   * Reads a message from the given buffer.
+   *
+   * @param buffer {@link FriendlyByteBuf} to read from.
+   * @return the {@link ConfigSyncMessage} read.
+   */
+  public static ConfigSyncMessage decode(FriendlyByteBuf buffer) {
+    return new ConfigSyncMessage(buffer.readInt(), new SyncedConfig(
+      buffer.readList(FriendlyByteBuf::readUtf),
+      buffer.readBoolean(),
+      buffer.readUtf(),
+      buffer.readVarInt(),
+      buffer.readVarInt(),
+      buffer.readEnum(AreaShape.class),
+      buffer.readVarInt(),
+      buffer.readVarInt()
+    ));
+  }
+
+  /**
+   * Handles the given message on the client main thread, applying the synced values.
+   *
+   * @param message received {@link ConfigSyncMessage}.
+   * @param context {@link CustomPayloadEvent.Context} of the message.
+   */
+  public static void handle(ConfigSyncMessage message, CustomPayloadEvent.Context context) {
+    ConfigSyncReceiver.receive(message.hash, message.config);
+  }
+}
@@ -0,0 +1,51 @@
+package crystalspider.harvestwithease.network;
+
+import crystalspider.harvestwithease.client.HarvestPredictor;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.event.network.CustomPayloadEvent;
+import net.minecraftforge.fml.loading.FMLEnvironment;
+
+/**
+ * Server to client message acknowledging a predicted harvest.
+ *
+ * @param sequence sequence number of the prediction.
+ * @param done whether the harvest is over, otherwise it just started and is going to be acknowledged again.
+ * @param harvested {@link BlockPos#asLong() packed positions} of the harvested crops, empty unless {@code done}.
+ */
+public record HarvestAckMessage(int sequence, boolean done, long[] harvested) {
+  /**
+   * Writes the given message to the given buffer.
+   *
+   * @param message {@link HarvestAckMessage} to write.
+   * @param buffer {@link FriendlyByteBuf} to write to.
+   */
+  public static void encode(HarvestAckMessage message, FriendlyByteBuf buffer) {
+    buffer.writeVarInt(message.sequence);
+    buffer.writeBoolean(message.done);
+    buffer.writeLongArray(message.harvested);
+  }
+
+  /**
+   * Reads a message from the given buffer.
+   *
+   * @param buffer {@link FriendlyByteBuf} to read from.
+   * @return the {@link HarvestAckMessage} read.
+   */
+  public static HarvestAckMessage decode(FriendlyByteBuf buffer) {
+    return new HarvestAckMessage(buffer.readVarInt(), buffer.readBoolean(), buffer.readLongArray());
+  }
+
+  /**
+   * Handles the given message on the client main thread, settling the prediction it acknowledges.
+   * The {@link HarvestPredictor} is only ever loaded on the {@link FMLEnvironment#dist client}.
+   *
+   * @param message received {@link HarvestAckMessage}.
+   * @param context {@link CustomPayloadEvent.Context} of the message.
+   */
+  public static void handle(HarvestAckMessage message, CustomPayloadEvent.Context context) {
+    if (FMLEnvironment.dist.isClient()) {
+      HarvestPredictor.acknowledge(message.sequence, message.done, message.harvested);
+    }
+  }
+}
@@ -0,0 +1,62 @@
+package crystalspider.harvestwithease.network;
+
+import crystalspider.harvestwithease.client.HarvestEffectsRenderer;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.event.network.CustomPayloadEvent;
+
+/**
+ * Server to client message listing the tall crop blocks broken by multi-harvests during a tick, whose break effects the client should render.
+ * <p>
+ * Positions are encoded as offsets from the first one, which all fit in a short since they are all within the view of the same player.
+ *
+ * @param positions {@link BlockPos#asLong() packed positions} of the broken blocks.
+ * @param states {@link net.minecraft.world.level.block.Block#getId(net.minecraft.world.level.block.state.BlockState) ids} of the states of the broken blocks, by index of their position.
+ */
+public record HarvestEffectsMessage(long[] positions, int[] states) {
+  /**
+   * Writes the given message to the given buffer.
+   *
+   * @param message {@link HarvestEffectsMessage} to write.
+   * @param buffer {@link FriendlyByteBuf} to write to.
+   */
+  public static void encode(HarvestEffectsMessage message, FriendlyByteBuf buffer) {
+    buffer.writeVarInt(message.positions.length);
+    long origin = message.positions[0];
+    buffer.writeLong(origin);
+    for (int c = 0; c < message.positions.length; c++) {
+      buffer.writeShort(BlockPos.getX(message.positions[c]) - BlockPos.getX(origin));
+      buffer.writeShort(BlockPos.getY(message.positions[c]) - BlockPos.getY(origin));
+      buffer.writeShort(BlockPos.getZ(message.positions[c]) - BlockPos.getZ(origin));
+      buffer.writeVarInt(message.states[c]);
+    }
+  }
+
+  /**
+   * Reads a message from the given buffer.
+   *
+   * @param buffer {@link FriendlyByteBuf} to read from.
+   * @return the {@link HarvestEffectsMessage} read.
+   */
+  public static HarvestEffectsMessage decode(FriendlyByteBuf buffer) {
+    int size = buffer.readVarInt();
+    long origin = buffer.readLong();
+    long[] positions = new long[size];
+    int[] states = new int[size];
+    for (int c = 0; c < size; c++) {
+      positions[c] = BlockPos.asLong(BlockPos.getX(origin) + buffer.readShort(), BlockPos.getY(origin) + buffer.readShort(), BlockPos.getZ(origin) + buffer.readShort());
+      states[c] = buffer.readVarInt();
+    }
+    return new HarvestEffectsMessage(positions, states);
+  }
+
+  /**
+   * Handles the given message on the client main thread, rendering its break effects.
+   *
+   * @param message received {@link HarvestEffectsMessage}.
+   * @param context {@link CustomPayloadEvent.Context} of the message.
+   */
+  public static void handle(HarvestEffectsMessage message, CustomPayloadEvent.Context context) {
+    HarvestEffectsRenderer.render(message.positions, message.states);
+  }
+}
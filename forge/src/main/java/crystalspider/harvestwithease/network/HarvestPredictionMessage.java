@@ -0,0 +1,52 @@
+package crystalspider.harvestwithease.network;
+
+import crystalspider.harvestwithease.util.PredictionAcks;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.InteractionHand;
+import net.minecraftforge.event.network.CustomPayloadEvent;
+
+/**
+ * Client to server message announcing a predicted harvest, sent right before the interaction it stands for.
+ *
+ * @param sequence sequence number of the prediction.
+ * @param pos {@link BlockPos} of the right-clicked crop.
+ * @param hand {@link InteractionHand} used to harvest.
+ */
+public record HarvestPredictionMessage(int sequence, BlockPos pos, InteractionHand hand) {
+  /**
+   * Writes the given message to the given buffer.
+   *
+   * @param message {@link HarvestPredictionMessage} to write.
+   * @param buffer {@link FriendlyByteBuf} to write to.
+   */
+  public static void encode(HarvestPredictionMessage message, FriendlyByteBuf buffer) {
+    buffer.writeVarInt(message.sequence);
+    buffer.writeBlockPos(message.pos);
+    buffer.writeEnum(message.hand);
+  }
+
+  /**
+   * Reads a message from the given buffer.
+   *
+   * @param buffer {@link FriendlyByteBuf} to read from.
+   * @return the {@link HarvestPredictionMessage} read.
+   */
+  public static HarvestPredictionMessage decode(FriendlyByteBuf buffer) {
+    return new HarvestPredictionMessage(buffer.readVarInt(), buffer.readBlockPos(), buffer.readEnum(InteractionHand.class));
+  }
+
+  /**
+   * Handles the given message on the server main thread, waiting for the harvest it announces.
+   *
+   * @param message received {@link HarvestPredictionMessage}.
+   * @param context {@link CustomPayloadEvent.Context} of the message.
+   */
+  public static void handle(HarvestPredictionMessage message, CustomPayloadEvent.Context context) {
+    ServerPlayer player = context.getSender();
+    if (player != null) {
+      PredictionAcks.expect(player, message.sequence, message.pos, message.hand);
+    }
+  }
+}
@@ -0,0 +1,78 @@
+package crystalspider.harvestwithease.util;
+
+import crystalspider.harvestwithease.ModLoader;
+import crystalspider.harvestwithease.config.CompiledConfig;
+import crystalspider.harvestwithease.config.ModConfig;
+import crystalspider.harvestwithease.config.SyncedConfig;
+import crystalspider.harvestwithease.network.ConfigSyncMessage;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.network.PacketDistributor;
+
+/**
+ * Syncs the {@link SyncedConfig harvest configuration} to the clients with this mod, when they log in and whenever it changes.
+ * <p>
+ * Changes are caught by comparing the current {@link ModConfig#getCompiled() snapshot} once per server tick, then its {@link SyncedConfig#hash() version hash},
+ * so that configuration and tag reloads that leave the synced values untouched send nothing.
+ * The single player owner shares the configuration of the server and is never synced.
+ * <p>
+ * Only ever accessed from the server thread.
+ */
+public final class ConfigSync {
+  /**
+   * {@link CompiledConfig} snapshot last checked for changes.
+   */
+  private static CompiledConfig lastConfig = null;
+  /**
+   * {@link SyncedConfig#hash() Version hash} of the values last sent.
+   */
+  private static int lastHash = 0;
+
+  private ConfigSync() {
+  }
+
+  /**
+   * Sends the current values to the given player.
+   *
+   * @param player {@link ServerPlayer} that just logged in.
+   */
+  public static void send(ServerPlayer player) {
+    SyncedConfig config = SyncedConfig.of(ModConfig.getCompiled());
+    lastHash = config.hash();
+    send(player, lastHash, config);
+  }
+
+  /**
+   * Sends the current values to all the players, if they changed since last sent.
+   *
+   * @param server {@link MinecraftServer} whose tick is ending.
+   */
+  public static void flush(MinecraftServer server) {
+    CompiledConfig compiled = ModConfig.getCompiled();
+    if (compiled == lastConfig) {
+      return;
+    }
+    lastConfig = compiled;
+    SyncedConfig config = SyncedConfig.of(compiled);
+    int hash = config.hash();
+    if (hash != lastHash) {
+      lastHash = hash;
+      for (ServerPlayer player : server.getPlayerList().getPlayers()) {
+        send(player, hash, config);
+      }
+    }
+  }
+
+  /**
+   * Sends the given values to the given player, if it has this mod and does not share the configuration of the server.
+   *
+   * @param player {@link ServerPlayer} to sync.
+   * @param hash {@link SyncedConfig#hash() version hash} of the values.
+   * @param config {@link SyncedConfig} to send.
+   */
+  private static void send(ServerPlayer player, int hash, SyncedConfig config) {
+    if (!player.server.isSingleplayerOwner(player.getGameProfile()) && ModLoader.INSTANCE.isRemotePresent(player.connection.getConnection())) {
+      ModLoader.INSTANCE.send(new ConfigSyncMessage(hash, config), PacketDistributor.PLAYER.with(player));
+    }
+  }
+}
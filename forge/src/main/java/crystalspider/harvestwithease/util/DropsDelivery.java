@@ -0,0 +1,228 @@
+package crystalspider.harvestwithease.util;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.stats.Stats;
+import net.minecraft.world.entity.item.ItemEntity;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.phys.AABB;
+import net.minecraftforge.event.ForgeEventFactory;
+import net.minecraftforge.event.entity.player.EntityItemPickupEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent.ItemPickupEvent;
+import net.minecraftforge.items.IItemHandler;
+import net.minecraftforge.items.ItemHandlerHelper;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Delivers harvest drops, sparing new item entities where possible.
+ */
+public final class DropsDelivery {
+  /**
+   * How far around the crop block to look for item entities to top up.
+   */
+  private static final double MERGE_RANGE = 1;
+  /**
+   * Maximum age, in ticks, of the item entities to top up, so that merged drops are not doomed to despawn early.
+   */
+  private static final int MERGE_MAX_AGE = 1200;
+
+  private DropsDelivery() {
+  }
+
+  /**
+   * Inserts the given drops straight into the player's inventory, as if the player had picked them up from the ground.
+   * <p>
+   * Fires {@link EntityItemPickupEvent} and {@link ItemPickupEvent} and awards the pickup statistics, so that other mods keep track of the items.
+   * The item entity both events require is only created, and never added to the level, when either event has listeners.
+   *
+   * @param player {@link ServerPlayer} to give the drops to.
+   * @param drops {@link ItemStack stacks} to give, changed in place.
+   * @return what did not fit in the inventory, {@link #merge(List, ItemStack) merged} into as few stacks as possible.
+   *   All of the drops if the player left the server, died or was removed from the level, so that they fall back to the world.
+   */
+  public static List<ItemStack> toInventory(ServerPlayer player, List<ItemStack> drops) {
+    List<ItemStack> leftovers = new ArrayList<>();
+    if (player.hasDisconnected() || !player.isAlive()) {
+      for (ItemStack drop : drops) {
+        merge(leftovers, drop);
+      }
+      return leftovers;
+    }
+    boolean hooked = EventListeners.hasListeners(EntityItemPickupEvent.class) || EventListeners.hasListeners(ItemPickupEvent.class);
+    for (ItemStack drop : drops) {
+      if (drop.isEmpty()) {
+        continue;
+      }
+      ItemEntity entity = hooked ? new ItemEntity(player.level(), player.getX(), player.getY(), player.getZ(), drop) : null;
+      int hook = entity != null ? ForgeEventFactory.onItemPickup(entity, player) : 0;
+      if (hook >= 0) {
+        ItemStack picked = drop.copy();
+        if (hook == 1) {
+          drop.setCount(0);
+        } else {
+          player.getInventory().add(drop);
+        }
+        picked.shrink(drop.getCount());
+        if (!picked.isEmpty()) {
+          if (entity != null) {
+            ForgeEventFactory.firePlayerItemPickupEvent(player, entity, picked);
+          }
+          player.awardStat(Stats.ITEM_PICKED_UP.get(picked.getItem()), picked.getCount());
+        }
+      }
+      merge(leftovers, drop);
+    }
+    return leftovers;
+  }
+
+  /**
+   * Inserts the given drops into the {@link StorageLocator storage} of the crop at the given position, if any.
+   *
+   * @param level {@link ServerLevel} of the crop.
+   * @param cropPos {@link BlockPos} of the crop base.
+   * @param radius how far from the crop to look for storage, besides right below its farmland.
+   * @param drops {@link ItemStack stacks} to insert.
+   * @return what could not be inserted, {@link #merge(List, ItemStack) merged} into as few stacks as possible.
+   */
+  public static List<ItemStack> toStorage(ServerLevel level, BlockPos cropPos, int radius, List<ItemStack> drops) {
+    IItemHandler storage = StorageLocator.find(level, cropPos, radius);
+    if (storage == null) {
+      return drops;
+    }
+    List<ItemStack> leftovers = new ArrayList<>();
+    for (ItemStack drop : drops) {
+      if (!drop.isEmpty()) {
+        merge(leftovers, ItemHandlerHelper.insertItemStacked(storage, drop, false));
+      }
+    }
+    return leftovers;
+  }
+
+  /**
+   * Tops up the recent item entities around the crop with the given drops, instead of waiting for the new entities to merge with them while ticking.
+   * Drops of the same item are merged together first, so that each item needs as few new entities as possible.
+   * <p>
+   * Only the item entities the drops would merge with on their own are topped up: neither owned nor targeted, without pickup delay and not about to despawn.
+   *
+   * @param level {@link ServerLevel} of the crop.
+   * @param nearby {@link NearbyItems} of the harvest area, {@code null} to look up the item entities around the crop alone.
+   * @param cropPos {@link BlockPos} of the crop base.
+   * @param drops {@link ItemStack stacks} to drop, left unchanged.
+   * @return what is left to drop as new item entities.
+   */
+  public static List<ItemStack> toNearbyItems(ServerLevel level, @Nullable NearbyItems nearby, BlockPos cropPos, List<ItemStack> drops) {
+    List<ItemStack> merged = new ArrayList<>();
+    for (ItemStack drop : drops) {
+      if (!drop.isEmpty()) {
+        merge(merged, drop.copy());
+      }
+    }
+    if (merged.isEmpty()) {
+      return merged;
+    }
+    AABB box = new AABB(cropPos).inflate(MERGE_RANGE);
+    List<ItemEntity> entities = nearby != null ? nearby.within(box) : level.getEntitiesOfClass(ItemEntity.class, box, DropsDelivery::canTopUp);
+    for (ItemEntity entity : entities) {
+      ItemStack existing = entity.getItem();
+      for (ItemStack drop : merged) {
+        int count = Math.min(drop.getCount(), existing.getMaxStackSize() - existing.getCount());
+        if (count > 0 && ItemStack.isSameItemSameTags(existing, drop)) {
+          existing = existing.copyWithCount(existing.getCount() + count);
+          entity.setItem(existing);
+          drop.shrink(count);
+        }
+      }
+    }
+    merged.removeIf(ItemStack::isEmpty);
+    return merged;
+  }
+
+  /**
+   * Merges the given stack into the given list, filling existing stacks of the same item before adding a new one.
+   *
+   * @param stacks {@link ItemStack stacks} to merge into.
+   * @param stack {@link ItemStack} to merge, changed in place.
+   */
+  public static void merge(List<ItemStack> stacks, ItemStack stack) {
+    for (ItemStack existing : stacks) {
+      if (stack.isEmpty()) {
+        return;
+      }
+      if (existing.getCount() < existing.getMaxStackSize() && ItemStack.isSameItemSameTags(existing, stack)) {
+        int count = Math.min(stack.getCount(), existing.getMaxStackSize() - existing.getCount());
+        existing.grow(count);
+        stack.shrink(count);
+      }
+    }
+    if (!stack.isEmpty()) {
+      stacks.add(stack);
+    }
+  }
+
+  /**
+   * Whether harvest drops can top up the given item entity, that is whether the drops would merge with it on their own.
+   *
+   * @param entity {@link ItemEntity} to check.
+   * @return whether the given item entity can be topped up.
+   */
+  private static boolean canTopUp(ItemEntity entity) {
+    return entity.isAlive() && entity.getAge() >= 0 && entity.getAge() < MERGE_MAX_AGE && !entity.hasPickUpDelay() && entity.getOwner() == null && entity.getTarget() == null;
+  }
+
+  /**
+   * Item entities around the crops of a square harvest area, looked up once for the whole area.
+   * <p>
+   * Item entities are filtered again each time they are used, since they may have changed since the lookup.
+   * Crops outside the area, like the bases of tall crops far below, look up their own item entities.
+   */
+  public static final class NearbyItems {
+    /**
+     * {@link ServerLevel} of the harvest.
+     */
+    private final ServerLevel level;
+    /**
+     * Bounds of the harvest area, grown by the merge range.
+     */
+    private final AABB bounds;
+    /**
+     * Item entities within the {@link #bounds}, {@code null} until first needed.
+     */
+    private List<ItemEntity> entities = null;
+
+    /**
+     * @param level {@link #level}.
+     * @param center {@link BlockPos} at the center of the harvest area.
+     * @param radius distance from the center to the edges of the harvest area.
+     */
+    public NearbyItems(ServerLevel level, BlockPos center, int radius) {
+      this.level = level;
+      this.bounds = new AABB(center).inflate(radius + MERGE_RANGE, 1 + MERGE_RANGE, radius + MERGE_RANGE);
+    }
+
+    /**
+     * Returns the item entities within the given box that can be {@link #canTopUp(ItemEntity) topped up}.
+     *
+     * @param box {@link AABB} to look within.
+     * @return the item entities within the given box.
+     */
+    private List<ItemEntity> within(AABB box) {
+      if (box.minX < bounds.minX || box.minY < bounds.minY || box.minZ < bounds.minZ || box.maxX > bounds.maxX || box.maxY > bounds.maxY || box.maxZ > bounds.maxZ) {
+        return level.getEntitiesOfClass(ItemEntity.class, box, DropsDelivery::canTopUp);
+      }
+      if (entities == null) {
+        entities = level.getEntitiesOfClass(ItemEntity.class, bounds, DropsDelivery::canTopUp);
+      }
+      List<ItemEntity> within = new ArrayList<>();
+      for (ItemEntity entity : entities) {
+        if (canTopUp(entity) && entity.getBoundingBox().intersects(box)) {
+          within.add(entity);
+        }
+      }
+      return within;
+    }
+  }
+}
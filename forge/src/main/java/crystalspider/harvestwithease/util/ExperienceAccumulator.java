@@ -0,0 +1,90 @@
+package crystalspider.harvestwithease.util;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.ExperienceOrb;
+import net.minecraft.world.entity.player.Player;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.WeakHashMap;
+
+/**
+ * Accumulates the experience granted by harvests, per {@link ServerLevel level} and player, to grant it once at the end of the tick.
+ * <p>
+ * Only ever accessed from the server thread.
+ */
+public final class ExperienceAccumulator {
+  /**
+   * Pending experience of each level, by player.
+   */
+  private static final Map<ServerLevel, Map<UUID, Pending>> PENDING = new WeakHashMap<>();
+
+  private ExperienceAccumulator() {
+  }
+
+  /**
+   * Adds the given amount of experience to what the player is going to be granted at the end of the tick.
+   *
+   * @param level {@link ServerLevel} of the harvest.
+   * @param player {@link Player} harvesting.
+   * @param pos {@link BlockPos} of the harvested crop.
+   * @param amount amount of experience points.
+   */
+  public static void add(ServerLevel level, Player player, BlockPos pos, int amount) {
+    Pending pending = PENDING.computeIfAbsent(level, key -> new LinkedHashMap<>()).computeIfAbsent(player.getUUID(), key -> new Pending());
+    pending.amount = (int) Math.min((long) pending.amount + amount, Integer.MAX_VALUE);
+    pending.pos = pos;
+  }
+
+  /**
+   * Grants all the pending experience of the given level.
+   * <p>
+   * When granting experience {@code direct}ly, players that left the level or died get an orb instead.
+   *
+   * @param level {@link ServerLevel} whose tick is ending.
+   * @param direct whether to grant experience straight to the players rather than as experience orbs.
+   */
+  public static void flush(ServerLevel level, boolean direct) {
+    Map<UUID, Pending> pending = PENDING.get(level);
+    if (pending == null || pending.isEmpty()) {
+      return;
+    }
+    for (Map.Entry<UUID, Pending> entry : pending.entrySet()) {
+      Player player = direct ? level.getPlayerByUUID(entry.getKey()) : null;
+      Pending exp = entry.getValue();
+      if (player != null && player.isAlive()) {
+        player.giveExperiencePoints(exp.amount);
+      } else {
+        level.addFreshEntity(new ExperienceOrb(level, exp.pos.getX() + 0.5, exp.pos.getY() + 0.5, exp.pos.getZ() + 0.5, exp.amount));
+      }
+    }
+    pending.clear();
+  }
+
+  /**
+   * Grants all the pending experience of the given level and forgets it.
+   *
+   * @param level unloading {@link ServerLevel}.
+   * @param direct whether to grant experience straight to the players rather than as experience orbs.
+   */
+  public static void unload(ServerLevel level, boolean direct) {
+    flush(level, direct);
+    PENDING.remove(level);
+  }
+
+  /**
+   * Experience pending for a player.
+   */
+  private static final class Pending {
+    /**
+     * Amount of experience points.
+     */
+    private int amount = 0;
+    /**
+     * {@link BlockPos} of the last harvested crop, where the experience orb spawns.
+     */
+    private BlockPos pos;
+  }
+}
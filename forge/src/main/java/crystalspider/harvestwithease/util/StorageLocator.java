@@ -0,0 +1,201 @@
+package crystalspider.harvestwithease.util;
+
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraftforge.common.capabilities.ForgeCapabilities;
+import net.minecraftforge.items.IItemHandler;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Finds the storage harvest drops should be inserted into, caching the result per crop and per chunk.
+ * <p>
+ * The storage of a crop is the {@link ForgeCapabilities#ITEM_HANDLER item handler} right below its farmland or, failing that, the closest one within the search radius.
+ * Found storages are checked again each time they are used, while the crops without storage are forgotten
+ * when a block is placed nearby, when their chunk unloads or at the latest after {@link #EXPIRY} ticks, to catch containers placed without any event.
+ * <p>
+ * Only ever accessed from the server thread.
+ */
+public final class StorageLocator {
+  /**
+   * Maximum search radius.
+   */
+  public static final int MAX_RADIUS = 4;
+  /**
+   * Ticks after which the lookups cached for a chunk are dropped.
+   */
+  private static final long EXPIRY = 600;
+  /**
+   * Cached value of a crop without storage, never a valid position within the world border.
+   */
+  private static final long NONE = Long.MAX_VALUE;
+  /**
+   * Returned by the cache for crops not looked up yet, never a valid position within the world border.
+   */
+  private static final long UNRESOLVED = Long.MIN_VALUE;
+
+  /**
+   * Cached lookups of each level.
+   */
+  private static final Map<ServerLevel, LevelCache> CACHES = new WeakHashMap<>();
+
+  private StorageLocator() {
+  }
+
+  /**
+   * Returns the storage drops of the crop at the given position should be inserted into.
+   *
+   * @param level {@link ServerLevel} of the crop.
+   * @param cropPos {@link BlockPos} of the crop base.
+   * @param radius how far from the crop to look for storage, besides right below its farmland.
+   * @return the {@link IItemHandler} of the storage or {@code null} if there is none.
+   */
+  @Nullable
+  public static IItemHandler find(ServerLevel level, BlockPos cropPos, int radius) {
+    LevelCache cache = CACHES.computeIfAbsent(level, key -> new LevelCache());
+    if (cache.radius != radius) {
+      cache.chunks.clear();
+      cache.radius = radius;
+    }
+    long gameTime = level.getGameTime();
+    ChunkCache chunk = cache.chunks.get(ChunkPos.asLong(cropPos));
+    if (chunk == null || chunk.expiresAt <= gameTime) {
+      chunk = new ChunkCache(gameTime + EXPIRY);
+      cache.chunks.put(ChunkPos.asLong(cropPos), chunk);
+    }
+    long storagePos = chunk.storages.get(cropPos.asLong());
+    if (storagePos == NONE) {
+      return null;
+    }
+    if (storagePos != UNRESOLVED) {
+      IItemHandler storage = getStorage(level, BlockPos.of(storagePos));
+      if (storage != null) {
+        return storage;
+      }
+    }
+    BlockPos found = locate(level, cropPos, radius);
+    chunk.storages.put(cropPos.asLong(), found != null ? found.asLong() : NONE);
+    return found != null ? getStorage(level, found) : null;
+  }
+
+  /**
+   * Forgets the lookups that a block change at the given position may affect.
+   *
+   * @param level {@link ServerLevel} of the change.
+   * @param pos {@link BlockPos} of the change.
+   */
+  public static void invalidate(ServerLevel level, BlockPos pos) {
+    LevelCache cache = CACHES.get(level);
+    if (cache != null && !cache.chunks.isEmpty()) {
+      int radius = cache.radius;
+      for (int x = SectionPos.blockToSectionCoord(pos.getX() - radius); x <= SectionPos.blockToSectionCoord(pos.getX() + radius); x++) {
+        for (int z = SectionPos.blockToSectionCoord(pos.getZ() - radius); z <= SectionPos.blockToSectionCoord(pos.getZ() + radius); z++) {
+          cache.chunks.remove(ChunkPos.asLong(x, z));
+        }
+      }
+    }
+  }
+
+  /**
+   * Forgets the lookups of the crops in the given chunk.
+   *
+   * @param level {@link ServerLevel} of the chunk.
+   * @param chunkPos {@link ChunkPos} of the chunk.
+   */
+  public static void invalidate(ServerLevel level, ChunkPos chunkPos) {
+    LevelCache cache = CACHES.get(level);
+    if (cache != null) {
+      cache.chunks.remove(chunkPos.toLong());
+    }
+  }
+
+  /**
+   * Forgets all the lookups of the given level.
+   *
+   * @param level unloading {@link ServerLevel}.
+   */
+  public static void unload(ServerLevel level) {
+    CACHES.remove(level);
+  }
+
+  /**
+   * Looks for the storage of the crop at the given position, without any cache.
+   *
+   * @param level {@link ServerLevel} of the crop.
+   * @param cropPos {@link BlockPos} of the crop base.
+   * @param radius how far from the crop to look for storage, besides right below its farmland.
+   * @return the {@link BlockPos} of the storage or {@code null} if there is none.
+   */
+  @Nullable
+  private static BlockPos locate(ServerLevel level, BlockPos cropPos, int radius) {
+    BlockPos below = cropPos.below(2);
+    if (getStorage(level, below) != null) {
+      return below;
+    }
+    if (radius > 0) {
+      return BlockPos.findClosestMatch(cropPos, radius, radius, pos -> getStorage(level, pos) != null).map(BlockPos::immutable).orElse(null);
+    }
+    return null;
+  }
+
+  /**
+   * Returns the storage at the given position, without ever loading its chunk.
+   *
+   * @param level {@link ServerLevel} of the storage.
+   * @param pos {@link BlockPos} of the storage.
+   * @return the {@link IItemHandler} exposed to the top face or {@code null} if there is none.
+   */
+  @Nullable
+  private static IItemHandler getStorage(ServerLevel level, BlockPos pos) {
+    if (!level.hasChunkAt(pos)) {
+      return null;
+    }
+    BlockEntity blockEntity = level.getBlockEntity(pos);
+    return blockEntity != null ? blockEntity.getCapability(ForgeCapabilities.ITEM_HANDLER, Direction.UP).resolve().orElse(null) : null;
+  }
+
+  /**
+   * Cached lookups of a level.
+   */
+  private static final class LevelCache {
+    /**
+     * Lookups by {@link ChunkPos#toLong() packed chunk position}.
+     */
+    private final Long2ObjectMap<ChunkCache> chunks = new Long2ObjectOpenHashMap<>();
+    /**
+     * Search radius the lookups were made with.
+     */
+    private int radius = -1;
+  }
+
+  /**
+   * Cached lookups of the crops of a chunk.
+   */
+  private static final class ChunkCache {
+    /**
+     * {@link BlockPos#asLong() Packed storage position} by packed crop position, {@link #NONE} for crops without storage.
+     */
+    private final Long2LongOpenHashMap storages = new Long2LongOpenHashMap();
+    /**
+     * Game time at which these lookups expire.
+     */
+    private final long expiresAt;
+
+    /**
+     * @param expiresAt {@link #expiresAt}.
+     */
+    private ChunkCache(long expiresAt) {
+      this.expiresAt = expiresAt;
+      storages.defaultReturnValue(UNRESOLVED);
+    }
+  }
+}
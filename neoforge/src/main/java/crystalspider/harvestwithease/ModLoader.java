@@ -15,6 +15,11 @@ public class ModLoader {
    */
   public static final String MOD_ID = "harvestwithease";
 
+  /**
+   * Network protocol version.
+   */
+  public static final String PROTOCOL_VERSION = "1.20.4-8.1";
+
   public ModLoader() {
     ModLoadingContext.get().registerConfig(Type.COMMON, ModConfig.SPEC);
   }
@@ -0,0 +1,25 @@
+package crystalspider.harvestwithease.api;
+
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.block.state.properties.IntegerProperty;
+
+/**
+ * Immutable classification of a {@link Block} that has an age, shared by all of its {@link BlockState states}.
+ *
+ * @param block {@link Block} being classified.
+ * @param crop whether {@link #block} is a crop that can be harvested.
+ * @param age age {@link IntegerProperty} of {@link #block}.
+ * @param maxAge highest value {@link #age} can have.
+ */
+public record CropProfile(Block block, boolean crop, IntegerProperty age, int maxAge) {
+  /**
+   * Checks whether the given {@link BlockState} has reached {@link #maxAge}.
+   *
+   * @param blockState
+   * @return whether the given {@link BlockState} has reached {@link #maxAge}.
+   */
+  public boolean isMature(BlockState blockState) {
+    return blockState.getValue(age) >= maxAge;
+  }
+}
@@ -0,0 +1,16 @@
+package crystalspider.harvestwithease.api;
+
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.Tier;
+import net.minecraft.world.item.TieredItem;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Immutable classification of an {@link Item} as a harvesting tool.
+ *
+ * @param item {@link Item} being classified.
+ * @param hoe whether {@link #item} is a hoe.
+ * @param tier {@link Tier} of {@link #item}, {@code null} if it's not a {@link TieredItem}.
+ * @param radius multi-harvest radius granted by {@link #item}, {@code -1} if it cannot multi-harvest.
+ */
+public record ToolProfile(Item item, boolean hoe, @Nullable Tier tier, int radius) {}
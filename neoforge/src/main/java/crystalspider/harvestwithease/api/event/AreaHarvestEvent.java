@@ -0,0 +1,238 @@
+package crystalspider.harvestwithease.api.event;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.InteractionHand;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.block.state.BlockState;
+import net.neoforged.bus.api.ICancellableEvent;
+import net.neoforged.neoforge.event.entity.player.PlayerEvent;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Event fired by Harvest With Ease mod once for a whole multi-harvest, server-side only.
+ * <p>
+ * The per-crop {@link HarvestWithEaseEvent} children are still fired for each crop of the area,
+ * unless a listener of the {@link Pre} event {@link Pre#skipCropEvents() skips them} so that the area is only accounted for once.
+ * Like {@link PlayerEvent}, all children of this event are fired on the {@link MinecraftForge#EVENT_BUS}.
+ */
+public abstract class AreaHarvestEvent extends PlayerEvent {
+  /**
+   * {@link ServerLevel} of the interaction.
+   */
+  protected final ServerLevel level;
+  /**
+   * {@link BlockState} of the right-clicked crop, before it was harvested.
+   */
+  protected final BlockState target;
+  /**
+   * {@link BlockPos} of the right-clicked crop, at the center of the harvest area.
+   */
+  protected final BlockPos pos;
+  /**
+   * {@link InteractionHand} used when harvesting.
+   */
+  protected final InteractionHand hand;
+
+  /**
+   * @param level {@link #level}.
+   * @param target {@link #target}.
+   * @param pos {@link #pos}.
+   * @param player {@link ServerPlayer player} right-click harvesting.
+   * @param hand {@link #hand}.
+   */
+  public AreaHarvestEvent(ServerLevel level, BlockState target, BlockPos pos, ServerPlayer player, InteractionHand hand) {
+    super(player);
+    this.level = level;
+    this.target = target;
+    this.pos = pos;
+    this.hand = hand;
+  }
+
+  @Override
+  public ServerPlayer getEntity() {
+    return (ServerPlayer) super.getEntity();
+  }
+
+  /**
+   * Returns this {@link #level}.
+   *
+   * @return this {@link #level}.
+   */
+  public ServerLevel getLevel() {
+    return level;
+  }
+
+  /**
+   * Returns this {@link #target}.
+   *
+   * @return this {@link #target}.
+   */
+  public BlockState getTargetBlock() {
+    return target;
+  }
+
+  /**
+   * Returns this {@link #pos}.
+   *
+   * @return this {@link #pos}.
+   */
+  public BlockPos getPos() {
+    return pos;
+  }
+
+  /**
+   * Returns this {@link #hand}.
+   *
+   * @return this {@link #hand}.
+   */
+  public InteractionHand getHand() {
+    return hand;
+  }
+
+  /**
+   * Event fired before a multi-harvest, before even the right-clicked crop is harvested.
+   * <p>
+   * Canceling this event restricts the harvest to the right-clicked crop.
+   * <p>
+   * Listeners that handle the area as a whole can {@link #skipCropEvents() skip} the per-crop events of this multi-harvest.
+   */
+  public static class Pre extends AreaHarvestEvent implements ICancellableEvent {
+    /**
+     * Whether the per-crop {@link HarvestWithEaseEvent.BeforeHarvest}, {@link HarvestWithEaseEvent.HarvestDrops} and {@link HarvestWithEaseEvent.AfterHarvest} events
+     * are fired for the crops of this multi-harvest.
+     */
+    private boolean cropEvents = true;
+
+    /**
+     * @param level {@link #level}.
+     * @param target {@link #target}.
+     * @param pos {@link #pos}.
+     * @param player {@link ServerPlayer player} right-click harvesting.
+     * @param hand {@link #hand}.
+     */
+    public Pre(ServerLevel level, BlockState target, BlockPos pos, ServerPlayer player, InteractionHand hand) {
+      super(level, target, pos, player, hand);
+    }
+
+    /**
+     * Returns this {@link #cropEvents}.
+     *
+     * @return this {@link #cropEvents}.
+     */
+    public boolean haveCropEvents() {
+      return cropEvents;
+    }
+
+    /**
+     * Skips the per-crop events for all the crops of this multi-harvest, the right-clicked one included, for all their listeners.
+     * Crops then drop their default drops, which the {@link Drops} event can still change.
+     */
+    public void skipCropEvents() {
+      this.cropEvents = false;
+    }
+  }
+
+  /**
+   * Base class for the events fired once the crops of a multi-harvest are known.
+   */
+  public static abstract class AreaHarvestResultEvent extends AreaHarvestEvent {
+    /**
+     * {@link BlockPos Positions} of the harvested crops, the right-clicked one first.
+     */
+    protected final List<BlockPos> positions;
+
+    /**
+     * @param level {@link #level}.
+     * @param target {@link #target}.
+     * @param pos {@link #pos}.
+     * @param positions {@link #positions}.
+     * @param player {@link ServerPlayer player} right-click harvesting.
+     * @param hand {@link #hand}.
+     */
+    public AreaHarvestResultEvent(ServerLevel level, BlockState target, BlockPos pos, List<BlockPos> positions, ServerPlayer player, InteractionHand hand) {
+      super(level, target, pos, player, hand);
+      this.positions = Collections.unmodifiableList(positions);
+    }
+
+    /**
+     * Returns this {@link #positions}.
+     *
+     * @return this {@link #positions}, unmodifiable.
+     */
+    public List<BlockPos> getPositions() {
+      return positions;
+    }
+  }
+
+  /**
+   * Event fired with the aggregated drops of a multi-harvest, right before they are dropped.
+   * <p>
+   * In batch mode the aggregated drops are dropped at the right-clicked crop.
+   * Otherwise the final {@link HarvestWithEaseEvent.HarvestDrops drops} of each crop are held back until this event has fired, then each crop drops its own
+   * if listeners left the aggregated drops unchanged, while changed aggregated drops are dropped at the right-clicked crop instead.
+   * <p>
+   * Canceling this event drops nothing.
+   */
+  public static class Drops extends AreaHarvestResultEvent implements ICancellableEvent {
+    /**
+     * Aggregated drops of all harvested crops, merged into as few stacks as possible.
+     * Stacks are copied the first time they are read, so they can be changed in place.
+     */
+    public final List<ItemStack> drops;
+
+    /**
+     * @param level {@link #level}.
+     * @param target {@link #target}.
+     * @param pos {@link #pos}.
+     * @param positions {@link #positions}.
+     * @param drops {@link #drops}.
+     * @param player {@link ServerPlayer player} right-click harvesting.
+     * @param hand {@link #hand}.
+     */
+    public Drops(ServerLevel level, BlockState target, BlockPos pos, List<BlockPos> positions, List<ItemStack> drops, ServerPlayer player, InteractionHand hand) {
+      super(level, target, pos, positions, player, hand);
+      this.drops = new DropsList(drops);
+    }
+
+    /**
+     * Returns whether the list of drops changed from its initial value.
+     *
+     * @return whether the list of drops changed from its initial value.
+     */
+    public boolean haveDropsChanged() {
+      return ((DropsList) drops).hasChanged();
+    }
+
+    /**
+     * Returns the final list of drops, once all listeners have been called.
+     * <p>
+     * Unlike reading {@link #drops}, this does not copy the stacks no listener has touched, so the returned list must not be changed.
+     *
+     * @return the final list of drops.
+     */
+    public List<ItemStack> getFinalDrops() {
+      return ((DropsList) drops).result();
+    }
+  }
+
+  /**
+   * Event fired after a multi-harvest is complete, once all its side effects have been applied.
+   */
+  public static class Post extends AreaHarvestResultEvent {
+    /**
+     * @param level {@link #level}.
+     * @param target {@link #target}.
+     * @param pos {@link #pos}.
+     * @param positions {@link #positions}.
+     * @param player {@link ServerPlayer player} right-click harvesting.
+     * @param hand {@link #hand}.
+     */
+    public Post(ServerLevel level, BlockState target, BlockPos pos, List<BlockPos> positions, ServerPlayer player, InteractionHand hand) {
+      super(level, target, pos, positions, player, hand);
+    }
+  }
+}
@@ -6,6 +6,7 @@ import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.InteractionHand;
 import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
@@ -15,8 +16,9 @@ import net.neoforged.bus.api.ICancellableEvent;
 import net.neoforged.neoforge.event.entity.player.PlayerEvent;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Event fired by Harvest With Ease mod during right-click harvest.
@@ -218,14 +220,16 @@ public abstract class HarvestWithEaseEvent<P extends Player, L extends Level> ex
    */
   public static class HarvestDrops extends HarvestWithEaseServerEvent implements ICancellableEvent {
     /**
-     * List of drops.
+     * Seed {@link Item} of each crop {@link Block}, resolved the first time a crop of that type is harvested.
      */
-    public final List<ItemStack> drops;
+    private static final Map<Block, Item> SEEDS = new ConcurrentHashMap<>();
 
     /**
-     * Reference to the default drops.
+     * List of drops.
+     * <p>
+     * Starts as a view of the default drops: stacks are copied the first time they are read and the list the first time it is read or changed.
      */
-    private final List<ItemStack> defaultDrops;
+    public final List<ItemStack> drops;
 
     /**
      * @param level {@link #level}.
@@ -238,8 +242,7 @@ public abstract class HarvestWithEaseEvent<P extends Player, L extends Level> ex
      */
     public HarvestDrops(ServerLevel level, BlockState target, BlockPos pos, Direction face, @Nullable BlockHitResult hitResult, ServerPlayer player, InteractionHand hand) {
       super(level, target, pos, face, hitResult, player, hand);
-      defaultDrops = initDrops();
-      drops = new ArrayList<>(defaultDrops.stream().map(ItemStack::copy).toList());
+      drops = new DropsList(initDrops());
     }
 
     /**
@@ -248,15 +251,18 @@ public abstract class HarvestWithEaseEvent<P extends Player, L extends Level> ex
      * @return whether the list of drops changed from its default value.
      */
     public boolean haveDropsChanged() {
-      if (defaultDrops.size() == drops.size()) {
-        for (int c = 0; c < defaultDrops.size(); c++) {
-          if (!ItemStack.matches(defaultDrops.get(c), drops.get(c))) {
-            return true;
-          }
-        }
-        return false;
-      }
-      return true;
+      return ((DropsList) drops).hasChanged();
+    }
+
+    /**
+     * Returns the final list of drops, once all listeners have been called.
+     * <p>
+     * Unlike reading {@link #drops}, this does not copy the stacks no listener has touched, so the returned list must not be changed.
+     *
+     * @return the final list of drops.
+     */
+    public List<ItemStack> getFinalDrops() {
+      return ((DropsList) drops).result();
     }
 
     /**
@@ -265,16 +271,52 @@ public abstract class HarvestWithEaseEvent<P extends Player, L extends Level> ex
      * @return the list of drops a player would get by breaking the crop, with one seed removed.
      */
     private List<ItemStack> initDrops() {
-      List<ItemStack> drops = Block.getDrops(target, level, pos, target.hasBlockEntity() ? level.getBlockEntity(pos) : null, getEntity(), getEntity().getItemInHand(hand));
-      boolean seedRemoved = false;
-      for (ItemStack stack : drops) {
-        if (!seedRemoved && stack.is(target.getBlock().getCloneItemStack(target, hitResult, level, pos, getEntity()).getItem())) {
-          stack.shrink(1);
-          seedRemoved = true;
+      return getDefaultDrops(level, target, pos, hitResult, getEntity(), hand);
+    }
+
+    /**
+     * Returns the default drops of a crop harvest, the same this event starts with.
+     *
+     * @param level {@link ServerLevel} of the crop.
+     * @param target {@link BlockState} of the crop.
+     * @param pos {@link BlockPos} of the crop.
+     * @param hitResult {@link BlockHitResult} of the right-click, {@code null} if the crop is being harvested via multi-harvest.
+     * @param player {@link ServerPlayer player} right-click harvesting.
+     * @param hand {@link InteractionHand} used when harvesting.
+     * @return the list of drops a player would get by breaking the crop, with one seed removed.
+     */
+    public static List<ItemStack> getDefaultDrops(ServerLevel level, BlockState target, BlockPos pos, @Nullable BlockHitResult hitResult, ServerPlayer player, InteractionHand hand) {
+      List<ItemStack> drops = Block.getDrops(target, level, pos, target.hasBlockEntity() ? level.getBlockEntity(pos) : null, player, player.getItemInHand(hand));
+      if (!drops.isEmpty()) {
+        Item seed = getSeed(level, target, pos, hitResult, player);
+        for (ItemStack stack : drops) {
+          if (stack.is(seed)) {
+            stack.shrink(1);
+            break;
+          }
         }
       }
       return drops;
     }
+
+    /**
+     * Returns the seed {@link Item} of the given crop, resolving it only the first time a crop of its type is harvested.
+     *
+     * @param level {@link ServerLevel} of the crop.
+     * @param target {@link BlockState} of the crop.
+     * @param pos {@link BlockPos} of the crop.
+     * @param hitResult {@link BlockHitResult} of the right-click, {@code null} if the crop is being harvested via multi-harvest.
+     * @param player {@link ServerPlayer player} right-click harvesting.
+     * @return the seed {@link Item} of the crop.
+     */
+    private static Item getSeed(ServerLevel level, BlockState target, BlockPos pos, @Nullable BlockHitResult hitResult, ServerPlayer player) {
+      Item seed = SEEDS.get(target.getBlock());
+      if (seed == null) {
+        seed = target.getBlock().getCloneItemStack(target, hitResult, level, pos, player).getItem();
+        SEEDS.put(target.getBlock(), seed);
+      }
+      return seed;
+    }
   }
 
   /**
@@ -0,0 +1,173 @@
+package crystalspider.harvestwithease.client;
+
+import crystalspider.harvestwithease.handler.PredictedChange;
+import crystalspider.harvestwithease.network.HarvestPredictionPayload;
+import it.unimi.dsi.fastutil.ints.Int2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.longs.LongSets;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientPacketListener;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.InteractionHand;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
+import net.neoforged.neoforge.network.PacketDistributor;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Shows harvests right away on the client, before the server performs them, and rolls back what the server did not actually harvest.
+ * <p>
+ * Each prediction gets a sequence number, announced to the server right before the interaction it stands for.
+ * Predicted changes are applied once the interaction is sent, outside of the vanilla block prediction, so that only the server acknowledgement settles them:
+ * changes of crops the server did not harvest are reverted, unless the server changed the block in the meantime.
+ * Predictions the server never acknowledges are rolled back after {@link #TIMEOUT} ticks.
+ * <p>
+ * Client only, only ever accessed from the client thread.
+ */
+public final class HarvestPredictor {
+  /**
+   * Ticks after which predictions the server did not acknowledge are rolled back.
+   */
+  private static final long TIMEOUT = 100;
+
+  /**
+   * Pending predictions by sequence number.
+   */
+  private static final Int2ObjectMap<Prediction> PREDICTIONS = new Int2ObjectLinkedOpenHashMap<>();
+
+  /**
+   * Last sequence number used.
+   */
+  private static int sequence = 0;
+
+  private HarvestPredictor() {}
+
+  /**
+   * Whether the server can acknowledge predictions, that is whether it has this mod.
+   *
+   * @return whether to predict harvests.
+   */
+  private static boolean isAvailable() {
+    ClientPacketListener connection = Minecraft.getInstance().getConnection();
+    return connection != null && connection.isConnected(HarvestPredictionPayload.ID);
+  }
+
+  /**
+   * Announces a prediction to the server and applies it as soon as the interaction it stands for is sent.
+   * Nothing is predicted, not even computed, if the server does not have this mod.
+   *
+   * @param level client {@link Level}.
+   * @param pos {@link BlockPos} of the right-clicked crop.
+   * @param hand {@link InteractionHand} used to harvest.
+   * @param prediction computes the {@link PredictedChange predicted changes}.
+   */
+  public static void predict(Level level, BlockPos pos, InteractionHand hand, Supplier<List<PredictedChange>> prediction) {
+    if (!isAvailable()) {
+      return;
+    }
+    List<PredictedChange> changes = prediction.get();
+    sequence = (sequence + 1) & Integer.MAX_VALUE;
+    PREDICTIONS.put(sequence, new Prediction(level, changes, level.getGameTime() + TIMEOUT));
+    PacketDistributor.SERVER.noArg().send(new HarvestPredictionPayload(sequence, pos, hand));
+    Minecraft.getInstance().tell(() -> {
+      if (Minecraft.getInstance().level == level) {
+        for (PredictedChange change : changes) {
+          if (level.getBlockState(change.pos()) == change.original()) {
+            level.setBlock(change.pos(), change.predicted(), Block.UPDATE_ALL_IMMEDIATE);
+          }
+        }
+      }
+    });
+  }
+
+  /**
+   * Settles the prediction with the given sequence number.
+   *
+   * @param sequence sequence number of the prediction.
+   * @param done whether the harvest is over, otherwise it just started and is going to be acknowledged again.
+   * @param harvested {@link BlockPos#asLong() packed positions} of the harvested crops.
+   */
+  public static void acknowledge(int sequence, boolean done, long[] harvested) {
+    Prediction prediction = done ? PREDICTIONS.remove(sequence) : PREDICTIONS.get(sequence);
+    if (prediction != null) {
+      if (done) {
+        rollback(prediction, new LongOpenHashSet(harvested));
+      } else {
+        prediction.accepted = true;
+      }
+    }
+  }
+
+  /**
+   * Rolls back the predictions the server did not acknowledge in time and forgets the ones of other levels.
+   */
+  public static void tick() {
+    if (PREDICTIONS.isEmpty()) {
+      return;
+    }
+    Level level = Minecraft.getInstance().level;
+    for (Iterator<Prediction> iterator = PREDICTIONS.values().iterator(); iterator.hasNext(); ) {
+      Prediction prediction = iterator.next();
+      if (prediction.level != level) {
+        iterator.remove();
+      } else if (!prediction.accepted && level.getGameTime() >= prediction.expiresAt) {
+        rollback(prediction, LongSets.EMPTY_SET);
+        iterator.remove();
+      }
+    }
+  }
+
+  /**
+   * Reverts the changes of the crops that were not harvested, unless the server changed the block in the meantime.
+   *
+   * @param prediction {@link Prediction} to roll back.
+   * @param harvested {@link BlockPos#asLong() packed positions} of the harvested crops.
+   */
+  private static void rollback(Prediction prediction, LongSet harvested) {
+    if (Minecraft.getInstance().level == prediction.level) {
+      for (PredictedChange change : prediction.changes) {
+        if (!harvested.contains(change.crop().asLong()) && prediction.level.getBlockState(change.pos()) == change.predicted()) {
+          prediction.level.setBlock(change.pos(), change.original(), Block.UPDATE_ALL_IMMEDIATE);
+        }
+      }
+    }
+  }
+
+  /**
+   * Pending prediction.
+   */
+  private static final class Prediction {
+    /**
+     * {@link Level} of the prediction.
+     */
+    private final Level level;
+    /**
+     * {@link PredictedChange Predicted changes}.
+     */
+    private final List<PredictedChange> changes;
+    /**
+     * Game time after which the prediction is rolled back, unless {@link #accepted}.
+     */
+    private final long expiresAt;
+    /**
+     * Whether the server started the harvest and is going to acknowledge it again once done.
+     */
+    private boolean accepted = false;
+
+    /**
+     * @param level {@link #level}.
+     * @param changes {@link #changes}.
+     * @param expiresAt {@link #expiresAt}.
+     */
+    private Prediction(Level level, List<PredictedChange> changes, long expiresAt) {
+      this.level = level;
+      this.changes = changes;
+      this.expiresAt = expiresAt;
+    }
+  }
+}
@@ -0,0 +1,157 @@
+package crystalspider.harvestwithease.config;
+
+import crystalspider.harvestwithease.api.HarvestWithEaseAPI;
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntMaps;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import net.minecraft.world.item.Tier;
+import net.neoforged.neoforge.common.TierSortingRegistry;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Set;
+
+/**
+ * Immutable snapshot of the {@link ModConfig configuration}, with primitive values and precomputed derived values.
+ * <p>
+ * A new snapshot is compiled every time the configuration is (re)loaded, so a single harvest should read a single snapshot.
+ * Clients connected to a remote server with this mod compile it with the {@link SyncedConfig values synced} by the server in place of their own.
+ *
+ * @param crops {@link ModConfig#getCrops() crops} as a set.
+ * @param requireHoe {@link ModConfig#getRequireHoe() requireHoe}.
+ * @param damageOnHarvest {@link ModConfig#getDamageOnHarvest() damageOnHarvest}.
+ * @param grantedExp {@link ModConfig#getGrantedExp() grantedExp}.
+ * @param playSound {@link ModConfig#getPlaySound() playSound}.
+ * @param multiHarvestStartingTier {@link ModConfig#getMultiHarvestStartingTier() multiHarvestStartingTier}.
+ * @param multiHarvestStartingTierLevel {@link HarvestWithEaseAPI#getTierLevel(String) tier level} of {@link #multiHarvestStartingTier}.
+ * @param areaStartingSize {@link AreaSize#size size} of {@link ModConfig#getAreaStartingSize() areaStartingSize}.
+ * @param areaIncrementStep {@link AreaStep#step step} of {@link ModConfig#getAreaIncrementStep() areaIncrementStep}.
+ * @param multiHarvestRadii multi-harvest radius of each {@link TierSortingRegistry#getSortedTiers() sorted tier}, see {@link #getMultiHarvestRadius(Tier)}.
+ * @param batchHarvest {@link ModConfig#getBatchHarvest() batchHarvest}.
+ * @param multiHarvestBudget {@link ModConfig#getMultiHarvestBudget() multiHarvestBudget}.
+ * @param areaShape {@link ModConfig#getAreaShape() areaShape}.
+ * @param fieldHarvestCap {@link ModConfig#getFieldHarvestCap() fieldHarvestCap}.
+ * @param fieldVerticalRange {@link ModConfig#getFieldVerticalRange() fieldVerticalRange}.
+ * @param dropsDestination {@link ModConfig#getDropsDestination() dropsDestination}.
+ * @param storageSearchRadius {@link ModConfig#getStorageSearchRadius() storageSearchRadius}.
+ * @param expDelivery {@link ModConfig#getExpDelivery() expDelivery}.
+ * @param soundsPerHarvest {@link ModConfig#getSoundsPerHarvest() soundsPerHarvest}.
+ * @param harvestParticles {@link ModConfig#getHarvestParticles() harvestParticles}.
+ * @param harvestRateLimit {@link ModConfig#getHarvestRateLimit() harvestRateLimit}.
+ * @param harvestBurst {@link ModConfig#getHarvestBurst() harvestBurst}.
+ * @param harvestCost {@link ModConfig#getHarvestCost() harvestCost}.
+ * @param rejectionCost {@link ModConfig#getRejectionCost() rejectionCost}.
+ */
+public record CompiledConfig(
+  Set<String> crops,
+  boolean requireHoe,
+  int damageOnHarvest,
+  int grantedExp,
+  boolean playSound,
+  String multiHarvestStartingTier,
+  int multiHarvestStartingTierLevel,
+  int areaStartingSize,
+  int areaIncrementStep,
+  Reference2IntMap<Tier> multiHarvestRadii,
+  boolean batchHarvest,
+  int multiHarvestBudget,
+  AreaShape areaShape,
+  int fieldHarvestCap,
+  int fieldVerticalRange,
+  DropsDestination dropsDestination,
+  int storageSearchRadius,
+  ExpDelivery expDelivery,
+  int soundsPerHarvest,
+  int harvestParticles,
+  int harvestRateLimit,
+  int harvestBurst,
+  int harvestCost,
+  int rejectionCost
+) {
+  /**
+   * Value returned by {@link #multiHarvestRadii} for tiers that were not sorted when this snapshot was compiled.
+   */
+  private static final int UNKNOWN_TIER = Integer.MIN_VALUE;
+
+  /**
+   * Compiles a new snapshot from the current {@link ModConfig#COMMON common} configuration values, overridden by the given synced ones if any.
+   *
+   * @param synced {@link SyncedConfig} values synced by the server or {@code null} to only use the local ones.
+   * @return new {@link CompiledConfig}.
+   */
+  static CompiledConfig compile(@Nullable SyncedConfig synced) {
+    String multiHarvestStartingTier = synced != null ? synced.multiHarvestStartingTier() : ModConfig.getMultiHarvestStartingTier();
+    int multiHarvestStartingTierLevel = HarvestWithEaseAPI.getTierLevel(multiHarvestStartingTier);
+    int areaStartingSize = synced != null ? synced.areaStartingSize() : ModConfig.getAreaStartingSize().size;
+    int areaIncrementStep = synced != null ? synced.areaIncrementStep() : ModConfig.getAreaIncrementStep().step;
+    Reference2IntMap<Tier> multiHarvestRadii = new Reference2IntOpenHashMap<>();
+    multiHarvestRadii.defaultReturnValue(UNKNOWN_TIER);
+    for (Tier tier : TierSortingRegistry.getSortedTiers()) {
+      multiHarvestRadii.put(tier, computeMultiHarvestRadius(tier, multiHarvestStartingTier, multiHarvestStartingTierLevel, areaStartingSize, areaIncrementStep));
+    }
+    return new CompiledConfig(
+      Set.copyOf(synced != null ? synced.crops() : ModConfig.getCrops()),
+      synced != null ? synced.requireHoe() : ModConfig.getRequireHoe(),
+      ModConfig.getDamageOnHarvest(),
+      ModConfig.getGrantedExp(),
+      ModConfig.getPlaySound(),
+      multiHarvestStartingTier,
+      multiHarvestStartingTierLevel,
+      areaStartingSize,
+      areaIncrementStep,
+      Reference2IntMaps.unmodifiable(multiHarvestRadii),
+      ModConfig.getBatchHarvest(),
+      ModConfig.getMultiHarvestBudget(),
+      synced != null ? synced.areaShape() : ModConfig.getAreaShape(),
+      synced != null ? synced.fieldHarvestCap() : ModConfig.getFieldHarvestCap(),
+      synced != null ? synced.fieldVerticalRange() : ModConfig.getFieldVerticalRange(),
+      ModConfig.getDropsDestination(),
+      ModConfig.getStorageSearchRadius(),
+      ModConfig.getExpDelivery(),
+      ModConfig.getSoundsPerHarvest(),
+      ModConfig.getHarvestParticles(),
+      ModConfig.getHarvestRateLimit(),
+      ModConfig.getHarvestBurst(),
+      ModConfig.getHarvestCost(),
+      ModConfig.getRejectionCost()
+    );
+  }
+
+  /**
+   * Computes the multi-harvest radius for the given {@link Tier}.
+   *
+   * @param tier
+   * @param multiHarvestStartingTier
+   * @param multiHarvestStartingTierLevel
+   * @param areaStartingSize
+   * @param areaIncrementStep
+   * @return the multi-harvest radius or {@code -1} if the tier cannot multi-harvest.
+   */
+  private static int computeMultiHarvestRadius(Tier tier, String multiHarvestStartingTier, int multiHarvestStartingTierLevel, int areaStartingSize, int areaIncrementStep) {
+    if (HarvestWithEaseAPI.isTierForMultiHarvest(tier, multiHarvestStartingTier)) {
+      return ((HarvestWithEaseAPI.getTierLevel(tier) - multiHarvestStartingTierLevel) * areaIncrementStep + areaStartingSize - 1) / 2;
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the multi-harvest radius for the given {@link Tier}, that is the distance from the center of the harvest area to its edges.
+   * <p>
+   * Tiers that were sorted when this snapshot was compiled are a single map lookup, any other tier is computed on the spot.
+   *
+   * @param tier
+   * @return the multi-harvest radius or {@code -1} if the tier cannot multi-harvest.
+   */
+  public int getMultiHarvestRadius(Tier tier) {
+    int radius = multiHarvestRadii.getInt(tier);
+    return radius != UNKNOWN_TIER ? radius : computeMultiHarvestRadius(tier, multiHarvestStartingTier, multiHarvestStartingTierLevel, areaStartingSize, areaIncrementStep);
+  }
+
+  /**
+   * Whether the hoe should be damaged on harvest.
+   *
+   * @return whether the hoe should be damaged on harvest.
+   */
+  public boolean damageHoe() {
+    return requireHoe && damageOnHarvest > 0;
+  }
+}
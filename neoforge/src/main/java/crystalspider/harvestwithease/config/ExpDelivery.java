@@ -0,0 +1,20 @@
+package crystalspider.harvestwithease.config;
+
+/**
+ * How harvest experience is granted.
+ */
+public enum ExpDelivery {
+  /**
+   * As a single experience orb per player, at the last crop harvested in the tick.
+   */
+  ORB,
+  /**
+   * Straight to the player, without any experience orb.
+   */
+  DIRECT;
+
+  @Override
+  public String toString() {
+    return name().toLowerCase();
+  }
+}
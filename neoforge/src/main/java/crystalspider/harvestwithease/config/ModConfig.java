@@ -1,5 +1,6 @@
 package crystalspider.harvestwithease.config;
 
+import crystalspider.harvestwithease.util.StorageLocator;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.item.Tiers;
 import net.minecraft.world.level.block.CropBlock;
@@ -9,6 +10,7 @@ import net.neoforged.neoforge.common.ModConfigSpec.ConfigValue;
 import net.neoforged.neoforge.common.ModConfigSpec.EnumValue;
 import net.neoforged.neoforge.common.ModConfigSpec.IntValue;
 import net.neoforged.neoforge.common.TierSortingRegistry;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Collections;
 import java.util.Comparator;
@@ -32,6 +34,64 @@ public class ModConfig {
    */
   public static final ModConfigSpec SPEC = BUILDER.build();
 
+  /**
+   * Current {@link CompiledConfig} snapshot.
+   * <p>
+   * {@code null} until the configuration is first compiled.
+   */
+  private static volatile CompiledConfig compiled = null;
+  /**
+   * Values synced by the server this client is connected to, compiled in place of the local ones.
+   * <p>
+   * {@code null} unless connected to a remote server with this mod.
+   */
+  private static volatile SyncedConfig synced = null;
+
+  /**
+   * Returns the current {@link CompiledConfig} snapshot, compiling it if it was never compiled before.
+   *
+   * @return the current {@link CompiledConfig} snapshot.
+   */
+  public static CompiledConfig getCompiled() {
+    CompiledConfig config = compiled;
+    if (config == null) {
+      config = compile();
+    }
+    return config;
+  }
+
+  /**
+   * Compiles and publishes a new {@link CompiledConfig} snapshot from the current configuration values, overridden by the {@link #getSynced() synced} ones if any.
+   *
+   * @return the new {@link CompiledConfig} snapshot.
+   */
+  public static CompiledConfig compile() {
+    CompiledConfig config = CompiledConfig.compile(synced);
+    compiled = config;
+    return config;
+  }
+
+  /**
+   * Returns the values synced by the server this client is connected to.
+   *
+   * @return the {@link SyncedConfig} or {@code null} if the local values are in use.
+   */
+  @Nullable
+  public static SyncedConfig getSynced() {
+    return synced;
+  }
+
+  /**
+   * Replaces the values synced by the server and compiles a new {@link CompiledConfig} snapshot with them.
+   *
+   * @param values {@link SyncedConfig} synced by the server or {@code null} to go back to the local values.
+   * @return the new {@link CompiledConfig} snapshot.
+   */
+  public static CompiledConfig sync(@Nullable SyncedConfig values) {
+    synced = values;
+    return compile();
+  }
+
   /**
    * Returns the value of {@link CommonConfig#crops}.
    *
@@ -104,6 +164,132 @@ public class ModConfig {
     return COMMON.areaIncrementStep.get();
   }
 
+  /**
+   * Returns the value of {@link CommonConfig#batchHarvest}.
+   *
+   * @return {@link CommonConfig#batchHarvest} as read from the {@link #COMMON common} configuration file.
+   */
+  public static Boolean getBatchHarvest() {
+    return COMMON.batchHarvest.get();
+  }
+
+  /**
+   * Returns the value of {@link CommonConfig#multiHarvestBudget}.
+   *
+   * @return {@link CommonConfig#multiHarvestBudget} as read from the {@link #COMMON common} configuration file.
+   */
+  public static Integer getMultiHarvestBudget() {
+    return COMMON.multiHarvestBudget.get();
+  }
+
+  /**
+   * Returns the value of {@link CommonConfig#areaShape}.
+   *
+   * @return {@link CommonConfig#areaShape} as read from the {@link #COMMON common} configuration file.
+   */
+  public static AreaShape getAreaShape() {
+    return COMMON.areaShape.get();
+  }
+
+  /**
+   * Returns the value of {@link CommonConfig#fieldHarvestCap}.
+   *
+   * @return {@link CommonConfig#fieldHarvestCap} as read from the {@link #COMMON common} configuration file.
+   */
+  public static Integer getFieldHarvestCap() {
+    return COMMON.fieldHarvestCap.get();
+  }
+
+  /**
+   * Returns the value of {@link CommonConfig#fieldVerticalRange}.
+   *
+   * @return {@link CommonConfig#fieldVerticalRange} as read from the {@link #COMMON common} configuration file.
+   */
+  public static Integer getFieldVerticalRange() {
+    return COMMON.fieldVerticalRange.get();
+  }
+
+  /**
+   * Returns the value of {@link CommonConfig#dropsDestination}.
+   *
+   * @return {@link CommonConfig#dropsDestination} as read from the {@link #COMMON common} configuration file.
+   */
+  public static DropsDestination getDropsDestination() {
+    return COMMON.dropsDestination.get();
+  }
+
+  /**
+   * Returns the value of {@link CommonConfig#storageSearchRadius}.
+   *
+   * @return {@link CommonConfig#storageSearchRadius} as read from the {@link #COMMON common} configuration file.
+   */
+  public static Integer getStorageSearchRadius() {
+    return COMMON.storageSearchRadius.get();
+  }
+
+  /**
+   * Returns the value of {@link CommonConfig#expDelivery}.
+   *
+   * @return {@link CommonConfig#expDelivery} as read from the {@link #COMMON common} configuration file.
+   */
+  public static ExpDelivery getExpDelivery() {
+    return COMMON.expDelivery.get();
+  }
+
+  /**
+   * Returns the value of {@link CommonConfig#soundsPerHarvest}.
+   *
+   * @return {@link CommonConfig#soundsPerHarvest} as read from the {@link #COMMON common} configuration file.
+   */
+  public static Integer getSoundsPerHarvest() {
+    return COMMON.soundsPerHarvest.get();
+  }
+
+  /**
+   * Returns the value of {@link CommonConfig#harvestParticles}.
+   *
+   * @return {@link CommonConfig#harvestParticles} as read from the {@link #COMMON common} configuration file.
+   */
+  public static Integer getHarvestParticles() {
+    return COMMON.harvestParticles.get();
+  }
+
+  /**
+   * Returns the value of {@link CommonConfig#harvestRateLimit}.
+   *
+   * @return {@link CommonConfig#harvestRateLimit} as read from the {@link #COMMON common} configuration file.
+   */
+  public static Integer getHarvestRateLimit() {
+    return COMMON.harvestRateLimit.get();
+  }
+
+  /**
+   * Returns the value of {@link CommonConfig#harvestBurst}.
+   *
+   * @return {@link CommonConfig#harvestBurst} as read from the {@link #COMMON common} configuration file.
+   */
+  public static Integer getHarvestBurst() {
+    return COMMON.harvestBurst.get();
+  }
+
+  /**
+   * Returns the value of {@link CommonConfig#harvestCost}.
+   *
+   * @return {@link CommonConfig#harvestCost} as read from the {@link #COMMON common} configuration file.
+   */
+  public static Integer getHarvestCost() {
+    return COMMON.harvestCost.get();
+  }
+
+  /**
+   * Returns the value of {@link CommonConfig#rejectionCost}.
+   *
+   * @return {@link CommonConfig#rejectionCost} as read from the {@link #COMMON common} configuration file.
+   */
+  public static Integer getRejectionCost() {
+    return COMMON.rejectionCost.get();
+  }
+
   /**
    * Common Configuration for Harvest with ease.
    */
@@ -142,6 +328,63 @@ public class ModConfig {
      * Increment step for the harvest area size with higher tool tiers.
      */
     private final EnumValue<AreaStep> areaIncrementStep;
+    /**
+     * Whether to harvest all the crops of a multi-harvest as a single batch.
+     */
+    private final BooleanValue batchHarvest;
+    /**
+     * Maximum amount of positions multi-harvests can go through each tick, shared fairly across players.
+     * Effective only if greater than 0.
+     */
+    private final IntValue multiHarvestBudget;
+    /**
+     * Shape of the multi-harvest area.
+     */
+    private final EnumValue<AreaShape> areaShape;
+    /**
+     * Maximum amount of crops harvested at once in {@link AreaShape#FIELD field} shape.
+     */
+    private final IntValue fieldHarvestCap;
+    /**
+     * How many blocks above and below the right-clicked crop a {@link AreaShape#FIELD field} can extend to.
+     */
+    private final IntValue fieldVerticalRange;
+    /**
+     * Where harvest drops end up.
+     */
+    private final EnumValue<DropsDestination> dropsDestination;
+    /**
+     * How far from a crop to look for a container when {@link #dropsDestination} is {@link DropsDestination#STORAGE storage}, besides right below its farmland.
+     */
+    private final IntValue storageSearchRadius;
+    /**
+     * How harvest experience is granted.
+     */
+    private final EnumValue<ExpDelivery> expDelivery;
+    /**
+     * Maximum amount of harvest sounds played for each player each tick, {@code 0} to play the sound of each crop right away.
+     */
+    private final IntValue soundsPerHarvest;
+    /**
+     * Maximum amount of tall crop blocks whose break particles are shown each tick, client side, when multi-harvesting.
+     */
+    private final IntValue harvestParticles;
+    /**
+     * Tokens each player gets back every second to right-click crops, {@code 0} to disable rate limiting.
+     */
+    private final IntValue harvestRateLimit;
+    /**
+     * Maximum amount of tokens each player can save up to right-click crops.
+     */
+    private final IntValue harvestBurst;
+    /**
+     * Tokens a right-click that harvests costs.
+     */
+    private final IntValue harvestCost;
+    /**
+     * Tokens a right-click on a crop that is not mature costs.
+     */
+    private final IntValue rejectionCost;
 
     /**
      * Defines the configuration options, their default values and their comments.
@@ -165,6 +408,20 @@ public class ModConfig {
       ).define("multi-harvest starting tier", Tiers.WOOD.toString().toLowerCase(), value -> value instanceof String string && (string.equalsIgnoreCase("none") || TierSortingRegistry.byName(new ResourceLocation(string.toLowerCase())) != null));
       areaStartingSize = builder.comment(getAreaSizeComments()).defineEnum("starting harvest area size", AreaSize.SINGLE, AreaSize.values());
       areaIncrementStep = builder.comment(getAreaStepComments()).defineEnum("area increment step", AreaStep.NONE, AreaStep.values());
+      batchHarvest = builder.comment("Harvest all the crops of a multi-harvest as a single batch: drops are merged into as few stacks as possible, experience is granted once, the hoe is damaged once for the total amount and a single sound is played.").define("batch multi-harvest", false);
+      multiHarvestBudget = builder.comment("Maximum amount of positions multi-harvests can go through each tick, shared fairly across players (0 to harvest every area at once, must be an integer).", "Areas larger than this are harvested over several ticks, in spiral order starting from the right-clicked crop.").defineInRange("multi-harvest budget", 512, 0, Integer.MAX_VALUE);
+      areaShape = builder.comment("Shape of the multi-harvest area.", "\"" + AreaShape.SQUARE + "\" - a square centered on the right-clicked crop, sized by [starting harvest area size] and [area increment step].", "\"" + AreaShape.FIELD + "\" - the field of mature crops of the same kind connected to the right-clicked crop, up to [field harvest cap] crops. Requires a tool that can multi-harvest.").defineEnum("multi-harvest shape", AreaShape.SQUARE, AreaShape.values());
+      fieldHarvestCap = builder.comment("If [multi-harvest shape] is set to \"" + AreaShape.FIELD + "\", maximum amount of crops harvested at once, the right-clicked one included (must be an integer).").defineInRange("field harvest cap", 256, 1, Integer.MAX_VALUE);
+      fieldVerticalRange = builder.comment("If [multi-harvest shape] is set to \"" + AreaShape.FIELD + "\", how many blocks above and below the right-clicked crop the field can extend to, for terraced and stacked farms (0 to keep the field flat, must be an integer).").defineInRange("field vertical range", 0, 0, 16);
+      dropsDestination = builder.comment("Where harvest drops end up.", "\"" + DropsDestination.WORLD + "\" - dropped in the world, like when breaking the crop.", "\"" + DropsDestination.INVENTORY + "\" - inserted straight into the harvesting player's inventory, what does not fit is dropped in the world merged into as few stacks as possible.", "\"" + DropsDestination.STORAGE + "\" - inserted into the container right below the farmland or, failing that, the closest one within [storage search radius], what does not fit is dropped in the world merged into as few stacks as possible.").defineEnum("drops destination", DropsDestination.WORLD, DropsDestination.values());
+      storageSearchRadius = builder.comment("If [drops destination] is set to \"" + DropsDestination.STORAGE + "\", how far from a crop to look for a container when there is none right below its farmland (0 to only look below the farmland, must be an integer).").defineInRange("storage search radius", 0, 0, StorageLocator.MAX_RADIUS);
+      expDelivery = builder.comment("How the experience of all the crops a player harvests in a tick is granted, at the end of the tick.", "\"" + ExpDelivery.ORB + "\" - as a single experience orb, at the last harvested crop.", "\"" + ExpDelivery.DIRECT + "\" - straight to the player, without any experience orb.").defineEnum("exp delivery", ExpDelivery.ORB, ExpDelivery.values());
+      soundsPerHarvest = builder.comment("If [play sound] is true, maximum amount of harvest sounds played for each player each tick (0 to play the sound of each crop right away, must be an integer).", "Sounds of nearby crops are played as one, louder the more crops it stands for.").defineInRange("sounds per harvest", 4, 0, Integer.MAX_VALUE);
+      harvestParticles = builder.comment("Maximum amount of tall crop blocks whose break particles are shown each tick when multi-harvesting, only read client side (must be an integer).", "Requires the mod on the client, clients without it show the particles of every block as usual.").defineInRange("harvest particles", 64, 0, Integer.MAX_VALUE);
+      harvestRateLimit = builder.comment("Tokens each player gets back every second to right-click crops, up to [harvest burst] (0 to disable rate limiting, must be an integer).", "Right-clicks that harvest cost [harvest cost] tokens and are ignored when the player has not enough left, right-clicks on crops that are not mature cost [rejection cost] tokens.").defineInRange("harvest rate limit", 20, 0, Integer.MAX_VALUE);
+      harvestBurst = builder.comment("If [harvest rate limit] is greater than 0, maximum amount of tokens each player can save up to right-click crops (must be an integer).", "Should be at least [harvest cost], otherwise players can never harvest.").defineInRange("harvest burst", 40, 1, Integer.MAX_VALUE);
+      harvestCost = builder.comment("If [harvest rate limit] is greater than 0, tokens a right-click that harvests costs, multi-harvests included (must be an integer).").defineInRange("harvest cost", 4, 0, Integer.MAX_VALUE);
+      rejectionCost = builder.comment("If [harvest rate limit] is greater than 0, tokens a right-click on a crop that is not mature costs (must be an integer).", "These right-clicks are never ignored, they only leave fewer tokens to harvest.").defineInRange("rejection cost", 1, 0, Integer.MAX_VALUE);
     }
 
     /**
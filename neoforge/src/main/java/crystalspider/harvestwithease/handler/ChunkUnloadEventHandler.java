@@ -0,0 +1,31 @@
+package crystalspider.harvestwithease.handler;
+
+import crystalspider.harvestwithease.util.StorageLocator;
+import net.minecraft.server.level.ServerLevel;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.Mod.EventBusSubscriber;
+import net.neoforged.neoforge.event.level.ChunkEvent;
+
+import static crystalspider.harvestwithease.ModLoader.MOD_ID;
+import static net.neoforged.fml.common.Mod.EventBusSubscriber.Bus.FORGE;
+
+/**
+ * {@link ChunkEvent.Unload} event handler.
+ * Handles the {@link ChunkEvent.Unload} event to drop the storage lookups of unloading chunks.
+ * See {@link #handle(ChunkEvent.Unload)} for more details.
+ */
+@EventBusSubscriber(modid = MOD_ID, bus = FORGE)
+public final class ChunkUnloadEventHandler {
+  /**
+   * Listens and handles the {@link ChunkEvent.Unload} event.
+   * Lets the {@link StorageLocator} forget the lookups of the crops in the unloading chunk.
+   *
+   * @param event
+   */
+  @SubscribeEvent
+  public static void handle(ChunkEvent.Unload event) {
+    if (event.getLevel() instanceof ServerLevel level) {
+      StorageLocator.invalidate(level, event.getChunk().getPos());
+    }
+  }
+}
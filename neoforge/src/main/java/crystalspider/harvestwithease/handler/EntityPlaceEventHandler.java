@@ -0,0 +1,31 @@
+package crystalspider.harvestwithease.handler;
+
+import crystalspider.harvestwithease.util.StorageLocator;
+import net.minecraft.server.level.ServerLevel;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.Mod.EventBusSubscriber;
+import net.neoforged.neoforge.event.level.BlockEvent.EntityPlaceEvent;
+
+import static crystalspider.harvestwithease.ModLoader.MOD_ID;
+import static net.neoforged.fml.common.Mod.EventBusSubscriber.Bus.FORGE;
+
+/**
+ * {@link EntityPlaceEvent} event handler.
+ * Handles the {@link EntityPlaceEvent} event to keep the storage lookups up to date.
+ * See {@link #handle(EntityPlaceEvent)} for more details.
+ */
+@EventBusSubscriber(modid = MOD_ID, bus = FORGE)
+public final class EntityPlaceEventHandler {
+  /**
+   * Listens and handles the {@link EntityPlaceEvent} event.
+   * Lets the {@link StorageLocator} forget the lookups the placed block may affect, since it may be a new container.
+   *
+   * @param event
+   */
+  @SubscribeEvent
+  public static void handle(EntityPlaceEvent event) {
+    if (event.getLevel() instanceof ServerLevel level) {
+      StorageLocator.invalidate(level, event.getPos());
+    }
+  }
+}
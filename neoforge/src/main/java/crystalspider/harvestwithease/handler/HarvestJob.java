@@ -0,0 +1,387 @@
+package crystalspider.harvestwithease.handler;
+
+import crystalspider.harvestwithease.api.CropProfile;
+import crystalspider.harvestwithease.api.event.AreaHarvestEvent;
+import crystalspider.harvestwithease.api.event.HarvestWithEaseEvent.AfterHarvest;
+import crystalspider.harvestwithease.api.event.HarvestWithEaseEvent.BeforeHarvest;
+import crystalspider.harvestwithease.config.AreaShape;
+import crystalspider.harvestwithease.config.CompiledConfig;
+import crystalspider.harvestwithease.util.AreaScanner;
+import crystalspider.harvestwithease.util.BlockUpdateBatch;
+import crystalspider.harvestwithease.util.CropDiscovery;
+import crystalspider.harvestwithease.util.DropsDelivery;
+import crystalspider.harvestwithease.util.EventListeners;
+import crystalspider.harvestwithease.util.PredictionAcks;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.InteractionHand;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.block.state.properties.IntegerProperty;
+import net.minecraft.world.phys.BlockHitResult;
+import net.neoforged.neoforge.common.NeoForge;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Multi-harvest of the area around a right-clicked crop, either a square or, in {@link AreaShape#FIELD field} shape, the field of crops connected to it.
+ * <p>
+ * The right-clicked crop is harvested as soon as the job is created, the rest of the area is harvested either {@link #runAll() all at once}
+ * or {@link #run(int) a few positions at a time} by the {@link HarvestScheduler}, in which case crops are visited in spiral order (breadth first for fields) starting from the right-clicked one.
+ * Square areas harvested a few positions at a time are first {@link CropDiscovery discovered} off the server thread, so that each tick only goes through mature crops.
+ * Either way the same crops are harvested and, in {@link CompiledConfig#batchHarvest() batch mode}, their side effects are applied once when the job {@link #finish() finishes}.
+ * Outside batch mode, the drops of the crops are held back until the job finishes while the {@link AreaHarvestEvent.Drops} event has listeners.
+ * Jobs run over several ticks stop as soon as the player no longer holds the {@link #tool} they started with, so that the whole area is harvested with, and damages, that very tool.
+ * <p>
+ * {@link AreaHarvestEvent Area events} are fired once for the whole job, on top of the per-crop events unless {@link AreaHarvestEvent.Pre#skipCropEvents() skipped}.
+ */
+final class HarvestJob {
+  /**
+   * {@link CompiledConfig} snapshot to use for the whole harvest.
+   */
+  final CompiledConfig config;
+  /**
+   * {@link ServerLevel level}.
+   */
+  final ServerLevel level;
+  /**
+   * {@link ServerPlayer player} harvesting the crops.
+   */
+  final ServerPlayer player;
+  /**
+   * {@link BlockState} of the right-clicked crop.
+   */
+  private final BlockState blockState;
+  /**
+   * {@link BlockPos} of the right-clicked crop.
+   */
+  private final BlockPos blockPos;
+  /**
+   * Multi-harvest radius.
+   */
+  private final int radius;
+  /**
+   * Clicked {@link Direction face} of the right-clicked crop.
+   */
+  private final Direction face;
+  /**
+   * {@link InteractionHand hand} used to harvest.
+   */
+  private final InteractionHand hand;
+  /**
+   * Whether to fire the per-crop events for the crops of the area, {@code false} if {@link AreaHarvestEvent.Pre#skipCropEvents() skipped}.
+   */
+  private final boolean cropEvents;
+  /**
+   * {@link ItemStack} held in the {@link #hand} when the job was submitted, the only one harvesting the area and taking the damage.
+   */
+  private final ItemStack tool;
+  /**
+   * Sequence number of the client prediction of this harvest, {@link PredictionAcks#NONE} if none.
+   */
+  private final int sequence;
+  /**
+   * Base {@link BlockPos} of the right-clicked crop, where batched side effects are applied.
+   */
+  private final BlockPos basePos;
+  /**
+   * {@link BlockState} at {@link #basePos} before harvesting.
+   */
+  private final BlockState baseState;
+  /**
+   * {@link BlockUpdateBatch} coalescing the updates of the crops harvested in the area.
+   */
+  private final BlockUpdateBatch updates;
+  /**
+   * Merged drops of all harvested crops, {@code null} when not in {@link CompiledConfig#batchHarvest() batch mode}.
+   */
+  @Nullable
+  private final List<ItemStack> drops;
+  /**
+   * Drops of each harvested crop, held back until the {@link AreaHarvestEvent.Drops} event has fired,
+   * {@code null} in {@link CompiledConfig#batchHarvest() batch mode} or when nothing listens to the event.
+   */
+  @Nullable
+  private final List<HeldDrops> held;
+  /**
+   * {@link DropsDelivery.NearbyItems} of the area, {@code null} for {@link AreaShape#FIELD fields} whose bounds are not known in advance.
+   */
+  @Nullable
+  private final DropsDelivery.NearbyItems nearby;
+  /**
+   * {@link BlockPos Positions} of the harvested crops, the right-clicked one first.
+   */
+  private final List<BlockPos> positions = new ArrayList<>();
+  /**
+   * {@link AreaScanner.Scan Scan} of the area, created when {@link #prepare() preparing} the job or on the first {@link #run(int) run}.
+   */
+  @Nullable
+  private AreaScanner.Scan scan = null;
+  /**
+   * Amount of crops harvested in {@link CompiledConfig#batchHarvest() batch mode}.
+   */
+  private int harvested = 0;
+  /**
+   * Whether the job was {@link #cancel() cancelled}.
+   */
+  private boolean cancelled = false;
+
+  /**
+   * Creates the job and harvests the right-clicked crop.
+   * The rest of the area is skipped if the {@link AreaHarvestEvent.Pre} event is canceled, and so are the per-crop events of the whole area if its listeners {@link AreaHarvestEvent.Pre#skipCropEvents() skip them}.
+   *
+   * @param config {@link #config}.
+   * @param level {@link #level}.
+   * @param age {@link IntegerProperty age} of the right-clicked crop.
+   * @param blockState {@link #blockState}.
+   * @param blockPos {@link #blockPos}.
+   * @param radius {@link #radius}.
+   * @param face {@link #face}.
+   * @param hitResult {@link BlockHitResult} of the right-click.
+   * @param player {@link #player}.
+   * @param hand {@link #hand}.
+   * @param sequence {@link #sequence}.
+   */
+  HarvestJob(CompiledConfig config, ServerLevel level, IntegerProperty age, BlockState blockState, BlockPos blockPos, int radius, Direction face, BlockHitResult hitResult, ServerPlayer player, InteractionHand hand, int sequence) {
+    this.config = config;
+    this.level = level;
+    this.player = player;
+    this.blockState = blockState;
+    this.blockPos = blockPos;
+    this.radius = radius;
+    this.face = face;
+    this.hand = hand;
+    this.tool = player.getItemInHand(hand);
+    this.sequence = sequence;
+    this.basePos = RightClickBlockHandler.getBasePos(level, blockState.getBlock(), blockPos);
+    this.baseState = level.getBlockState(basePos);
+    this.updates = new BlockUpdateBatch(level);
+    this.nearby = config.areaShape() == AreaShape.FIELD ? null : new DropsDelivery.NearbyItems(level, blockPos, radius);
+    if (EventListeners.hasListeners(AreaHarvestEvent.Pre.class)) {
+      AreaHarvestEvent.Pre pre = new AreaHarvestEvent.Pre(level, blockState, blockPos, player, hand);
+      this.cancelled = NeoForge.EVENT_BUS.post(pre).isCanceled();
+      this.cropEvents = pre.haveCropEvents();
+    } else {
+      this.cropEvents = true;
+    }
+    if (config.batchHarvest()) {
+      this.drops = new ArrayList<>();
+      this.held = null;
+      harvestInBatch(age, blockState, blockPos, hitResult, null);
+    } else {
+      this.drops = null;
+      this.held = EventListeners.hasListeners(AreaHarvestEvent.Drops.class) ? new ArrayList<>() : null;
+      RightClickBlockHandler.harvest(config, level, age, blockState, blockPos, face, hitResult, player, hand, cropEvents, null, held, nearby);
+    }
+    positions.add(blockPos);
+  }
+
+  /**
+   * Returns the amount of positions in the area, the right-clicked crop excluded.
+   * <p>
+   * The positions of a {@link AreaShape#FIELD field} are not known in advance, the amount of crops it can hold is returned instead.
+   *
+   * @return the amount of positions left to scan before any {@link #run(int) run}.
+   */
+  long size() {
+    if (config.areaShape() == AreaShape.FIELD) {
+      return config.fieldHarvestCap() - 1;
+    }
+    long side = 2L * radius + 1;
+    return side * side - 1;
+  }
+
+  /**
+   * Harvests the whole area at once.
+   */
+  void runAll() {
+    if (cancelled) {
+      return;
+    }
+    try {
+      if (config.areaShape() == AreaShape.FIELD) {
+        createScan().scan(Integer.MAX_VALUE, this::visit);
+      } else {
+        AreaScanner.scan(level, blockPos, radius, this::visit);
+      }
+    } finally {
+      updates.flush();
+    }
+  }
+
+  /**
+   * Prepares the job to be {@link #run(int) run} over the next ticks, starting the discovery of the crops of square areas.
+   */
+  void prepare() {
+    if (!cancelled && scan == null) {
+      scan = createScan();
+    }
+  }
+
+  /**
+   * Whether this job can make progress right now, rather than waiting for its {@link CropDiscovery discovery} to complete.
+   *
+   * @return whether this job is ready to {@link #run(int) run}.
+   */
+  boolean isReady() {
+    return scan == null || scan.isReady() || isDone();
+  }
+
+  /**
+   * Harvests the next positions of the area in spiral order, or breadth first for {@link AreaShape#FIELD fields}.
+   * <p>
+   * Square areas only go through the positions where mature crops were discovered.
+   *
+   * @param budget maximum amount of positions to go through.
+   * @return the amount of positions gone through.
+   */
+  int run(int budget) {
+    if (!canContinue()) {
+      return 0;
+    }
+    if (scan == null) {
+      scan = createScan();
+    }
+    try {
+      return scan.scan(budget, this::visit);
+    } finally {
+      updates.flush();
+    }
+  }
+
+  /**
+   * Creates a new {@link AreaScanner.Scan scan} of the area, according to the {@link CompiledConfig#areaShape() area shape}.
+   * <p>
+   * Fields are flood filled on the server thread, since where the fill goes next depends on the crops it finds.
+   *
+   * @return new {@link AreaScanner.Scan}.
+   */
+  private AreaScanner.Scan createScan() {
+    if (config.areaShape() == AreaShape.FIELD) {
+      return new AreaScanner.Field(level, blockPos, blockState.getBlock(), config.fieldHarvestCap() - 1, config.fieldVerticalRange());
+    }
+    return new AreaScanner.Candidates(level, blockPos, radius);
+  }
+
+  /**
+   * Whether this job has nothing left to harvest.
+   *
+   * @return whether this job is done.
+   */
+  boolean isDone() {
+    return !canContinue() || (scan != null && !scan.hasNext());
+  }
+
+  /**
+   * Whether this job can keep harvesting: it was not {@link #cancel() cancelled}, the player is still connected and alive and still holds the {@link #tool}.
+   *
+   * @return whether this job can keep harvesting.
+   */
+  private boolean canContinue() {
+    return !cancelled && !player.hasDisconnected() && player.isAlive() && player.getItemInHand(hand) == tool;
+  }
+
+  /**
+   * Stops this job, the crops harvested so far are kept.
+   */
+  void cancel() {
+    cancelled = true;
+  }
+
+  /**
+   * Applies the side effects of a {@link CompiledConfig#batchHarvest() batch} harvest, if any, drops the {@link #held} drops, if any,
+   * fires the {@link AreaHarvestEvent.Post} event and {@link PredictionAcks#confirm confirms} the harvested crops to the client.
+   * Must be called exactly once, after the last {@link #run(int) run}.
+   */
+  void finish() {
+    if (drops != null) {
+      List<ItemStack> finalDrops = drops;
+      if (EventListeners.hasListeners(AreaHarvestEvent.Drops.class)) {
+        AreaHarvestEvent.Drops event = new AreaHarvestEvent.Drops(level, blockState, blockPos, positions, drops, player, hand);
+        finalDrops = NeoForge.EVENT_BUS.post(event).isCanceled() ? List.of() : event.getFinalDrops();
+      }
+      RightClickBlockHandler.grantExp(config, level, player, basePos, harvested);
+      RightClickBlockHandler.damageHoe(config, player, hand, tool, harvested);
+      RightClickBlockHandler.popDrops(config, level, baseState, basePos, face, player, finalDrops, nearby);
+      RightClickBlockHandler.playSound(config, level, player, blockState, blockPos);
+    } else if (held != null) {
+      dropHeld();
+    }
+    if (EventListeners.hasListeners(AreaHarvestEvent.Post.class)) {
+      NeoForge.EVENT_BUS.post(new AreaHarvestEvent.Post(level, blockState, blockPos, positions, player, hand));
+    }
+    PredictionAcks.confirm(player, sequence, positions);
+  }
+
+  /**
+   * Fires the {@link AreaHarvestEvent.Drops} event with the {@link #held} drops merged together, then drops them unless the event is canceled:
+   * each crop its own if listeners left the merged drops unchanged, the final drops at the right-clicked crop otherwise.
+   */
+  private void dropHeld() {
+    List<ItemStack> merged = new ArrayList<>();
+    for (HeldDrops crop : held) {
+      for (ItemStack stack : crop.stacks()) {
+        DropsDelivery.merge(merged, stack.copy());
+      }
+    }
+    AreaHarvestEvent.Drops event = new AreaHarvestEvent.Drops(level, blockState, blockPos, positions, merged, player, hand);
+    if (NeoForge.EVENT_BUS.post(event).isCanceled()) {
+      return;
+    }
+    if (event.haveDropsChanged()) {
+      RightClickBlockHandler.popDrops(config, level, baseState, basePos, face, player, event.getFinalDrops(), nearby);
+    } else {
+      for (HeldDrops crop : held) {
+        RightClickBlockHandler.popDrops(config, level, crop.state(), crop.pos(), face, player, crop.stacks(), nearby);
+      }
+    }
+  }
+
+  /**
+   * Harvests the given crop found in the area, if possible.
+   *
+   * @param pos {@link BlockPos.MutableBlockPos mutable position} of the crop.
+   * @param state {@link BlockState} of the crop.
+   * @param crop {@link CropProfile} of the crop.
+   */
+  private void visit(BlockPos.MutableBlockPos pos, BlockState state, CropProfile crop) {
+    BlockPos cropPos = pos.immutable();
+    if (RightClickBlockHandler.canHarvest(level, state, cropPos, player, hand, false) && crop.isMature(state)) {
+      if (drops != null) {
+        harvestInBatch(crop.age(), state, cropPos, null, updates);
+      } else {
+        RightClickBlockHandler.harvest(config, level, crop.age(), state, cropPos, face, null, player, hand, cropEvents, updates, held, nearby);
+      }
+      positions.add(cropPos);
+    }
+  }
+
+  /**
+   * Harvests the given crop, dispatching its events and updating it in the world, but merging its drops and deferring all other side effects to {@link #finish()}.
+   *
+   * @param age {@link IntegerProperty age} of the crop.
+   * @param state {@link BlockState} of the crop.
+   * @param pos {@link BlockPos} of the crop.
+   * @param hitResult {@link BlockHitResult} of the right-click, {@code null} if the crop is not the right-clicked one.
+   * @param updates {@link BlockUpdateBatch} to coalesce the crop update into, {@code null} to update it right away.
+   */
+  private void harvestInBatch(IntegerProperty age, BlockState state, BlockPos pos, @Nullable BlockHitResult hitResult, @Nullable BlockUpdateBatch updates) {
+    if (cropEvents && EventListeners.hasListeners(BeforeHarvest.class)) {
+      NeoForge.EVENT_BUS.post(new BeforeHarvest(level, state, pos, face, hitResult, player, hand));
+    }
+    BlockPos cropBasePos = RightClickBlockHandler.getBasePos(level, state.getBlock(), pos);
+    CropDrops cropDrops = RightClickBlockHandler.collectDrops(level, level.getBlockState(cropBasePos), cropBasePos, face, hitResult, player, hand, cropEvents);
+    for (ItemStack stack : cropDrops.stacks()) {
+      DropsDelivery.merge(drops, stack);
+    }
+    RightClickBlockHandler.updateCrop(level, age, state.getBlock(), cropBasePos, player, cropDrops.custom(), updates);
+    if (cropEvents && EventListeners.hasListeners(AfterHarvest.class)) {
+      NeoForge.EVENT_BUS.post(new AfterHarvest(level, state, pos, face, hitResult, player, hand));
+    }
+    harvested++;
+  }
+}
@@ -0,0 +1,124 @@
+package crystalspider.harvestwithease.handler;
+
+import crystalspider.harvestwithease.config.CompiledConfig;
+import crystalspider.harvestwithease.config.ModConfig;
+import crystalspider.harvestwithease.util.Diagnostics;
+import crystalspider.harvestwithease.util.Diagnostics.Counter;
+import net.minecraft.server.level.ServerLevel;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.WeakHashMap;
+
+/**
+ * Per-{@link ServerLevel level} queue of {@link HarvestJob multi-harvest jobs}, worked through under a per-tick budget.
+ * <p>
+ * Areas that fit in the {@link ModConfig#getMultiHarvestBudget() budget} are harvested right away, larger ones are {@link HarvestJob#prepare() prepared},
+ * queued and harvested a few positions each tick, skipping the jobs still waiting for their crops to be discovered.
+ * Each player has their own queue and the budget of a tick is split evenly across the players with pending jobs, rotating who goes first every tick.
+ * <p>
+ * Only ever accessed from the server thread.
+ */
+final class HarvestScheduler {
+  /**
+   * Pending jobs of each level, by player.
+   */
+  private static final Map<ServerLevel, Map<UUID, Deque<HarvestJob>>> QUEUES = new WeakHashMap<>();
+
+  private HarvestScheduler() {}
+
+  /**
+   * Harvests the given job right away if it fits in the budget, otherwise queues it.
+   *
+   * @param job {@link HarvestJob} to submit.
+   */
+  static void submit(HarvestJob job) {
+    int budget = job.config.multiHarvestBudget();
+    if (budget <= 0 || job.size() <= budget) {
+      job.runAll();
+      job.finish();
+    } else {
+      job.prepare();
+      QUEUES.computeIfAbsent(job.level, level -> new LinkedHashMap<>()).computeIfAbsent(job.player.getUUID(), player -> new ArrayDeque<>()).add(job);
+    }
+  }
+
+  /**
+   * Works through the pending jobs of the given level, within the {@link CompiledConfig#multiHarvestBudget() budget} of the given snapshot.
+   * The budget is read once for the whole tick and split across the jobs, just like {@link #submit(HarvestJob)} reads it from the snapshot of the job.
+   *
+   * @param level
+   * @param config {@link CompiledConfig} snapshot of the tick.
+   */
+  static void tick(ServerLevel level, CompiledConfig config) {
+    Map<UUID, Deque<HarvestJob>> queue = QUEUES.get(level);
+    if (queue == null || queue.isEmpty()) {
+      return;
+    }
+    int budget = config.multiHarvestBudget();
+    if (budget <= 0) {
+      budget = Integer.MAX_VALUE;
+    }
+    boolean progress = true;
+    while (budget > 0 && progress && !queue.isEmpty()) {
+      progress = false;
+      int share = Math.max(1, budget / queue.size());
+      for (Iterator<Deque<HarvestJob>> players = queue.values().iterator(); budget > 0 && players.hasNext(); ) {
+        Deque<HarvestJob> jobs = players.next();
+        HarvestJob job = jobs.element();
+        if (!job.isReady()) {
+          continue;
+        }
+        progress = true;
+        budget -= run(job, Math.min(share, budget));
+        if (job.isDone()) {
+          job.finish();
+          jobs.remove();
+          if (jobs.isEmpty()) {
+            players.remove();
+          }
+        }
+      }
+    }
+    if (queue.size() > 1) {
+      Iterator<Map.Entry<UUID, Deque<HarvestJob>>> players = queue.entrySet().iterator();
+      Map.Entry<UUID, Deque<HarvestJob>> first = players.next();
+      players.remove();
+      queue.put(first.getKey(), first.getValue());
+    }
+  }
+
+  /**
+   * Finishes all pending jobs of the given level without harvesting the rest of their areas, so that no batched drops get lost.
+   *
+   * @param level
+   */
+  static void unload(ServerLevel level) {
+    Map<UUID, Deque<HarvestJob>> queue = QUEUES.remove(level);
+    if (queue != null) {
+      queue.values().forEach(jobs -> jobs.forEach(HarvestJob::finish));
+    }
+  }
+
+  /**
+   * Runs the given job, cancelling it if it fails.
+   *
+   * @param job
+   * @param budget
+   * @return the amount of the budget used.
+   */
+  private static int run(HarvestJob job, int budget) {
+    try {
+      return Math.max(1, job.run(budget));
+    } catch (NullPointerException | NoSuchElementException | ClassCastException | IllegalArgumentException e) {
+      Diagnostics.record(Counter.HARVEST_ERRORS, e);
+      job.cancel();
+      return 1;
+    }
+  }
+}
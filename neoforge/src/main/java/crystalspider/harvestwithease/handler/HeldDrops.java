@@ -0,0 +1,17 @@
+package crystalspider.harvestwithease.handler;
+
+import crystalspider.harvestwithease.api.event.AreaHarvestEvent;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.block.state.BlockState;
+
+import java.util.List;
+
+/**
+ * Drops of a crop harvested by a multi-harvest outside batch mode, held back until the {@link AreaHarvestEvent.Drops} event has fired.
+ *
+ * @param state {@link BlockState} of the crop base before it was harvested.
+ * @param pos {@link BlockPos} of the crop base.
+ * @param stacks {@link ItemStack stacks} to drop, not to be changed.
+ */
+record HeldDrops(BlockState state, BlockPos pos, List<ItemStack> stacks) {}
@@ -0,0 +1,32 @@
+package crystalspider.harvestwithease.handler;
+
+import crystalspider.harvestwithease.api.CropTable;
+import crystalspider.harvestwithease.config.ModConfig;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.Mod.EventBusSubscriber;
+import net.neoforged.fml.event.config.ModConfigEvent;
+
+import static crystalspider.harvestwithease.ModLoader.MOD_ID;
+import static net.neoforged.fml.common.Mod.EventBusSubscriber.Bus.MOD;
+
+/**
+ * {@link ModConfigEvent} event handler.
+ * Handles the {@link ModConfigEvent} event to refresh everything that's derived from the configuration.
+ * See {@link #handle(ModConfigEvent)} for more details.
+ */
+@EventBusSubscriber(modid = MOD_ID, bus = MOD)
+public final class ModConfigEventHandler {
+  /**
+   * Listens and handles the {@link ModConfigEvent} event.
+   * When this mod configuration is loaded or reloaded, compiles a new {@link ModConfig#getCompiled() configuration snapshot} and invalidates the {@link CropTable}.
+   *
+   * @param event
+   */
+  @SubscribeEvent
+  public static void handle(ModConfigEvent event) {
+    if ((event instanceof ModConfigEvent.Loading || event instanceof ModConfigEvent.Reloading) && event.getConfig().getSpec() == ModConfig.SPEC) {
+      ModConfig.compile();
+      CropTable.invalidate();
+    }
+  }
+}
@@ -0,0 +1,31 @@
+package crystalspider.harvestwithease.handler;
+
+import crystalspider.harvestwithease.util.ConfigSync;
+import net.minecraft.server.level.ServerPlayer;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.Mod.EventBusSubscriber;
+import net.neoforged.neoforge.event.entity.player.PlayerEvent.PlayerLoggedInEvent;
+
+import static crystalspider.harvestwithease.ModLoader.MOD_ID;
+import static net.neoforged.fml.common.Mod.EventBusSubscriber.Bus.FORGE;
+
+/**
+ * {@link PlayerLoggedInEvent} event handler.
+ * Handles the {@link PlayerLoggedInEvent} event to sync the harvest configuration to the player.
+ * See {@link #handle(PlayerLoggedInEvent)} for more details.
+ */
+@EventBusSubscriber(modid = MOD_ID, bus = FORGE)
+public final class PlayerLoggedInEventHandler {
+  /**
+   * Listens and handles the {@link PlayerLoggedInEvent} event.
+   * Lets the {@link ConfigSync} send the current harvest configuration to the player.
+   *
+   * @param event
+   */
+  @SubscribeEvent
+  public static void handle(PlayerLoggedInEvent event) {
+    if (event.getEntity() instanceof ServerPlayer player) {
+      ConfigSync.send(player);
+    }
+  }
+}
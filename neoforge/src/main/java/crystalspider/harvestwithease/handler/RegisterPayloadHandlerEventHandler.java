@@ -0,0 +1,37 @@
+package crystalspider.harvestwithease.handler;
+
+import crystalspider.harvestwithease.network.ConfigSyncPayload;
+import crystalspider.harvestwithease.network.HarvestAckPayload;
+import crystalspider.harvestwithease.network.HarvestEffectsPayload;
+import crystalspider.harvestwithease.network.HarvestPredictionPayload;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.Mod.EventBusSubscriber;
+import net.neoforged.neoforge.network.event.RegisterPayloadHandlerEvent;
+import net.neoforged.neoforge.network.registration.IPayloadRegistrar;
+
+import static crystalspider.harvestwithease.ModLoader.MOD_ID;
+import static crystalspider.harvestwithease.ModLoader.PROTOCOL_VERSION;
+import static net.neoforged.fml.common.Mod.EventBusSubscriber.Bus.MOD;
+
+/**
+ * {@link RegisterPayloadHandlerEvent} event handler.
+ * Handles the {@link RegisterPayloadHandlerEvent} event to register this mod payloads.
+ * See {@link #handle(RegisterPayloadHandlerEvent)} for more details.
+ */
+@EventBusSubscriber(modid = MOD_ID, bus = MOD)
+public final class RegisterPayloadHandlerEventHandler {
+  /**
+   * Listens and handles the {@link RegisterPayloadHandlerEvent} event.
+   * Registers the {@link HarvestEffectsPayload}, the harvest prediction payloads and the {@link ConfigSyncPayload}, all optional so that clients without this mod can still join.
+   *
+   * @param event
+   */
+  @SubscribeEvent
+  public static void handle(RegisterPayloadHandlerEvent event) {
+    IPayloadRegistrar registrar = event.registrar(MOD_ID).versioned(PROTOCOL_VERSION).optional();
+    registrar.play(HarvestEffectsPayload.ID, HarvestEffectsPayload::read, handler -> handler.client(HarvestEffectsPayload::handle));
+    registrar.play(HarvestPredictionPayload.ID, HarvestPredictionPayload::read, handler -> handler.server(HarvestPredictionPayload::handle));
+    registrar.play(HarvestAckPayload.ID, HarvestAckPayload::read, handler -> handler.client(HarvestAckPayload::handle));
+    registrar.play(ConfigSyncPayload.ID, ConfigSyncPayload::read, handler -> handler.client(ConfigSyncPayload::handle));
+  }
+}
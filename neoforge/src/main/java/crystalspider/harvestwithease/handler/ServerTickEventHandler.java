@@ -0,0 +1,31 @@
+package crystalspider.harvestwithease.handler;
+
+import crystalspider.harvestwithease.util.ConfigSync;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.Mod.EventBusSubscriber;
+import net.neoforged.neoforge.event.TickEvent;
+import net.neoforged.neoforge.event.TickEvent.ServerTickEvent;
+
+import static crystalspider.harvestwithease.ModLoader.MOD_ID;
+import static net.neoforged.fml.common.Mod.EventBusSubscriber.Bus.FORGE;
+
+/**
+ * {@link ServerTickEvent} event handler.
+ * Handles the {@link ServerTickEvent} event to sync configuration changes.
+ * See {@link #handle(ServerTickEvent)} for more details.
+ */
+@EventBusSubscriber(modid = MOD_ID, bus = FORGE)
+public final class ServerTickEventHandler {
+  /**
+   * Listens and handles the {@link ServerTickEvent} event.
+   * At the end of each server tick, once all levels ticked, lets the {@link ConfigSync} send the harvest configuration to the players if it changed.
+   *
+   * @param event
+   */
+  @SubscribeEvent
+  public static void handle(ServerTickEvent event) {
+    if (event.phase == TickEvent.Phase.END) {
+      ConfigSync.flush(event.getServer());
+    }
+  }
+}
@@ -0,0 +1,71 @@
+package crystalspider.harvestwithease.network;
+
+import crystalspider.harvestwithease.client.ConfigSyncReceiver;
+import crystalspider.harvestwithease.config.AreaShape;
+import crystalspider.harvestwithease.config.SyncedConfig;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+import net.neoforged.neoforge.network.handling.PlayPayloadContext;
+
+import static crystalspider.harvestwithease.ModLoader.MOD_ID;
+
+/**
+ * Server to client payload syncing the {@link SyncedConfig harvest configuration}.
+ *
+ * @param hash {@link SyncedConfig#hash() version hash} of the values, as computed by the server.
+ * @param config synced {@link SyncedConfig values}.
+ */
+public record ConfigSyncPayload(int hash, SyncedConfig config) implements CustomPacketPayload {
+  /**
+   * Id of this payload.
+   */
+  public static final ResourceLocation ID = new ResourceLocation(MOD_ID, "config_sync");
+
+  /**
+   * Reads a payload from the given buffer.
+   *
+   * @param buffer {@link FriendlyByteBuf} to read from.
+   * @return the {@link ConfigSyncPayload} read.
+   */
+  public static ConfigSyncPayload read(FriendlyByteBuf buffer) {
+    return new ConfigSyncPayload(buffer.readInt(), new SyncedConfig(
+      buffer.readList(FriendlyByteBuf::readUtf),
+      buffer.readBoolean(),
+      buffer.readUtf(),
+      buffer.readVarInt(),
+      buffer.readVarInt(),
+      buffer.readEnum(AreaShape.class),
+      buffer.readVarInt(),
+      buffer.readVarInt()
+    ));
+  }
+
+  @Override
+  public void write(FriendlyByteBuf buffer) {
+    buffer.writeInt(hash);
+    buffer.writeCollection(config.crops(), FriendlyByteBuf::writeUtf);
+    buffer.writeBoolean(config.requireHoe());
+    buffer.writeUtf(config.multiHarvestStartingTier());
+    buffer.writeVarInt(config.areaStartingSize());
+    buffer.writeVarInt(config.areaIncrementStep());
+    buffer.writeEnum(config.areaShape());
+    buffer.writeVarInt(config.fieldHarvestCap());
+    buffer.writeVarInt(config.fieldVerticalRange());
+  }
+
+  @Override
+  public ResourceLocation id() {
+    return ID;
+  }
+
+  /**
+   * Handles the given payload on the client main thread, applying the synced values.
+   *
+   * @param payload received {@link ConfigSyncPayload}.
+   * @param context {@link PlayPayloadContext} of the payload.
+   */
+  public static void handle(ConfigSyncPayload payload, PlayPayloadContext context) {
+    context.workHandler().execute(() -> ConfigSyncReceiver.receive(payload.hash, payload.config));
+  }
+}
@@ -0,0 +1,60 @@
+package crystalspider.harvestwithease.network;
+
+import crystalspider.harvestwithease.client.HarvestPredictor;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+import net.neoforged.fml.loading.FMLEnvironment;
+import net.neoforged.neoforge.network.handling.PlayPayloadContext;
+
+import static crystalspider.harvestwithease.ModLoader.MOD_ID;
+
+/**
+ * Server to client payload acknowledging a predicted harvest.
+ *
+ * @param sequence sequence number of the prediction.
+ * @param done whether the harvest is over, otherwise it just started and is going to be acknowledged again.
+ * @param harvested {@link BlockPos#asLong() packed positions} of the harvested crops, empty unless {@code done}.
+ */
+public record HarvestAckPayload(int sequence, boolean done, long[] harvested) implements CustomPacketPayload {
+  /**
+   * Id of this payload.
+   */
+  public static final ResourceLocation ID = new ResourceLocation(MOD_ID, "harvest_ack");
+
+  /**
+   * Reads a payload from the given buffer.
+   *
+   * @param buffer {@link FriendlyByteBuf} to read from.
+   * @return the {@link HarvestAckPayload} read.
+   */
+  public static HarvestAckPayload read(FriendlyByteBuf buffer) {
+    return new HarvestAckPayload(buffer.readVarInt(), buffer.readBoolean(), buffer.readLongArray());
+  }
+
+  @Override
+  public void write(FriendlyByteBuf buffer) {
+    buffer.writeVarInt(sequence);
+    buffer.writeBoolean(done);
+    buffer.writeLongArray(harvested);
+  }
+
+  @Override
+  public ResourceLocation id() {
+    return ID;
+  }
+
+  /**
+   * Handles the given payload on the client main thread, settling the prediction it acknowledges.
+   * The {@link HarvestPredictor} is only ever loaded on the {@link FMLEnvironment#dist client}.
+   *
+   * @param payload received {@link HarvestAckPayload}.
+   * @param context {@link PlayPayloadContext} of the payload.
+   */
+  public static void handle(HarvestAckPayload payload, PlayPayloadContext context) {
+    if (FMLEnvironment.dist.isClient()) {
+      context.workHandler().execute(() -> HarvestPredictor.acknowledge(payload.sequence, payload.done, payload.harvested));
+    }
+  }
+}
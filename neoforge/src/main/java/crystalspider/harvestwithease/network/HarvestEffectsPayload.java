@@ -0,0 +1,71 @@
+package crystalspider.harvestwithease.network;
+
+import crystalspider.harvestwithease.client.HarvestEffectsRenderer;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+import net.neoforged.neoforge.network.handling.PlayPayloadContext;
+
+import static crystalspider.harvestwithease.ModLoader.MOD_ID;
+
+/**
+ * Server to client payload listing the tall crop blocks broken by multi-harvests during a tick, whose break effects the client should render.
+ * <p>
+ * Positions are encoded as offsets from the first one, which all fit in a short since they are all within the view of the same player.
+ *
+ * @param positions {@link BlockPos#asLong() packed positions} of the broken blocks.
+ * @param states {@link net.minecraft.world.level.block.Block#getId(net.minecraft.world.level.block.state.BlockState) ids} of the states of the broken blocks, by index of their position.
+ */
+public record HarvestEffectsPayload(long[] positions, int[] states) implements CustomPacketPayload {
+  /**
+   * Id of this payload.
+   */
+  public static final ResourceLocation ID = new ResourceLocation(MOD_ID, "harvest_effects");
+
+  /**
+   * Reads a payload from the given buffer.
+   *
+   * @param buffer {@link FriendlyByteBuf} to read from.
+   * @return the {@link HarvestEffectsPayload} read.
+   */
+  public static HarvestEffectsPayload read(FriendlyByteBuf buffer) {
+    int size = buffer.readVarInt();
+    long origin = buffer.readLong();
+    long[] positions = new long[size];
+    int[] states = new int[size];
+    for (int c = 0; c < size; c++) {
+      positions[c] = BlockPos.asLong(BlockPos.getX(origin) + buffer.readShort(), BlockPos.getY(origin) + buffer.readShort(), BlockPos.getZ(origin) + buffer.readShort());
+      states[c] = buffer.readVarInt();
+    }
+    return new HarvestEffectsPayload(positions, states);
+  }
+
+  @Override
+  public void write(FriendlyByteBuf buffer) {
+    buffer.writeVarInt(positions.length);
+    long origin = positions[0];
+    buffer.writeLong(origin);
+    for (int c = 0; c < positions.length; c++) {
+      buffer.writeShort(BlockPos.getX(positions[c]) - BlockPos.getX(origin));
+      buffer.writeShort(BlockPos.getY(positions[c]) - BlockPos.getY(origin));
+      buffer.writeShort(BlockPos.getZ(positions[c]) - BlockPos.getZ(origin));
+      buffer.writeVarInt(states[c]);
+    }
+  }
+
+  @Override
+  public ResourceLocation id() {
+    return ID;
+  }
+
+  /**
+   * Handles the given payload on the client main thread, rendering its break effects.
+   *
+   * @param payload received {@link HarvestEffectsPayload}.
+   * @param context {@link PlayPayloadContext} of the payload.
+   */
+  public static void handle(HarvestEffectsPayload payload, PlayPayloadContext context) {
+    context.workHandler().execute(() -> HarvestEffectsRenderer.render(payload.positions, payload.states));
+  }
+}
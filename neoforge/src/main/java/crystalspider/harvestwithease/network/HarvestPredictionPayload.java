@@ -0,0 +1,62 @@
+package crystalspider.harvestwithease.network;
+
+import crystalspider.harvestwithease.util.PredictionAcks;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.InteractionHand;
+import net.neoforged.neoforge.network.handling.PlayPayloadContext;
+
+import static crystalspider.harvestwithease.ModLoader.MOD_ID;
+
+/**
+ * Client to server payload announcing a predicted harvest, sent right before the interaction it stands for.
+ *
+ * @param sequence sequence number of the prediction.
+ * @param pos {@link BlockPos} of the right-clicked crop.
+ * @param hand {@link InteractionHand} used to harvest.
+ */
+public record HarvestPredictionPayload(int sequence, BlockPos pos, InteractionHand hand) implements CustomPacketPayload {
+  /**
+   * Id of this payload.
+   */
+  public static final ResourceLocation ID = new ResourceLocation(MOD_ID, "harvest_prediction");
+
+  /**
+   * Reads a payload from the given buffer.
+   *
+   * @param buffer {@link FriendlyByteBuf} to read from.
+   * @return the {@link HarvestPredictionPayload} read.
+   */
+  public static HarvestPredictionPayload read(FriendlyByteBuf buffer) {
+    return new HarvestPredictionPayload(buffer.readVarInt(), buffer.readBlockPos(), buffer.readEnum(InteractionHand.class));
+  }
+
+  @Override
+  public void write(FriendlyByteBuf buffer) {
+    buffer.writeVarInt(sequence);
+    buffer.writeBlockPos(pos);
+    buffer.writeEnum(hand);
+  }
+
+  @Override
+  public ResourceLocation id() {
+    return ID;
+  }
+
+  /**
+   * Handles the given payload on the server main thread, waiting for the harvest it announces.
+   *
+   * @param payload received {@link HarvestPredictionPayload}.
+   * @param context {@link PlayPayloadContext} of the payload.
+   */
+  public static void handle(HarvestPredictionPayload payload, PlayPayloadContext context) {
+    context.workHandler().execute(() -> context.player().ifPresent(player -> {
+      if (player instanceof ServerPlayer serverPlayer) {
+        PredictionAcks.expect(serverPlayer, payload.sequence, payload.pos, payload.hand);
+      }
+    }));
+  }
+}
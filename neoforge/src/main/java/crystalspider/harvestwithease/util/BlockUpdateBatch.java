@@ -0,0 +1,130 @@
+package crystalspider.harvestwithease.util;
+
+import it.unimi.dsi.fastutil.longs.Long2LongLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.shorts.ShortOpenHashSet;
+import it.unimi.dsi.fastutil.shorts.ShortSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.SectionPos;
+import net.minecraft.network.protocol.game.ClientboundSectionBlocksUpdatePacket;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+
+/**
+ * Batch of block state changes whose updates are coalesced.
+ * <p>
+ * Changes are applied to the level right away, but without neighbor, shape or client updates.
+ * On {@link #flush()}, neighbors are notified once each, shape updates skip positions that were changed in the same batch
+ * and every touched section is sent to the players tracking it as a single {@link ClientboundSectionBlocksUpdatePacket}.
+ * <p>
+ * Neighbors in chunks that are not loaded are left alone rather than loading their chunk.
+ * <p>
+ * Meant for crops, whose neighbors never depend on their age: changing many of them at once must not cascade updates through the whole field.
+ */
+public final class BlockUpdateBatch {
+  /**
+   * Flags used to set block states: no neighbor, shape or client updates.
+   */
+  private static final int FLAGS = Block.UPDATE_KNOWN_SHAPE;
+  /**
+   * Flags used for the deferred shape updates, same as {@link Block#UPDATE_ALL} minus the neighbor updates already handled by the batch.
+   */
+  private static final int SHAPE_UPDATE_FLAGS = Block.UPDATE_CLIENTS;
+  /**
+   * Recursion left for the deferred shape updates, same as a plain {@link ServerLevel#setBlock(BlockPos, BlockState, int) setBlock}.
+   */
+  private static final int SHAPE_UPDATE_RECURSION = Block.UPDATE_LIMIT - 1;
+
+  /**
+   * {@link ServerLevel} the changes are applied to.
+   */
+  private final ServerLevel level;
+  /**
+   * {@link BlockPos#asLong() Packed positions} changed since the last {@link #flush()}, in order.
+   */
+  private final LongLinkedOpenHashSet changed = new LongLinkedOpenHashSet();
+
+  /**
+   * @param level {@link #level}.
+   */
+  public BlockUpdateBatch(ServerLevel level) {
+    this.level = level;
+  }
+
+  /**
+   * Sets the given state at the given position, deferring all updates to the next {@link #flush()}.
+   *
+   * @param pos {@link BlockPos} to change.
+   * @param state new {@link BlockState}.
+   */
+  public void setBlock(BlockPos pos, BlockState state) {
+    if (level.setBlock(pos, state, FLAGS)) {
+      changed.add(pos.asLong());
+    }
+  }
+
+  /**
+   * Notifies neighbors, updates neighbor shapes and sends section updates for all changes since the last flush.
+   */
+  public void flush() {
+    if (changed.isEmpty()) {
+      return;
+    }
+    Long2LongMap neighbors = new Long2LongLinkedOpenHashMap();
+    Long2ObjectMap<ShortSet> sections = new Long2ObjectOpenHashMap<>();
+    BlockPos.MutableBlockPos mutable = new BlockPos.MutableBlockPos();
+    for (LongIterator iterator = changed.iterator(); iterator.hasNext(); ) {
+      long packed = iterator.nextLong();
+      for (Direction direction : Direction.values()) {
+        long neighborPacked = BlockPos.offset(packed, direction);
+        if (!changed.contains(neighborPacked) && level.hasChunk(SectionPos.blockToSectionCoord(BlockPos.getX(neighborPacked)), SectionPos.blockToSectionCoord(BlockPos.getZ(neighborPacked)))) {
+          neighbors.putIfAbsent(neighborPacked, packed);
+        }
+      }
+      sections.computeIfAbsent(SectionPos.blockToSection(packed), section -> new ShortOpenHashSet()).add(SectionPos.sectionRelativePos(mutable.set(packed)));
+    }
+    for (Long2LongMap.Entry entry : neighbors.long2LongEntrySet()) {
+      BlockPos source = BlockPos.of(entry.getLongValue());
+      level.neighborChanged(BlockPos.of(entry.getLongKey()), level.getBlockState(source).getBlock(), source);
+    }
+    for (LongIterator iterator = changed.iterator(); iterator.hasNext(); ) {
+      BlockPos pos = BlockPos.of(iterator.nextLong());
+      BlockState state = level.getBlockState(pos);
+      for (Direction direction : Direction.values()) {
+        BlockPos neighborPos = pos.relative(direction);
+        if (!changed.contains(neighborPos.asLong()) && level.isLoaded(neighborPos)) {
+          level.neighborShapeChanged(direction.getOpposite(), state, neighborPos, pos, SHAPE_UPDATE_FLAGS, SHAPE_UPDATE_RECURSION);
+        }
+      }
+    }
+    for (Long2ObjectMap.Entry<ShortSet> entry : sections.long2ObjectEntrySet()) {
+      sendSection(SectionPos.of(entry.getLongKey()), entry.getValue());
+    }
+    changed.clear();
+  }
+
+  /**
+   * Sends the changed positions of the given section to all players tracking it, with a single packet.
+   *
+   * @param sectionPos {@link SectionPos} of the section.
+   * @param positions {@link SectionPos#sectionRelativePos(BlockPos) section relative positions} changed.
+   */
+  private void sendSection(SectionPos sectionPos, ShortSet positions) {
+    LevelChunk chunk = level.getChunkSource().getChunkNow(sectionPos.x(), sectionPos.z());
+    if (chunk != null) {
+      ClientboundSectionBlocksUpdatePacket packet = new ClientboundSectionBlocksUpdatePacket(sectionPos, positions, chunk.getSection(level.getSectionIndexFromSectionY(sectionPos.y())));
+      for (ServerPlayer player : level.getChunkSource().chunkMap.getPlayers(new ChunkPos(sectionPos.x(), sectionPos.z()), false)) {
+        player.connection.send(packet);
+      }
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package crystalspider.harvestwithease.util;
+
+import com.mojang.logging.LogUtils;
+import net.neoforged.bus.ListenerList;
+import net.neoforged.bus.api.Event;
+import net.neoforged.bus.api.EventListenerHelper;
+import net.neoforged.bus.api.EventPriority;
+import net.neoforged.neoforge.common.NeoForge;
+import org.slf4j.Logger;
+
+import static crystalspider.harvestwithease.ModLoader.MOD_ID;
+
+/**
+ * Tells whether events fired on the {@link NeoForge#EVENT_BUS} have any listener, so that unobserved events are neither built nor posted.
+ * <p>
+ * The bus does not expose its listeners, but the {@link ListenerList listener list} of each event type does, by bus id.
+ * The id of the {@link NeoForge#EVENT_BUS} is found once, by registering a listener for a private {@link Probe} event and looking for the only bus it shows up in.
+ * Listener lists are kept up to date by the bus itself, so listeners registered at any time are taken into account.
+ */
+public final class EventListeners {
+  /**
+   * Logger.
+   */
+  private static final Logger LOGGER = LogUtils.getLogger();
+
+  /**
+   * Id of the {@link NeoForge#EVENT_BUS} within listener lists, {@code -1} if it could not be found, in which case events are always considered observed.
+   */
+  private static final int BUS_ID = findBusId();
+
+  private EventListeners() {}
+
+  /**
+   * Whether the given event type, or any of its supertypes, has at least one listener on the {@link NeoForge#EVENT_BUS}.
+   *
+   * @param type
+   * @return whether events of the given type are observed.
+   */
+  public static boolean hasListeners(Class<? extends Event> type) {
+    return BUS_ID < 0 || EventListenerHelper.getListenerList(type).getListeners(BUS_ID).length > 0;
+  }
+
+  /**
+   * Finds the id of the {@link NeoForge#EVENT_BUS} within listener lists.
+   *
+   * @return the id of the {@link NeoForge#EVENT_BUS} or {@code -1} if it could not be found.
+   */
+  private static int findBusId() {
+    NeoForge.EVENT_BUS.addListener(EventPriority.LOWEST, true, Probe.class, probe -> {});
+    ListenerList listeners = EventListenerHelper.getListenerList(Probe.class);
+    // Relies on the internals of bus 7.0 (net.neoforged:bus, as shipped with NeoForge 20.4): listener lists hold one slot per bus, indexed by bus id,
+    // and getListeners throws an IndexOutOfBoundsException past the last bus.
+    try {
+      for (int id = 0; ; id++) {
+        if (listeners.getListeners(id).length > 0) {
+          return id;
+        }
+      }
+    } catch (IndexOutOfBoundsException e) {
+      LOGGER.warn("Could not find the id of the event bus, events of " + MOD_ID + " are going to be built and posted even when nothing listens to them.");
+      return -1;
+    }
+  }
+
+  /**
+   * Event never fired, only listened to in order to find the id of the {@link NeoForge#EVENT_BUS}.
+   */
+  public static final class Probe extends Event {}
+}
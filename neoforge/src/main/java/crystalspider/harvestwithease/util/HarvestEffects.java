@@ -0,0 +1,125 @@
+package crystalspider.harvestwithease.util;
+
+import crystalspider.harvestwithease.network.HarvestEffectsPayload;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.protocol.game.ClientboundLevelEventPacket;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.LevelEvent;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.gameevent.GameEvent;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Batches the break effects of the tall crop blocks broken by multi-harvests, per {@link ServerLevel level}, to send them once at the end of the tick.
+ * <p>
+ * Players with this mod get a single {@link HarvestEffectsPayload} listing all the blocks broken within their view,
+ * while players without it get the usual {@link LevelEvent#PARTICLES_DESTROY_BLOCK level event} for each block.
+ * <p>
+ * Only ever accessed from the server thread.
+ */
+public final class HarvestEffects {
+  /**
+   * Squared distance within which players are sent the break effects, same as {@link ServerLevel#levelEvent(Player, int, BlockPos, int)}.
+   */
+  private static final double RANGE_SQR = 64 * 64;
+
+  /**
+   * Pending break effects of each level.
+   */
+  private static final Map<ServerLevel, Pending> PENDING = new WeakHashMap<>();
+
+  private HarvestEffects() {}
+
+  /**
+   * Breaks the block at the given position like {@link ServerLevel#destroyBlock(BlockPos, boolean, net.minecraft.world.entity.Entity) destroyBlock},
+   * but adds its break effects to the ones to send at the end of the tick.
+   *
+   * @param level {@link ServerLevel} of the block.
+   * @param pos {@link BlockPos} of the block.
+   * @param drop whether to drop the block resources.
+   * @param player {@link ServerPlayer} breaking the block.
+   */
+  public static void destroyBlock(ServerLevel level, BlockPos pos, boolean drop, ServerPlayer player) {
+    BlockState state = level.getBlockState(pos);
+    if (state.isAir()) {
+      return;
+    }
+    Pending pending = PENDING.computeIfAbsent(level, key -> new Pending());
+    pending.positions.add(pos.asLong());
+    pending.states.add(Block.getId(state));
+    if (drop) {
+      BlockEntity blockEntity = state.hasBlockEntity() ? level.getBlockEntity(pos) : null;
+      Block.dropResources(state, level, pos, blockEntity, player, ItemStack.EMPTY);
+    }
+    if (level.setBlock(pos, level.getFluidState(pos).createLegacyBlock(), Block.UPDATE_ALL)) {
+      level.gameEvent(GameEvent.BLOCK_DESTROY, pos, GameEvent.Context.of(player, state));
+    }
+  }
+
+  /**
+   * Sends the pending break effects of the given level.
+   *
+   * @param level {@link ServerLevel} whose tick is ending.
+   */
+  public static void flush(ServerLevel level) {
+    Pending pending = PENDING.get(level);
+    if (pending == null || pending.positions.isEmpty()) {
+      return;
+    }
+    LongArrayList positions = new LongArrayList();
+    IntArrayList states = new IntArrayList();
+    for (ServerPlayer player : level.players()) {
+      boolean modded = player.connection.isConnected(HarvestEffectsPayload.ID);
+      for (int c = 0; c < pending.positions.size(); c++) {
+        long pos = pending.positions.getLong(c);
+        if (player.distanceToSqr(BlockPos.getX(pos) + 0.5, BlockPos.getY(pos) + 0.5, BlockPos.getZ(pos) + 0.5) < RANGE_SQR) {
+          if (modded) {
+            positions.add(pos);
+            states.add(pending.states.getInt(c));
+          } else {
+            player.connection.send(new ClientboundLevelEventPacket(LevelEvent.PARTICLES_DESTROY_BLOCK, BlockPos.of(pos), pending.states.getInt(c), false));
+          }
+        }
+      }
+      if (!positions.isEmpty()) {
+        player.connection.send(new HarvestEffectsPayload(positions.toLongArray(), states.toIntArray()));
+        positions.clear();
+        states.clear();
+      }
+    }
+    pending.positions.clear();
+    pending.states.clear();
+  }
+
+  /**
+   * Forgets the pending break effects of the given level.
+   *
+   * @param level unloading {@link ServerLevel}.
+   */
+  public static void unload(ServerLevel level) {
+    PENDING.remove(level);
+  }
+
+  /**
+   * Break effects pending for a level.
+   */
+  private static final class Pending {
+    /**
+     * {@link BlockPos#asLong() Packed positions} of the broken blocks.
+     */
+    private final LongArrayList positions = new LongArrayList();
+    /**
+     * {@link Block#getId(BlockState) Ids} of the states of the broken blocks, by index of their position.
+     */
+    private final IntArrayList states = new IntArrayList();
+  }
+}
@@ -0,0 +1,121 @@
+package crystalspider.harvestwithease.util;
+
+import crystalspider.harvestwithease.config.CompiledConfig;
+import crystalspider.harvestwithease.util.Diagnostics.Counter;
+import net.minecraft.server.level.ServerPlayer;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Limits how often each player can right-click harvest, with a token bucket per player.
+ * <p>
+ * Buckets hold up to {@link CompiledConfig#harvestBurst() harvestBurst} tokens and refill by {@link CompiledConfig#harvestRateLimit() harvestRateLimit} tokens each second.
+ * Right-clicks that harvest cost {@link CompiledConfig#harvestCost() harvestCost} tokens and are throttled when the bucket cannot pay for them,
+ * while right-clicks on crops that are not mature cost {@link CompiledConfig#rejectionCost() rejectionCost} tokens and only ever drain the bucket.
+ * Throttled right-clicks are {@link Diagnostics#record(Counter, String) recorded} under the name of the player.
+ * Buckets are kept by player {@link UUID}, so that respawning does not refill them, and {@link #forget(ServerPlayer) forgotten} when the player logs out.
+ * <p>
+ * Only ever accessed from the server thread.
+ */
+public final class HarvestRateLimiter {
+  /**
+   * Fractions each token is counted in, one per tick of a second, so that buckets refill by a whole amount each tick.
+   */
+  private static final long SCALE = 20;
+
+  /**
+   * Bucket of each player.
+   */
+  private static final Map<UUID, Bucket> BUCKETS = new HashMap<>();
+
+  private HarvestRateLimiter() {}
+
+  /**
+   * Takes from the bucket of the given player the tokens a harvest costs, if it holds enough.
+   *
+   * @param config {@link CompiledConfig} snapshot.
+   * @param player {@link ServerPlayer} about to harvest.
+   * @return whether the player can harvest, otherwise the right-click is throttled.
+   */
+  public static boolean tryHarvest(CompiledConfig config, ServerPlayer player) {
+    if (config.harvestRateLimit() <= 0) {
+      return true;
+    }
+    Bucket bucket = refill(config, player);
+    long cost = config.harvestCost() * SCALE;
+    if (bucket.tokens < cost) {
+      Diagnostics.record(Counter.THROTTLED_HARVESTS, player.getGameProfile().getName());
+      return false;
+    }
+    bucket.tokens -= cost;
+    return true;
+  }
+
+  /**
+   * Takes from the bucket of the given player the tokens a right-click on a crop that is not mature costs, as many as it holds.
+   *
+   * @param config {@link CompiledConfig} snapshot.
+   * @param player {@link ServerPlayer} that right-clicked.
+   */
+  public static void reject(CompiledConfig config, ServerPlayer player) {
+    if (config.harvestRateLimit() > 0) {
+      Bucket bucket = refill(config, player);
+      bucket.tokens = Math.max(0, bucket.tokens - config.rejectionCost() * SCALE);
+    }
+  }
+
+  /**
+   * Forgets the bucket of the given player.
+   *
+   * @param player {@link ServerPlayer} logging out.
+   */
+  public static void forget(ServerPlayer player) {
+    BUCKETS.remove(player.getUUID());
+  }
+
+  /**
+   * Refills the bucket of the given player by the tokens earned since it was last used, creating a full one if it has none.
+   *
+   * @param config {@link CompiledConfig} snapshot.
+   * @param player {@link ServerPlayer} whose bucket to refill.
+   * @return the refilled {@link Bucket}.
+   */
+  private static Bucket refill(CompiledConfig config, ServerPlayer player) {
+    long capacity = config.harvestBurst() * SCALE;
+    long now = player.server.getTickCount();
+    Bucket bucket = BUCKETS.get(player.getUUID());
+    if (bucket == null) {
+      bucket = new Bucket(capacity, now);
+      BUCKETS.put(player.getUUID(), bucket);
+    } else {
+      bucket.tokens = Math.min(capacity, bucket.tokens + Math.min(now - bucket.refilledAt, capacity) * config.harvestRateLimit());
+      bucket.refilledAt = now;
+    }
+    return bucket;
+  }
+
+  /**
+   * Token bucket of a player.
+   */
+  private static final class Bucket {
+    /**
+     * Tokens held, in {@link #SCALE fractions}.
+     */
+    private long tokens;
+    /**
+     * Server tick the bucket was last refilled at.
+     */
+    private long refilledAt;
+
+    /**
+     * @param tokens {@link #tokens}.
+     * @param refilledAt {@link #refilledAt}.
+     */
+    private Bucket(long tokens, long refilledAt) {
+      this.tokens = tokens;
+      this.refilledAt = refilledAt;
+    }
+  }
+}
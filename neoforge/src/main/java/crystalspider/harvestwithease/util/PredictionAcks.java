@@ -0,0 +1,137 @@
+package crystalspider.harvestwithease.util;
+
+import crystalspider.harvestwithease.network.HarvestAckPayload;
+import crystalspider.harvestwithease.network.HarvestPredictionPayload;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.InteractionHand;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Acknowledges the harvests clients predicted, so that they can roll back what the server did not actually harvest.
+ * <p>
+ * Clients announce each prediction with a {@link HarvestPredictionPayload} right before the interaction it stands for.
+ * The harvest triggered by that interaction {@link #claim(ServerPlayer, BlockPos, InteractionHand) claims} its sequence number
+ * and {@link #confirm(ServerPlayer, int, List) confirms} the harvested crops, multi-harvests being {@link #accept(ServerPlayer, int) accepted} first since they might take a few ticks.
+ * Predictions whose interaction did not lead to any harvest are {@link #reject(ServerPlayer, BlockPos, InteractionHand) rejected}.
+ * Pending predictions are kept by player {@link UUID} and {@link #forget(ServerPlayer) forgotten} when the player logs out.
+ * <p>
+ * Only ever accessed from the server thread.
+ */
+public final class PredictionAcks {
+  /**
+   * Sequence number of harvests that no client predicted.
+   */
+  public static final int NONE = -1;
+
+  /**
+   * Prediction each player, by {@link UUID}, announced and no harvest claimed yet.
+   */
+  private static final Map<UUID, Pending> PENDING = new HashMap<>();
+
+  private PredictionAcks() {}
+
+  /**
+   * Records the prediction the given player announced, rejecting the previous one if it was never claimed.
+   *
+   * @param player {@link ServerPlayer} predicting.
+   * @param sequence sequence number of the prediction.
+   * @param pos {@link BlockPos} of the right-clicked crop.
+   * @param hand {@link InteractionHand} used to harvest.
+   */
+  public static void expect(ServerPlayer player, int sequence, BlockPos pos, InteractionHand hand) {
+    Pending previous = PENDING.put(player.getUUID(), new Pending(sequence, pos, hand));
+    if (previous != null) {
+      send(player, previous.sequence, true, List.of());
+    }
+  }
+
+  /**
+   * Claims the prediction of the harvest about to start, if the player predicted it.
+   *
+   * @param player {@link ServerPlayer} harvesting.
+   * @param pos {@link BlockPos} of the right-clicked crop.
+   * @param hand {@link InteractionHand} used to harvest.
+   * @return the sequence number of the prediction or {@link #NONE}.
+   */
+  public static int claim(ServerPlayer player, BlockPos pos, InteractionHand hand) {
+    Pending pending = PENDING.get(player.getUUID());
+    if (pending == null || pending.hand != hand || !pending.pos.equals(pos)) {
+      return NONE;
+    }
+    PENDING.remove(player.getUUID());
+    return pending.sequence;
+  }
+
+  /**
+   * Tells the player the predicted multi-harvest started and is going to be {@link #confirm(ServerPlayer, int, List) confirmed} once done.
+   *
+   * @param player {@link ServerPlayer} harvesting.
+   * @param sequence sequence number of the prediction or {@link #NONE}.
+   */
+  public static void accept(ServerPlayer player, int sequence) {
+    if (sequence != NONE) {
+      send(player, sequence, false, List.of());
+    }
+  }
+
+  /**
+   * Tells the player which crops of the predicted harvest were actually harvested.
+   *
+   * @param player {@link ServerPlayer} harvesting.
+   * @param sequence sequence number of the prediction or {@link #NONE}.
+   * @param harvested {@link BlockPos positions} of the harvested crops.
+   */
+  public static void confirm(ServerPlayer player, int sequence, List<BlockPos> harvested) {
+    if (sequence != NONE) {
+      send(player, sequence, true, harvested);
+    }
+  }
+
+  /**
+   * Rejects the prediction of the given interaction, if still pending, since it did not lead to any harvest.
+   *
+   * @param player {@link ServerPlayer} interacting.
+   * @param pos {@link BlockPos} of the right-clicked block.
+   * @param hand {@link InteractionHand} used.
+   */
+  public static void reject(ServerPlayer player, BlockPos pos, InteractionHand hand) {
+    confirm(player, claim(player, pos, hand), List.of());
+  }
+
+  /**
+   * Forgets the prediction the given player announced, if still pending.
+   *
+   * @param player {@link ServerPlayer} logging out.
+   */
+  public static void forget(ServerPlayer player) {
+    PENDING.remove(player.getUUID());
+  }
+
+  /**
+   * Sends a {@link HarvestAckPayload} to the given player.
+   *
+   * @param player {@link ServerPlayer} to send the acknowledgement to.
+   * @param sequence sequence number of the prediction.
+   * @param done whether the harvest is over.
+   * @param harvested {@link BlockPos positions} of the harvested crops.
+   */
+  private static void send(ServerPlayer player, int sequence, boolean done, List<BlockPos> harvested) {
+    if (!player.hasDisconnected()) {
+      player.connection.send(new HarvestAckPayload(sequence, done, harvested.stream().mapToLong(BlockPos::asLong).toArray()));
+    }
+  }
+
+  /**
+   * Prediction announced by a player.
+   *
+   * @param sequence sequence number of the prediction.
+   * @param pos {@link BlockPos} of the right-clicked crop.
+   * @param hand {@link InteractionHand} used to harvest.
+   */
+  private record Pending(int sequence, BlockPos pos, InteractionHand hand) {}
+}